@@ -0,0 +1,155 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package org.blockartistry.DynSurround.client.footsteps.implem;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+
+import org.blockartistry.DynSurround.client.footsteps.parsers.AcousticsJsonReader;
+import org.blockartistry.DynSurround.client.footsteps.system.Isolator;
+
+import com.google.common.base.Charsets;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+
+import net.minecraft.init.Bootstrap;
+
+/**
+ * Times reloading the footstep data shipped with the mod: streaming the
+ * acoustics library out of acoustics.json, and registering every block map
+ * entry from the mod configuration files into a BlockMap before freezing
+ * it. Files are read into memory up front so disk speed does not count.
+ * Pass the data directory as the first argument if not running from the
+ * project root.
+ */
+public final class AcousticsReloadBench {
+
+	private static final String ACOUSTICS = "/assets/dsurround/data/dsurround/acoustics.json";
+	private static final String DATA_DIR = "src/main/resources/assets/dsurround/data";
+
+	private static final int WARMUP = 200;
+	private static final int ROUNDS = 1000;
+
+	private AcousticsReloadBench() {
+	}
+
+	private static byte[] read(final InputStream stream) throws IOException {
+		try {
+			final ByteArrayOutputStream out = new ByteArrayOutputStream();
+			final byte[] chunk = new byte[8192];
+			int n;
+			while ((n = stream.read(chunk)) > 0)
+				out.write(chunk, 0, n);
+			return out.toByteArray();
+		} finally {
+			stream.close();
+		}
+	}
+
+	private static List<String[]> loadEntries(final File dir) throws IOException {
+		final List<String[]> entries = new ArrayList<String[]>();
+		final File[] files = dir.listFiles();
+		if (files == null)
+			throw new IOException("No data files found in " + dir.getAbsolutePath());
+
+		final JsonParser parser = new JsonParser();
+		for (final File file : files) {
+			if (!file.getName().endsWith(".json"))
+				continue;
+			final Reader reader = new InputStreamReader(new FileInputStream(file), Charsets.UTF_8);
+			try {
+				final JsonElement footsteps = parser.parse(reader).getAsJsonObject().get("footsteps");
+				if (footsteps != null)
+					for (final Entry<String, JsonElement> e : footsteps.getAsJsonObject().entrySet())
+						entries.add(new String[] { e.getKey(), e.getValue().getAsString() });
+			} finally {
+				reader.close();
+			}
+		}
+		return entries;
+	}
+
+	private static AcousticsManager loadAcoustics(final Isolator isolator, final byte[] data) throws IOException {
+		final AcousticsManager acoustics = new AcousticsManager(isolator);
+		final Reader reader = new InputStreamReader(new ByteArrayInputStream(data), Charsets.UTF_8);
+		try {
+			new AcousticsJsonReader("").parseJSON(reader, acoustics);
+		} finally {
+			reader.close();
+		}
+		return acoustics;
+	}
+
+	private static void loadBlockMap(final Isolator isolator, final List<String[]> entries) {
+		final BlockMap map = new BlockMap(isolator);
+		map.clear();
+		for (int i = 0; i < entries.size(); i++) {
+			final String[] e = entries.get(i);
+			map.register(e[0], e[1]);
+		}
+		map.freeze();
+	}
+
+	public static void main(final String[] args) throws IOException {
+		Bootstrap.register();
+
+		final byte[] acousticsData = read(AcousticsReloadBench.class.getResourceAsStream(ACOUSTICS));
+		final List<String[]> entries = loadEntries(new File(args.length > 0 ? args[0] : DATA_DIR));
+
+		final Isolator isolator = new Isolator();
+		isolator.setAcoustics(loadAcoustics(isolator, acousticsData));
+
+		for (int i = 0; i < WARMUP; i++) {
+			loadAcoustics(isolator, acousticsData);
+			loadBlockMap(isolator, entries);
+		}
+
+		long start = System.nanoTime();
+		for (int i = 0; i < ROUNDS; i++)
+			loadAcoustics(isolator, acousticsData);
+		final long acousticsNanos = System.nanoTime() - start;
+
+		// The block map compiles against one library, as the registry does
+		start = System.nanoTime();
+		for (int i = 0; i < ROUNDS; i++)
+			loadBlockMap(isolator, entries);
+		final long blockMapNanos = System.nanoTime() - start;
+
+		System.out.println(String.format("acoustics.json: %d bytes, %.3f ms/load", acousticsData.length,
+				acousticsNanos / 1E6D / ROUNDS));
+		System.out.println(String.format("block map: %d entries, %.3f ms/load (register and freeze)",
+				entries.size(), blockMapNanos / 1E6D / ROUNDS));
+	}
+}
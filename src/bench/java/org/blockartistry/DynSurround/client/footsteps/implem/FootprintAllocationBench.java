@@ -0,0 +1,92 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package org.blockartistry.DynSurround.client.footsteps.implem;
+
+import java.lang.management.ManagementFactory;
+
+import org.blockartistry.DynSurround.client.footsteps.interfaces.EventType;
+import org.blockartistry.DynSurround.client.footsteps.system.Association;
+import org.blockartistry.DynSurround.client.footsteps.system.Footprint;
+import org.blockartistry.DynSurround.client.footsteps.system.Isolator;
+
+/**
+ * Counts the bytes allocated while 1000 steps with footprints go through
+ * the acoustics manager: the association is filled in, the print is queued
+ * and then displayed. After warm up the steady state should not allocate.
+ */
+public final class FootprintAllocationBench {
+
+	private static final int STEPS = 1000;
+	private static final int STEPS_PER_TICK = 8;
+	private static final int ROUNDS = 10;
+
+	private FootprintAllocationBench() {
+	}
+
+	private static void simulate(final AcousticsManager manager, final Association assos, final Object location) {
+		for (int i = 0; i < STEPS; i++) {
+			assos.set(null, null, AcousticsManager.EMPTY);
+			assos.generatePrint(i * 0.7D, 64D, i * 0.3D, i % 360, (i & 1) == 0);
+			manager.playAcoustic(location, assos, EventType.WALK);
+
+			final Footprint print = assos.getPrint();
+			manager.produceFootprint(0, print);
+
+			// End of a tick drains the queue; there is no world so nothing
+			// is displayed from here
+			if (i % STEPS_PER_TICK == STEPS_PER_TICK - 1)
+				manager.think();
+		}
+		manager.think();
+	}
+
+	public static void main(final String[] args) {
+		final com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory
+				.getThreadMXBean();
+		final long thread = Thread.currentThread().getId();
+
+		final AcousticsManager manager = new AcousticsManager(new Isolator());
+		final Association assos = new Association();
+		final Object location = new Object();
+
+		// Warm up so the queue has grown and the JIT has settled
+		for (int i = 0; i < ROUNDS; i++)
+			simulate(manager, assos, location);
+
+		long worst = 0;
+		for (int i = 0; i < ROUNDS; i++) {
+			final long start = bean.getThreadAllocatedBytes(thread);
+			simulate(manager, assos, location);
+			final long used = bean.getThreadAllocatedBytes(thread) - start;
+			if (used > worst)
+				worst = used;
+			System.out.println(String.format("round %d: %d bytes for %d steps (%.2f bytes/step)", i, used, STEPS,
+					(double) used / STEPS));
+		}
+
+		System.out.println(String.format("worst round: %d bytes", worst));
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package org.blockartistry.DynSurround.client.weather;
+
+import java.util.Random;
+
+import org.blockartistry.lib.random.XorShiftRandom;
+
+/**
+ * Compares the two ways of getting per column random values while rendering
+ * precipitation: reseeding a generator from the column hash and drawing from
+ * it, as the renderers used to, against looking the values up in the
+ * PrecipitationJitter table. Both walk the columns of a full weather area
+ * each frame with the view moving, and draw the two uniform and two
+ * gaussian values a column can use.
+ */
+public final class PrecipitationJitterBench {
+
+	// Weather is rendered out to 10 blocks with fancy graphics, 5 without;
+	// use a larger area so a frame is long enough to time
+	private static final int RANGE = 32;
+	private static final int SIDE = RANGE * 2 + 1;
+	private static final int COLUMNS = SIDE * SIDE;
+
+	private static final int WARMUP = 2000;
+	private static final int FRAMES = 5000;
+
+	private PrecipitationJitterBench() {
+	}
+
+	private static double reseed(final Random random, final int frame) {
+		double sink = 0;
+		final int cx = frame >> 3;
+		final int cz = frame >> 4;
+		for (int gridZ = cz - RANGE; gridZ <= cz + RANGE; gridZ++)
+			for (int gridX = cx - RANGE; gridX <= cx + RANGE; gridX++) {
+				random.setSeed((long) (gridX * gridX * 3121 + gridX * 45238971 ^ gridZ * gridZ * 418711 + gridZ * 13761));
+				sink += random.nextDouble();
+				sink += random.nextGaussian();
+				sink += random.nextDouble();
+				sink += random.nextGaussian();
+			}
+		return sink;
+	}
+
+	private static double table(final int frame) {
+		double sink = 0;
+		final int cx = frame >> 3;
+		final int cz = frame >> 4;
+		for (int gridZ = cz - RANGE; gridZ <= cz + RANGE; gridZ++)
+			for (int gridX = cx - RANGE; gridX <= cx + RANGE; gridX++) {
+				final int jitter = PrecipitationJitter.index(gridX, gridZ);
+				sink += PrecipitationJitter.uniform(jitter);
+				sink += PrecipitationJitter.gaussian(jitter);
+				sink += PrecipitationJitter.uniform2(jitter);
+				sink += PrecipitationJitter.gaussian2(jitter);
+			}
+		return sink;
+	}
+
+	public static void main(final String[] args) {
+		final Random random = new XorShiftRandom();
+		double sink = 0;
+
+		for (int i = 0; i < WARMUP; i++) {
+			sink += reseed(random, i);
+			sink += table(i);
+		}
+
+		long start = System.nanoTime();
+		for (int i = 0; i < FRAMES; i++)
+			sink += reseed(random, i);
+		final long reseedNanos = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		for (int i = 0; i < FRAMES; i++)
+			sink += table(i);
+		final long tableNanos = System.nanoTime() - start;
+
+		final double perReseed = (double) reseedNanos / FRAMES / COLUMNS;
+		final double perTable = (double) tableNanos / FRAMES / COLUMNS;
+		System.out.println(String.format("columns/frame: %d, frames: %d", COLUMNS, FRAMES));
+		System.out.println(String.format("reseed: %.2f ns/column, %.1f us/frame", perReseed,
+				reseedNanos / 1E3D / FRAMES));
+		System.out.println(String.format("table:  %.2f ns/column, %.1f us/frame", perTable,
+				tableNanos / 1E3D / FRAMES));
+		System.out.println(String.format("speedup: %.1fx (checksum %.1f)", perReseed / perTable, sink));
+	}
+}
@@ -0,0 +1,178 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package org.blockartistry.DynSurround.network;
+
+import java.util.Random;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import net.minecraft.util.math.BlockPos;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+
+/**
+ * Round trips synthetic packet streams through PacketCodec and checks that
+ * what comes back is within the codec resolution. Reports the encoded size
+ * against the fixed width encoding the packets used before, and the time
+ * spent per record. Also checks that the packets themselves decode to
+ * something that encodes to the same bytes.
+ */
+public final class PacketCodecBench {
+
+	private static final int RECORDS = 100000;
+	private static final int ROUNDS = 10;
+
+	// entity id, 3 float coords, float rotation, boolean, int amount
+	private static final int FIXED_RECORD_SIZE = 4 + 3 * 4 + 4 + 1 + 4;
+
+	private static final double COORD_TOLERANCE = 1D / 512D + 1E-9D;
+	private static final float ROTATION_TOLERANCE = 360F / 512F + 1E-4F;
+
+	private PacketCodecBench() {
+	}
+
+	private static final class Record {
+		int entityId;
+		double x;
+		double y;
+		double z;
+		float rotation;
+		boolean flag;
+		int amount;
+	}
+
+	private static Record[] generate(final Random rand) {
+		final Record[] records = new Record[RECORDS];
+		for (int i = 0; i < records.length; i++) {
+			final Record r = new Record();
+			r.entityId = rand.nextInt(1 << (1 + rand.nextInt(20)));
+			r.x = (rand.nextDouble() - 0.5D) * 60000D;
+			r.y = rand.nextDouble() * 256D;
+			r.z = (rand.nextDouble() - 0.5D) * 60000D;
+			r.rotation = (rand.nextFloat() - 0.5F) * 720F;
+			r.flag = rand.nextBoolean();
+			r.amount = rand.nextInt(200) - 100;
+			records[i] = r;
+		}
+		return records;
+	}
+
+	private static void encode(final ByteBuf buf, final Record[] records) {
+		for (int i = 0; i < records.length; i++) {
+			final Record r = records[i];
+			PacketCodec.writeVarInt(buf, r.entityId);
+			PacketCodec.writeCoord(buf, r.x);
+			PacketCodec.writeCoord(buf, r.y);
+			PacketCodec.writeCoord(buf, r.z);
+			PacketCodec.writeRotation(buf, r.rotation);
+			buf.writeByte(PacketCodec.flag(0, 0, r.flag));
+			PacketCodec.writeSignedVarInt(buf, r.amount);
+		}
+	}
+
+	private static float angleDelta(final float a, final float b) {
+		float d = (a - b) % 360F;
+		if (d > 180F)
+			d -= 360F;
+		else if (d < -180F)
+			d += 360F;
+		return Math.abs(d);
+	}
+
+	private static int decode(final ByteBuf buf, final Record[] records) {
+		int errors = 0;
+		for (int i = 0; i < records.length; i++) {
+			final Record r = records[i];
+			final boolean ok = PacketCodec.readVarInt(buf) == r.entityId
+					& Math.abs(PacketCodec.readCoord(buf) - r.x) <= COORD_TOLERANCE
+					& Math.abs(PacketCodec.readCoord(buf) - r.y) <= COORD_TOLERANCE
+					& Math.abs(PacketCodec.readCoord(buf) - r.z) <= COORD_TOLERANCE
+					& angleDelta(PacketCodec.readRotation(buf), r.rotation) <= ROTATION_TOLERANCE
+					& PacketCodec.isSet(buf.readUnsignedByte(), 0) == r.flag
+					& PacketCodec.readSignedVarInt(buf) == r.amount;
+			if (!ok)
+				errors++;
+		}
+		return errors;
+	}
+
+	private static boolean roundTrip(final String name, final IMessage packet, final IMessage empty) {
+		final ByteBuf first = Unpooled.buffer();
+		packet.toBytes(first);
+		empty.fromBytes(first.copy());
+		final ByteBuf second = Unpooled.buffer();
+		empty.toBytes(second);
+
+		final boolean same = ByteBufUtil.equals(first, second);
+		System.out.println(String.format("%-26s %3d bytes %s", name, first.readableBytes(), same ? "ok" : "MISMATCH"));
+		return same;
+	}
+
+	public static void main(final String[] args) {
+		final Random rand = new Random(0x5EED);
+		final Record[] records = generate(rand);
+		final ByteBuf buf = Unpooled.buffer(RECORDS * FIXED_RECORD_SIZE);
+
+		int errors = 0;
+		long encodeNanos = Long.MAX_VALUE;
+		long decodeNanos = Long.MAX_VALUE;
+		for (int round = 0; round < ROUNDS; round++) {
+			buf.clear();
+			long start = System.nanoTime();
+			encode(buf, records);
+			encodeNanos = Math.min(encodeNanos, System.nanoTime() - start);
+
+			start = System.nanoTime();
+			errors += decode(buf, records);
+			decodeNanos = Math.min(decodeNanos, System.nanoTime() - start);
+		}
+
+		buf.clear();
+		encode(buf, records);
+		final int encoded = buf.readableBytes();
+		final int fixed = RECORDS * FIXED_RECORD_SIZE;
+
+		System.out.println(String.format("records: %d, round trip errors: %d", RECORDS, errors));
+		System.out.println(String.format("encoded: %d bytes (%.2f/record), fixed width: %d bytes (%.2f/record), %.1f%%",
+				encoded, (double) encoded / RECORDS, fixed, (double) fixed / RECORDS, encoded * 100D / fixed));
+		System.out.println(String.format("encode: %.1f ns/record, decode: %.1f ns/record",
+				(double) encodeNanos / RECORDS, (double) decodeNanos / RECORDS));
+
+		boolean same = true;
+		same &= roundTrip("PacketHealthChange", new PacketHealthChange(1234, 100.5F, 64F, -3000.25F, true, -7),
+				new PacketHealthChange());
+		same &= roundTrip("PacketThunder", new PacketThunder(-1, true, new BlockPos(-1200, 80, 345)),
+				new PacketThunder());
+		same &= roundTrip("PacketEnvironment", new PacketEnvironment(true), new PacketEnvironment());
+		same &= roundTrip("PacketServerDataSubscribe", new PacketServerDataSubscribe(true),
+				new PacketServerDataSubscribe());
+		same &= roundTrip("PacketWeatherUpdate", new PacketWeatherUpdate(0, 0.5F, 1F, 12000, 0.25F, 6000, 2),
+				new PacketWeatherUpdate());
+
+		if (errors != 0 || !same)
+			System.exit(1);
+	}
+}
@@ -127,12 +127,15 @@ public final class ModOptions {
 	public static final String CONFIG_STORM_INACTIVE_TIME_VARIABLE = "Inactive duration of thunder, variable";
 	public static final String CONFIG_ENABLE_BACKGROUND_THUNDER = "Enable Background Thunder";
 	public static final String CONFIG_THUNDER_THRESHOLD = "Rain Intensity for Background Thunder";
+	public static final String CONFIG_IDLE_WEATHER_INTERVAL = "Idle Dimension Weather Interval";
+	public static final String CONFIG_WEATHER_VBO = "Weather VBO Rendering";
 
 	private static final List<String> rainSort = Arrays.asList(CONFIG_VANILLA_RAIN, CONFIG_ALLOW_DESERT_DUST,
 			CONFIG_RESET_RAIN_ON_SLEEP, CONFIG_RAIN_PARTICLE_BASE, CONFIG_RAIN_ACTIVE_TIME_CONST,
 			CONFIG_RAIN_ACTIVE_TIME_VARIABLE, CONFIG_RAIN_INACTIVE_TIME_CONST, CONFIG_RAIN_INACTIVE_TIME_VARIABLE,
 			CONFIG_STORM_ACTIVE_TIME_CONST, CONFIG_STORM_ACTIVE_TIME_VARIABLE, CONFIG_STORM_INACTIVE_TIME_CONST,
-			CONFIG_STORM_INACTIVE_TIME_VARIABLE, CONFIG_ENABLE_BACKGROUND_THUNDER, CONFIG_THUNDER_THRESHOLD);
+			CONFIG_STORM_INACTIVE_TIME_VARIABLE, CONFIG_ENABLE_BACKGROUND_THUNDER, CONFIG_THUNDER_THRESHOLD,
+			CONFIG_IDLE_WEATHER_INTERVAL, CONFIG_WEATHER_VBO);
 
 	@Parameter(category = CATEGORY_RAIN, property = CONFIG_VANILLA_RAIN, defaultValue = "false", lang = "cfg.rain.VanillaRain")
 	@Comment("Let Vanilla handle rain intensity and time windows")
@@ -184,6 +187,13 @@ public final class ModOptions {
 	@MinMaxFloat(min = 0)
 	@Comment("Minimum rain intensity level for background thunder to occur")
 	public static float stormThunderThreshold = 0.75F;
+	@Parameter(category = CATEGORY_RAIN, property = CONFIG_IDLE_WEATHER_INTERVAL, defaultValue = "100", lang = "cfg.rain.IdleInterval")
+	@MinMaxInt(min = 1, max = 1200)
+	@Comment("Maximum ticks between weather updates for dimensions without players (1 to update every tick)")
+	public static int idleWeatherInterval = 100;
+	@Parameter(category = CATEGORY_RAIN, property = CONFIG_WEATHER_VBO, defaultValue = "false", lang = "cfg.rain.WeatherVBO")
+	@Comment("Render rain/snow/dust sheets from cached vertex buffers (requires VBO support)")
+	public static boolean enableWeatherVBO = false;
 
 	public static final String CATEGORY_FOG = "fog";
 	public static final String CONFIG_ALLOW_DESERT_FOG = "Desert Fog";
@@ -229,9 +239,17 @@ public final class ModOptions {
 	public static final String CONFIG_FX_RANGE = "Special Effect Range";
 	public static final String CONFIG_DISABLE_SUSPEND = "Disable Water Suspend Particles";
 	public static final String CONFIG_STARTUP_SOUND_LIST = "Startup Sound List";
+	public static final String CONFIG_ROUTED_SENDER_RATE = "Routed Effect Sender Rate";
+	public static final String CONFIG_ROUTED_RECIPIENT_BUDGET = "Routed Effect Recipient Budget";
+	public static final String CONFIG_CONSOLIDATE_EFFECT_DATA = "Consolidate Dimension Effect Data";
+	public static final String CONFIG_INSTANCED_MOTES = "Instanced Mote Rendering";
+	public static final String CONFIG_PARTICLE_TARGET_FPS = "Particle Budget Target FPS";
+	public static final String CONFIG_PARALLEL_PARTICLE_SYSTEMS = "Parallel Particle System Updates";
 	private static final List<String> generalSort = ImmutableList.<String>builder()
 			.add(CONFIG_DISABLE_SUSPEND, CONFIG_FX_RANGE, CONFIG_MIN_RAIN_STRENGTH, CONFIG_MAX_RAIN_STRENGTH,
-					CONFIG_EXTERNAL_SCRIPTS, CONFIG_STARTUP_SOUND_LIST)
+					CONFIG_EXTERNAL_SCRIPTS, CONFIG_STARTUP_SOUND_LIST, CONFIG_ROUTED_SENDER_RATE,
+					CONFIG_ROUTED_RECIPIENT_BUDGET, CONFIG_CONSOLIDATE_EFFECT_DATA, CONFIG_INSTANCED_MOTES,
+					CONFIG_PARTICLE_TARGET_FPS, CONFIG_PARALLEL_PARTICLE_SYSTEMS)
 			.build();
 
 	@Parameter(category = CATEGORY_GENERAL, property = CONFIG_DISABLE_SUSPEND, defaultValue = "false", lang = "cfg.general.Suspend")
@@ -257,6 +275,28 @@ public final class ModOptions {
 	@Comment("Possible sounds to play when client reaches main game menu")
 	public static String[] startupSoundList = { "minecraft:entity.experience_orb.pickup",
 			"minecraft:entity.chicken.egg" };
+	@Parameter(category = CATEGORY_GENERAL, property = CONFIG_ROUTED_SENDER_RATE, defaultValue = "30", lang = "cfg.general.RoutedSenderRate")
+	@MinMaxInt(min = 0, max = 1000)
+	@Comment("Maximum footprints/sounds per second the server will route for a player (0 for no limit)")
+	public static int routedEffectSenderRate = 30;
+	@Parameter(category = CATEGORY_GENERAL, property = CONFIG_ROUTED_RECIPIENT_BUDGET, defaultValue = "120", lang = "cfg.general.RoutedRecipientBudget")
+	@MinMaxInt(min = 0, max = 5000)
+	@Comment("Maximum routed footprints/sounds per second the server will send to a player (0 for no limit)")
+	public static int routedEffectRecipientBudget = 120;
+	@Parameter(category = CATEGORY_GENERAL, property = CONFIG_CONSOLIDATE_EFFECT_DATA, defaultValue = "false", lang = "cfg.general.ConsolidateEffectData")
+	@Comment("Save effect data for all dimensions in one file written in the background")
+	@RestartRequired(world = true, server = true)
+	public static boolean consolidateEffectData = false;
+	@Parameter(category = CATEGORY_GENERAL, property = CONFIG_INSTANCED_MOTES, defaultValue = "true", lang = "cfg.general.InstancedMotes")
+	@Comment("Draw footprints and ripples as one batch of instance records rather than through the tessellator")
+	public static boolean enableInstancedMotes = true;
+	@Parameter(category = CATEGORY_GENERAL, property = CONFIG_PARTICLE_TARGET_FPS, defaultValue = "60", lang = "cfg.general.ParticleTargetFps")
+	@MinMaxInt(min = 0, max = 240)
+	@Comment("Frame rate the particle budget tries to hold by adjusting mote caps (0 for fixed caps)")
+	public static int particleTargetFps = 60;
+	@Parameter(category = CATEGORY_GENERAL, property = CONFIG_PARALLEL_PARTICLE_SYSTEMS, defaultValue = "false", lang = "cfg.general.ParallelParticleSystems")
+	@Comment("Update large numbers of block particle systems (jets, splashes) in parallel")
+	public static boolean parallelParticleSystems = false;
 
 	public static final String CATEGORY_AURORA = "aurora";
 	public static final String CONFIG_AURORA_ENABLED = "Enabled";
@@ -327,6 +367,8 @@ public final class ModOptions {
 	public static final String CONFIG_ENABLE_CRAFTING_SOUND = "Crafting Sound";
 	public static final String CONFIG_FOOTSTEPS_SOUND_FACTOR = "Footsteps Sound Factor";
 	public static final String CONFIG_FOOTSTEPS_QUAD = "Footsteps as Quadruped";
+	public static final String CONFIG_FOOTSTEPS_MOBS = "Footsteps for Mobs";
+	public static final String CONFIG_FOOTSTEPS_BUDGET = "Footsteps per Tick";
 	public static final String CONFIG_ENABLE_ARMOR_SOUND = "Armor Sound";
 	public static final String CONFIG_SOUND_CULL_THRESHOLD = "Sound Culling Threshold";
 	public static final String CONFIG_CULLED_SOUNDS = "Culled Sounds";
@@ -336,7 +378,7 @@ public final class ModOptions {
 	public static final String CONFIG_ENABLE_BATTLEMUSIC = "Battle Music";
 	private static final List<String> soundsSort = Arrays.asList(CONFIG_RESTART_SOUND_SYSTEM,
 			CONFIG_ENABLE_BIOME_SOUNDS, CONFIG_MASTER_SOUND_FACTOR, CONFIG_FOOTSTEPS_SOUND_FACTOR,
-			CONFIG_FOOTSTEPS_QUAD, CONFIG_ENABLE_ARMOR_SOUND, CONFIG_ENABLE_JUMP_SOUND, CONFIG_ENABLE_EQUIP_SOUND,
+			CONFIG_FOOTSTEPS_QUAD, CONFIG_FOOTSTEPS_MOBS, CONFIG_FOOTSTEPS_BUDGET, CONFIG_ENABLE_ARMOR_SOUND, CONFIG_ENABLE_JUMP_SOUND, CONFIG_ENABLE_EQUIP_SOUND,
 			CONFIG_ENABLE_CRAFTING_SOUND, CONFIG_AUTO_CONFIG_CHANNELS, CONFIG_NORMAL_CHANNEL_COUNT,
 			CONFIG_STREAMING_CHANNEL_COUNT, CONFIG_STREAM_BUFFER_SIZE, CONFIG_STREAM_BUFFER_COUNT,
 			CONFIG_MUTE_WHEN_BACKGROUND, CONFIG_THUNDER_VOLUME, CONFIG_BLOCKED_SOUNDS, CONFIG_SOUND_CULL_THRESHOLD,
@@ -399,6 +441,13 @@ public final class ModOptions {
 	@Parameter(category = CATEGORY_SOUND, property = CONFIG_FOOTSTEPS_QUAD, defaultValue = "false", lang = "cfg.sound.FootstepQuad")
 	@Comment("Simulate quadruped with Footstep effects (horse)")
 	public static boolean foostepsQuadruped = false;
+	@Parameter(category = CATEGORY_SOUND, property = CONFIG_FOOTSTEPS_MOBS, defaultValue = "false", lang = "cfg.sound.FootstepMobs")
+	@Comment("Generate footstep effects for nearby mobs as well as players (replaces their vanilla step sounds)")
+	public static boolean footstepsForMobs = false;
+	@Parameter(category = CATEGORY_SOUND, property = CONFIG_FOOTSTEPS_BUDGET, defaultValue = "16", lang = "cfg.sound.FootstepBudget")
+	@MinMaxInt(min = 0, max = 256)
+	@Comment("Maximum footsteps per tick generated for entities other than the player (0 for no limit)")
+	public static int footstepsPerTick = 16;
 	@Parameter(category = CATEGORY_SOUND, property = CONFIG_ENABLE_ARMOR_SOUND, defaultValue = "true", lang = "cfg.sound.Armor")
 	@Comment("Enable/disable armor sounds when moving")
 	public static boolean enableArmorSounds = true;
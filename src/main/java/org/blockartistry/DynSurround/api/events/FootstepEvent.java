@@ -25,7 +25,6 @@ package org.blockartistry.DynSurround.api.events;
 
 import javax.annotation.Nonnull;
 
-import net.minecraft.util.math.Vec3d;
 import net.minecraftforge.fml.common.eventhandler.Event;
 
 /**
@@ -35,23 +34,68 @@ import net.minecraftforge.fml.common.eventhandler.Event;
  */
 public class FootstepEvent extends Event {
 
-	public final Vec3d location;
-	public final float rotation;
-	public final boolean isRightFoot;
+	protected double x;
+	protected double y;
+	protected double z;
+	protected float rotation;
+	protected boolean isRightFoot;
 
-	protected FootstepEvent(@Nonnull final Vec3d loc, final float rotation, final boolean rightFoot) {
-		this.location = loc;
+	protected FootstepEvent() {
+	}
+
+	protected FootstepEvent(final double x, final double y, final double z, final float rotation,
+			final boolean rightFoot) {
+		set(x, y, z, rotation, rightFoot);
+	}
+
+	protected void set(final double x, final double y, final double z, final float rotation,
+			final boolean rightFoot) {
+		this.x = x;
+		this.y = y;
+		this.z = z;
 		this.rotation = rotation;
 		this.isRightFoot = rightFoot;
 	}
 
+	public double getX() {
+		return this.x;
+	}
+
+	public double getY() {
+		return this.y;
+	}
+
+	public double getZ() {
+		return this.z;
+	}
+
+	public float getRotation() {
+		return this.rotation;
+	}
+
+	public boolean isRightFoot() {
+		return this.isRightFoot;
+	}
+
 	/**
 	 * Event received client side when the server requests that footprints be
-	 * displayed.
+	 * displayed. The client posts the same instance for every footprint so
+	 * handlers must copy what they need rather than hold on to the event.
 	 */
 	public static class Display extends FootstepEvent {
-		public Display(@Nonnull final Vec3d pos, final float rotation, final boolean rightFoot) {
-			super(pos, rotation, rightFoot);
+		public Display() {
+		}
+
+		public Display(final double x, final double y, final double z, final float rotation,
+				final boolean rightFoot) {
+			super(x, y, z, rotation, rightFoot);
+		}
+
+		@Nonnull
+		public Display update(final double x, final double y, final double z, final float rotation,
+				final boolean rightFoot) {
+			set(x, y, z, rotation, rightFoot);
+			return this;
 		}
 	}
 
@@ -26,22 +26,47 @@ package org.blockartistry.DynSurround.client.event;
 
 import javax.annotation.Nonnull;
 
-import gnu.trove.map.hash.TIntDoubleHashMap;
+import org.blockartistry.DynSurround.network.PacketServerData;
+
 import net.minecraftforge.fml.common.eventhandler.Event;
 
 public class ServerDataEvent extends Event {
-	
-	  public final double meanTickTime;
-	  public final TIntDoubleHashMap dimTps;
-	  public final int free;
-	  public final int total;
-	  public final int max;
-
-	public ServerDataEvent(@Nonnull final TIntDoubleHashMap dimensionTps, final double meanTickTime, final int freeMemory, final int totalMemory, final int maxMemory) {
-		this.dimTps = dimensionTps;
-		this.meanTickTime = meanTickTime;
+
+	public static final int MEAN = 0;
+	public static final int P50 = 1;
+	public static final int P95 = 2;
+	public static final int P99 = 3;
+
+	public final int[] dims;
+	public final float[] stats;
+	public final int free;
+	public final int total;
+	public final int max;
+	public final float emojiTicks;
+	public final float emojiEvals;
+
+	public ServerDataEvent(@Nonnull final int[] dims, @Nonnull final float[] stats, final int freeMemory,
+			final int totalMemory, final int maxMemory, final float emojiTicks, final float emojiEvals) {
+		this.dims = dims;
+		this.stats = stats;
 		this.free = freeMemory;
 		this.total = totalMemory;
 		this.max = maxMemory;
+		this.emojiTicks = emojiTicks;
+		this.emojiEvals = emojiEvals;
+	}
+
+	/**
+	 * Tick time statistic for the server overall.
+	 */
+	public float getServerStat(final int stat) {
+		return this.stats[stat];
+	}
+
+	/**
+	 * Tick time statistic for the dimension at the specified index in dims.
+	 */
+	public float getDimensionStat(final int idx, final int stat) {
+		return this.stats[(idx + 1) * PacketServerData.STATS_PER_ENTRY + stat];
 	}
 }
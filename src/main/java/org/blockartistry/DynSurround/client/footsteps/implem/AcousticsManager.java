@@ -46,17 +46,12 @@ import org.blockartistry.DynSurround.client.footsteps.system.Isolator;
 import org.blockartistry.DynSurround.client.handlers.SoundEffectHandler;
 import org.blockartistry.DynSurround.client.handlers.EnvironStateHandler.EnvironState;
 import org.blockartistry.DynSurround.client.sound.FootstepSound;
-import org.blockartistry.DynSurround.network.Network;
-import org.blockartistry.DynSurround.network.PacketDisplayFootprint;
-import org.blockartistry.lib.BlockPosHelper;
 import org.blockartistry.lib.MCHelper;
 import org.blockartistry.lib.TimeUtils;
 import org.blockartistry.lib.WorldUtils;
 import org.blockartistry.lib.collections.ObjectArray;
 import org.blockartistry.lib.random.XorShiftRandom;
 
-import com.google.common.base.Predicate;
-
 import net.minecraft.block.SoundType;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLivingBase;
@@ -64,6 +59,7 @@ import net.minecraft.init.Blocks;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.SoundEvent;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
@@ -77,10 +73,16 @@ public class AcousticsManager implements ISoundPlayer, IStepPlayer {
 	private final Random RANDOM = XorShiftRandom.current();
 
 	private final HashMap<String, IAcoustic> acoustics = new HashMap<String, IAcoustic>();
-	private final ObjectArray<PendingSound> pending = new ObjectArray<PendingSound>();
+	// Compiled acoustic strings so that identical definitions share an array
+	private final HashMap<String, IAcoustic[]> compiled = new HashMap<String, IAcoustic[]>();
+	// Footprints queued for the think phase. Entries are reused from tick to
+	// tick; only the first footprintCount are live.
 	private final ObjectArray<Footprint> footprints = new ObjectArray<Footprint>();
+	private int footprintCount;
 	private final Isolator isolator;
 	private final BlockPos.MutableBlockPos stepCheck = new BlockPos.MutableBlockPos();
+	// Posted for every footprint that is displayed
+	private final FootstepEvent.Display display = new FootstepEvent.Display();
 
 	// Special sentinels for equating
 	public static final IAcoustic[] EMPTY = {};
@@ -94,6 +96,7 @@ public class AcousticsManager implements ISoundPlayer, IStepPlayer {
 
 	public void addAcoustic(@Nonnull final IAcoustic acoustic) {
 		this.acoustics.put(acoustic.getAcousticName(), acoustic);
+		this.compiled.clear();
 	}
 
 	@Nullable
@@ -103,17 +106,9 @@ public class AcousticsManager implements ISoundPlayer, IStepPlayer {
 
 	protected void produceFootprint(final int dim, @Nonnull final Footprint print) {
 
-		// Display the current player footprint
-		final FootstepEvent.Display event = new FootstepEvent.Display(print.getStepLocation(), print.getRotation(),
-				print.isRightFoot());
-		MinecraftForge.EVENT_BUS.post(event);
-
-		// Route message to server if installed
-		if (!EnvironState.isPlayerSneaking() && DSurround.isInstalledOnServer()) {
-			final PacketDisplayFootprint packet = new PacketDisplayFootprint(EnvironState.getPlayer(),
-					print.getStepLocation(), print.getRotation(), print.isRightFoot());
-			Network.sendToServer(packet);
-		}
+		// Display the footprint
+		MinecraftForge.EVENT_BUS.post(
+				this.display.update(print.getX(), print.getY(), print.getZ(), print.getRotation(), print.isRightFoot()));
 	}
 
 	public void playAcoustic(@Nonnull final Object location, @Nonnull final Association acousticName,
@@ -122,8 +117,11 @@ public class AcousticsManager implements ISoundPlayer, IStepPlayer {
 
 		// Delay processing footprints until the think phase
 		final Footprint print = acousticName.getPrint();
-		if (print != null)
-			this.footprints.add(print);
+		if (print != null) {
+			if (this.footprintCount == this.footprints.size())
+				this.footprints.add(new Footprint());
+			this.footprints.get(this.footprintCount++).set(print);
+		}
 	}
 
 	private void logAcousticPlay(@Nonnull final IAcoustic[] acoustics, @Nonnull final EventType event) {
@@ -159,6 +157,10 @@ public class AcousticsManager implements ISoundPlayer, IStepPlayer {
 		else if (acousticName.equals("MESSY_GROUND"))
 			return MESSY_GROUND;
 
+		IAcoustic[] result = this.compiled.get(acousticName);
+		if (result != null)
+			return result;
+
 		final List<IAcoustic> acoustics = new ArrayList<IAcoustic>();
 
 		final String fragments[] = acousticName.split(",");
@@ -171,7 +173,9 @@ public class AcousticsManager implements ISoundPlayer, IStepPlayer {
 			}
 		}
 
-		return acoustics.size() == 0 ? EMPTY : acoustics.toArray(new IAcoustic[acoustics.size()]);
+		result = acoustics.size() == 0 ? EMPTY : acoustics.toArray(new IAcoustic[acoustics.size()]);
+		this.compiled.put(acousticName, result);
+		return result;
 	}
 
 	@Override
@@ -202,10 +206,9 @@ public class AcousticsManager implements ISoundPlayer, IStepPlayer {
 		try {
 			if (options != null) {
 				if (options.hasOption(Option.DELAY_MIN) && options.hasOption(Option.DELAY_MAX)) {
-					final long delay = TimeUtils.currentTimeMillis()
-							+ randAB(RANDOM, options.asLong(Option.DELAY_MIN), options.asLong(Option.DELAY_MAX));
-					this.pending.add(new PendingSound(location, sound, volume, pitch, null, delay,
-							options.asLong(Option.DELAY_MAX)));
+					final long delay = randAB(RANDOM, options.asLong(Option.DELAY_MIN), options.asLong(Option.DELAY_MAX));
+					SoundEffectHandler.INSTANCE.schedule(new PendingSound(this, location, sound, volume, pitch, null,
+							TimeUtils.currentTimeMillis() + delay, options.asLong(Option.DELAY_MAX)), delay);
 				} else {
 					actuallyPlaySound((Entity) location, sound, volume, pitch);
 				}
@@ -222,8 +225,6 @@ public class AcousticsManager implements ISoundPlayer, IStepPlayer {
 
 		try {
 			final FootstepSound s = new FootstepSound(location, sound).setVolume(volume).setPitch(pitch);
-			if (EnvironState.isPlayerSneaking())
-				s.setRoutable(false);
 			SoundEffectHandler.INSTANCE.playSound(s);
 		} catch (final Throwable t) {
 			DSurround.log().error("Unable to play sound", t);
@@ -242,30 +243,19 @@ public class AcousticsManager implements ISoundPlayer, IStepPlayer {
 
 	public void think() {
 
-		if (!this.pending.isEmpty())
-			this.pending.removeIf(new Predicate<PendingSound>() {
-				private final long time = TimeUtils.currentTimeMillis();
-
-				@Override
-				public boolean apply(@Nonnull final PendingSound sound) {
-					if (sound.getTimeToPlay() <= this.time) {
-						if (!sound.isLate(this.time))
-							sound.playSound(AcousticsManager.this);
-						return true;
+		if (this.footprintCount > 0) {
+			// Prints queued while there is no world are dropped
+			final World world = EnvironState.getWorld();
+			if (world != null) {
+				for (int i = 0; i < this.footprintCount; i++) {
+					final Footprint print = this.footprints.get(i);
+					if (WorldUtils.isSolidBlock(world, this.stepCheck.setPos(print.getX(), print.getY(), print.getZ())
+							.move(EnumFacing.DOWN, 1))) {
+						produceFootprint(EnvironState.getDimensionId(), print);
 					}
-					return false;
-				}
-			});
-
-		if (!this.footprints.isEmpty()) {
-			for (int i = 0; i < this.footprints.size(); i++) {
-				final Footprint print = this.footprints.get(i);
-				if (WorldUtils.isSolidBlock(EnvironState.getWorld(),
-						BlockPosHelper.setPos(this.stepCheck, print.getStepLocation()).move(EnumFacing.DOWN, 1))) {
-					produceFootprint(EnvironState.getDimensionId(), print);
 				}
 			}
-			this.footprints.clear();
+			this.footprintCount = 0;
 		}
 
 	}
@@ -81,14 +81,7 @@ public class BlockAcousticMap {
 	public IAcoustic[] getBlockAcousticsWithSpecial(@Nonnull final IBlockState state) {
 		IAcoustic[] result = this.specialCache.get(state);
 		if (result == null) {
-			result = this.data.get(this.key.set(state));
-			if (result == null) {
-				if (this.key.hasSubTypes()) {
-					result = this.data.get(this.key.asGeneric());
-				} else if (this.key.hasSpecialMeta()) {
-					result = this.data.get(this.key.asSpecial());
-				}
-			}
+			result = resolveWithSpecial(state);
 			if (result == null)
 				result = NO_ACOUSTICS;
 			this.specialCache.put(state, result);
@@ -96,6 +89,23 @@ public class BlockAcousticMap {
 		return result == NO_ACOUSTICS ? null : result;
 	}
 
+	/**
+	 * Same lookup as getBlockAcousticsWithSpecial() without going through or
+	 * filling the cache. Used when building tables that cover every state.
+	 */
+	@Nullable
+	public IAcoustic[] resolveWithSpecial(@Nonnull final IBlockState state) {
+		IAcoustic[] result = this.data.get(this.key.set(state));
+		if (result == null) {
+			if (this.key.hasSubTypes()) {
+				result = this.data.get(this.key.asGeneric());
+			} else if (this.key.hasSpecialMeta()) {
+				result = this.data.get(this.key.asSpecial());
+			}
+		}
+		return result;
+	}
+
 	public void put(@Nonnull final BlockInfo info, final IAcoustic[] acoustics) {
 		this.data.put(info, acoustics);
 	}
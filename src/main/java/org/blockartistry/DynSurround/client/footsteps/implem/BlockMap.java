@@ -25,12 +25,11 @@
 package org.blockartistry.DynSurround.client.footsteps.implem;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -53,12 +52,21 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 
 @SideOnly(Side.CLIENT)
 public class BlockMap {
-	private static final Pattern pattern = Pattern.compile("([^:]+:[^^+]+)\\^?(\\d+)?\\+?(\\w+)?");
 
+	// Block state ids are a 12 bit block id with the meta in the upper bits
+	private static final int STATE_ID_LIMIT = 1 << 16;
+	private static final int SUBSTRATE_COUNT = Substrate.values().length;
 	private final Isolator isolator;
 	private final BlockAcousticMap metaMap = new BlockAcousticMap();
 	private Map<Substrate, BlockAcousticMap> substrateMap = new EnumMap<Substrate, BlockAcousticMap>(Substrate.class);
 
+	// Built by freeze(). Substrate acoustics for a state are at
+	// (state id * SUBSTRATE_COUNT + substrate ordinal) and hasSubstrate has a
+	// bit set for each state id that has any substrate acoustics at all.
+	private IAcoustic[][] substrateTable;
+	private BitSet hasSubstrate;
+	private int stateLimit;
+
 	private static class MacroEntry {
 		public final int meta;
 		public final String substrate;
@@ -140,10 +148,29 @@ public class BlockMap {
 	public IAcoustic[] getBlockSubstrateAcoustics(@Nonnull final IBlockState state, @Nonnull final BlockPos pos,
 			@Nonnull final Substrate substrate) {
 		final IBlockState trueState = FacadeHelper.resolveState(state, EnvironState.getWorld(), pos, EnumFacing.UP);
+		if (this.substrateTable != null) {
+			final int id = Block.getStateId(trueState);
+			if (id < this.stateLimit)
+				return this.hasSubstrate.get(id) ? this.substrateTable[id * SUBSTRATE_COUNT + substrate.ordinal()]
+						: null;
+		}
 		final BlockAcousticMap sub = this.substrateMap.get(substrate);
 		return sub != null ? sub.getBlockAcousticsWithSpecial(trueState) : null;
 	}
 
+	/**
+	 * Indicates whether the state has acoustics for any substrate. Lets the
+	 * Solver skip the carpet and foliage checks for most blocks. Always true
+	 * until the map is frozen.
+	 */
+	public boolean hasSubstrateAcoustics(@Nonnull final IBlockState state, @Nonnull final BlockPos pos) {
+		if (this.substrateTable == null)
+			return true;
+		final IBlockState trueState = FacadeHelper.resolveState(state, EnvironState.getWorld(), pos, EnumFacing.UP);
+		final int id = Block.getStateId(trueState);
+		return id >= this.stateLimit || this.hasSubstrate.get(id);
+	}
+
 	private void put(@Nonnull final Block block, final int meta, @Nonnull final String substrate,
 			@Nonnull final String value) {
 
@@ -172,10 +199,36 @@ public class BlockMap {
 		}
 	}
 
+	private static boolean isWord(@Nonnull final String str) {
+		for (int i = 0; i < str.length(); i++) {
+			final char c = str.charAt(i);
+			if (!(c == '_' || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')))
+				return false;
+		}
+		return true;
+	}
+
 	public void register(@Nonnull final String key, @Nonnull final String value) {
-		final Matcher matcher = pattern.matcher(key);
-		if (matcher.matches()) {
-			final String blockName = matcher.group(1);
+		// Keys have the form modid:block[^meta][+substrate]
+		final int colon = key.indexOf(':');
+		final int caret = key.indexOf('^', colon);
+		final int plus = key.indexOf('+', colon);
+		final int nameEnd = caret >= 0 && (plus < 0 || caret < plus) ? caret : (plus >= 0 ? plus : key.length());
+
+		int idx = nameEnd;
+		if (idx < key.length() && key.charAt(idx) == '^')
+			idx++;
+		final int metaStart = idx;
+		while (idx < key.length() && key.charAt(idx) >= '0' && key.charAt(idx) <= '9')
+			idx++;
+		final String metaStr = idx > metaStart ? key.substring(metaStart, idx) : null;
+		if (idx < key.length() && key.charAt(idx) == '+')
+			idx++;
+		final String substrate = idx < key.length() ? key.substring(idx) : null;
+
+		final boolean valid = colon > 0 && colon < nameEnd - 1 && (substrate == null || isWord(substrate));
+		if (valid) {
+			final String blockName = key.substring(0, nameEnd);
 			final Block block = MCHelper.getBlockByName(blockName);
 			if (block == null) {
 				DSurround.log().debug("Unable to locate block for blockMap '%s'", blockName);
@@ -184,10 +237,9 @@ public class BlockMap {
 			} else if (value.startsWith("#")) {
 				expand(block, value);
 			} else {
-				final int meta = matcher.group(2) == null
+				final int meta = metaStr == null
 						? (MCHelper.hasVariants(block) ? BlockInfo.GENERIC : BlockInfo.NO_SUBTYPE)
-						: Integer.parseInt(matcher.group(2));
-				final String substrate = matcher.group(3);
+						: Integer.parseInt(metaStr);
 				put(block, meta, substrate, value);
 			}
 		} else {
@@ -226,10 +278,40 @@ public class BlockMap {
 	public void clear() {
 		this.metaMap.clear();
 		this.substrateMap = new EnumMap<Substrate, BlockAcousticMap>(Substrate.class);
+		this.substrateTable = null;
+		this.hasSubstrate = null;
+		this.stateLimit = 0;
 		this.metaMap.put(new BlockInfo(Blocks.AIR), AcousticsManager.NOT_EMITTER);
 	}
 
 	public void freeze() {
 		this.metaMap.freeze();
+
+		// Size the table to the highest state id in use
+		int limit = 0;
+		for (final IBlockState state : Block.BLOCK_STATE_IDS) {
+			final int id = Block.getStateId(state);
+			if (id >= limit && id < STATE_ID_LIMIT)
+				limit = id + 1;
+		}
+
+		final IAcoustic[][] table = new IAcoustic[limit * SUBSTRATE_COUNT][];
+		final BitSet any = new BitSet(limit);
+		for (final IBlockState state : Block.BLOCK_STATE_IDS) {
+			final int id = Block.getStateId(state);
+			if (id >= limit)
+				continue;
+			for (final Entry<Substrate, BlockAcousticMap> e : this.substrateMap.entrySet()) {
+				final IAcoustic[] acoustics = e.getValue().resolveWithSpecial(state);
+				if (acoustics != null) {
+					table[id * SUBSTRATE_COUNT + e.getKey().ordinal()] = acoustics;
+					any.set(id);
+				}
+			}
+		}
+
+		this.substrateTable = table;
+		this.hasSubstrate = any;
+		this.stateLimit = limit;
 	}
 }
@@ -0,0 +1,139 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package org.blockartistry.DynSurround.client.footsteps.implem;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnull;
+
+import org.blockartistry.DynSurround.client.footsteps.interfaces.EventType;
+import org.blockartistry.DynSurround.client.footsteps.interfaces.IGaitModel;
+
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Table driven gait model. Everything a generator asks of the model is
+ * precomputed per (phase, event) so evaluating a step is a few array reads.
+ * The step distance is base + spread * variation^2 times the movement
+ * distance.
+ */
+@SideOnly(Side.CLIENT)
+public final class GaitModel implements IGaitModel {
+
+	private static final int EVENTS = EventType.values().length;
+
+	/**
+	 * Two feet with every step alike.
+	 */
+	public static final GaitModel BIPED = new GaitModel(1);
+
+	/**
+	 * Four hooves. Walking lands the hooves in pairs a varying distance
+	 * apart; running is a three beat gallop.
+	 */
+	public static final GaitModel QUADRUPED = quadruped();
+
+	private final int phases;
+	private final float[] base;
+	private final float[] spread;
+	private final int[] next;
+	private final int[] extra;
+	private final boolean[] reroll;
+
+	private GaitModel(final int phases) {
+		final int size = phases * EVENTS;
+		this.phases = phases;
+		this.base = new float[size];
+		this.spread = new float[size];
+		this.next = new int[size];
+		this.extra = new int[size];
+		this.reroll = new boolean[phases];
+
+		Arrays.fill(this.base, 1F);
+		for (int phase = 0; phase < phases; phase++)
+			Arrays.fill(this.next, phase * EVENTS, (phase + 1) * EVENTS, (phase + 1) % phases);
+	}
+
+	private static int index(final int phase, @Nonnull final EventType event) {
+		return phase * EVENTS + event.ordinal();
+	}
+
+	private static GaitModel quadruped() {
+		final GaitModel model = new GaitModel(4);
+		final float overall = 1.85F / 2F;
+		final float spread = 0.2F * overall;
+
+		for (int phase = 0; phase < model.phases; phase++) {
+			final int walk = index(phase, EventType.WALK);
+			final int run = index(phase, EventType.RUN);
+
+			// Hooves of a pair land close together and the pairs are
+			// spread out. Each walking step sounds both hooves of a pair.
+			final boolean pair = phase == 1 || phase == 3;
+			model.base[walk] = pair ? 0F : overall;
+			model.spread[walk] = pair ? spread : -spread;
+			model.extra[walk] = 1;
+
+			// Gallop. The last beat doubles up and the cycle restarts.
+			model.base[run] = phase == 0 ? 0.8F : 0.3F;
+			if (model.next[run] == 3) {
+				model.next[run] = 0;
+				model.extra[run] = 1;
+			}
+		}
+
+		model.reroll[0] = true;
+		model.reroll[2] = true;
+		return model;
+	}
+
+	public int getPhaseCount() {
+		return this.phases;
+	}
+
+	@Override
+	public float getStepDistance(final int phase, final float variation, @Nonnull final EventType event,
+			final float distance) {
+		final int idx = index(phase, event);
+		return distance * (this.base[idx] + this.spread[idx] * variation * variation);
+	}
+
+	@Override
+	public boolean rerollsVariation(final int phase) {
+		return this.reroll[phase];
+	}
+
+	@Override
+	public int getNextPhase(final int phase, @Nonnull final EventType event) {
+		return this.next[index(phase, event)];
+	}
+
+	@Override
+	public int getExtraSteps(final int phase, @Nonnull final EventType event) {
+		return this.extra[index(phase, event)];
+	}
+}
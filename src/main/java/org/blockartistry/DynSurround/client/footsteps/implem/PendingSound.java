@@ -29,16 +29,18 @@ import javax.annotation.Nullable;
 
 import org.blockartistry.DynSurround.client.footsteps.interfaces.IOptions;
 import org.blockartistry.DynSurround.client.footsteps.interfaces.ISoundPlayer;
+import org.blockartistry.DynSurround.client.handlers.SoundEffectHandler.IDelayedSound;
 
 import net.minecraft.util.SoundEvent;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
 @SideOnly(Side.CLIENT)
-public class PendingSound {
+public class PendingSound implements IDelayedSound {
 
 	private static final float LATENESS_THRESHOLD_DIVIDER = 1.2f;
 
+	private final ISoundPlayer player;
 	private final Object location;
 	private final SoundEvent sound;
 	private final float volume;
@@ -48,8 +50,10 @@ public class PendingSound {
 	private final long maximum;
 	private final float lateTolerance;
 
-	public PendingSound(@Nonnull final Object location, @Nonnull final SoundEvent sound, final float volume, final float pitch,
-			@Nullable final IOptions options, final long timeToPlay, final long maximum) {
+	public PendingSound(@Nonnull final ISoundPlayer player, @Nonnull final Object location,
+			@Nonnull final SoundEvent sound, final float volume, final float pitch, @Nullable final IOptions options,
+			final long timeToPlay, final long maximum) {
+		this.player = player;
 		this.location = location;
 		this.sound = sound;
 		this.volume = volume;
@@ -70,6 +74,18 @@ public class PendingSound {
 		player.playSound(this.location, this.sound, this.volume, this.pitch, this.options);
 	}
 
+	@Override
+	public boolean dispatch(final long now) {
+		if (!isLate(now))
+			playSound(this.player);
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		return "FOOTSTEP: " + this.sound.getSoundName().toString();
+	}
+
 	/**
 	 * Returns the time after which this sound plays.
 	 * 
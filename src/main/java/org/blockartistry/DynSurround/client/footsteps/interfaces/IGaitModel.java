@@ -0,0 +1,66 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package org.blockartistry.DynSurround.client.footsteps.interfaces;
+
+import javax.annotation.Nonnull;
+
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Describes the step cycle of a body plan. A cycle is a fixed number of
+ * phases; each step taken moves the entity to the next phase. The phase and
+ * a random variation are tracked by the generator per entity.
+ */
+@SideOnly(Side.CLIENT)
+public interface IGaitModel {
+
+	/**
+	 * Distance the entity has to travel in the phase before a step for the
+	 * event is produced. The base distance comes from the movement type
+	 * (flat, stairs, ladder).
+	 */
+	public float getStepDistance(final int phase, final float variation, @Nonnull final EventType event,
+			final float distance);
+
+	/**
+	 * Indicates whether the random variation is rerolled when a step is
+	 * taken in the phase.
+	 */
+	public boolean rerollsVariation(final int phase);
+
+	/**
+	 * Phase that follows a step for the event taken in the phase.
+	 */
+	public int getNextPhase(final int phase, @Nonnull final EventType event);
+
+	/**
+	 * Number of additional steps to produce after a step for the event is
+	 * taken in the phase.
+	 */
+	public int getExtraSteps(final int phase, @Nonnull final EventType event);
+
+}
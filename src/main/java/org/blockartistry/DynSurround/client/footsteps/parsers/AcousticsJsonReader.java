@@ -24,6 +24,8 @@
 
 package org.blockartistry.DynSurround.client.footsteps.parsers;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -43,6 +45,7 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
 
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
@@ -52,7 +55,9 @@ import net.minecraftforge.fml.relauncher.SideOnly;
  * <a href="http://youtu.be/i7IE9gLwLUU?t=1m28s">http://youtu.
  * be/i7IE9gLwLUU?t=1m28s</a><br>
  * <br>
- * A JSON parser that creates a ILibrary of Acoustics.
+ * A JSON parser that creates a ILibrary of Acoustics. The library is read as a
+ * stream and each acoustic is built as soon as its definition has been read,
+ * so the file is never held in memory as a whole.
  * 
  * @author Hurry
  */
@@ -73,57 +78,99 @@ public class AcousticsJsonReader {
 		soundRoot = root;
 	}
 	
-	public void parseJSON(final String jasonString, final AcousticsManager lib) {
+	public void parseJSON(final Reader reader, final AcousticsManager lib) {
 		try {
-			parseJSONUnsafe(jasonString, lib);
+			parseJSONUnsafe(new JsonReader(reader), lib);
 		} catch (Exception e) {
 			e.printStackTrace();
 		}
 	}
 	
-	private void parseJSONUnsafe(final String jsonString, final AcousticsManager lib) throws JsonParseException {
-		JsonObject json = new JsonParser().parse(jsonString).getAsJsonObject();
-		
-		if (!json.get("type").getAsString().equals("library"))
-			throw new JsonParseException("Invalid type: \"library\"");
-		if (json.get("engineversion").getAsInt() != ENGINEVERSION)
-			throw new JsonParseException("Unrecognised Engine version: " + ENGINEVERSION + " expected, got " + json.get("engineversion").getAsInt());
-		if (!json.has("contents"))
-			throw new JsonParseException("Empty contents");
-		
-		if (json.has("soundroot")) {
-			soundRoot += json.get("soundroot").getAsString();
-		}
+	private void parseJSONUnsafe(final JsonReader reader, final AcousticsManager lib) throws JsonParseException, IOException {
+		final JsonParser parser = new JsonParser();
 		
 		default_volMin = 1f;
 		default_volMax = 1f;
 		default_pitchMin = 1f;
 		default_pitchMax = 1f;
 		
-		if (json.has("defaults")) {
-			JsonObject defaults = json.getAsJsonObject("defaults");
-			if (defaults.has("vol_min")) {
-				default_volMin = processPitchOrVolume(defaults, "vol_min");
-			}
-			if (defaults.has("vol_max")) {
-				default_volMax = processPitchOrVolume(defaults, "vol_max");
-			}
-			if (defaults.has("pitch_min")) {
-				default_pitchMin = processPitchOrVolume(defaults, "pitch_min");
-			}
-			if (defaults.has("pitch_max")) {
-				default_pitchMax = processPitchOrVolume(defaults, "pitch_max");
+		boolean hasType = false;
+		boolean hasVersion = false;
+		boolean hasSoundRoot = false;
+		boolean hasDefaults = false;
+		boolean hasContents = false;
+		JsonObject deferred = null;
+		
+		reader.beginObject();
+		while (reader.hasNext()) {
+			final String name = reader.nextName();
+			if ("type".equals(name)) {
+				if (!reader.nextString().equals("library"))
+					throw new JsonParseException("Invalid type: \"library\"");
+				hasType = true;
+			} else if ("engineversion".equals(name)) {
+				final int version = reader.nextInt();
+				if (version != ENGINEVERSION)
+					throw new JsonParseException("Unrecognised Engine version: " + ENGINEVERSION + " expected, got " + version);
+				hasVersion = true;
+			} else if ("soundroot".equals(name)) {
+				soundRoot += reader.nextString();
+				hasSoundRoot = true;
+			} else if ("defaults".equals(name)) {
+				parseDefaults(parser.parse(reader).getAsJsonObject());
+				hasDefaults = true;
+			} else if ("contents".equals(name)) {
+				hasContents = true;
+				if (hasType && hasVersion && hasSoundRoot && hasDefaults) {
+					reader.beginObject();
+					while (reader.hasNext()) {
+						final String acousticsName = reader.nextName();
+						parseAcoustics(acousticsName, parser.parse(reader).getAsJsonObject(), lib);
+					}
+					reader.endObject();
+				} else {
+					// The header isn't complete so hold the definitions until
+					// the rest of the library has been read.
+					deferred = parser.parse(reader).getAsJsonObject();
+				}
+			} else {
+				reader.skipValue();
 			}
 		}
+		reader.endObject();
 		
-		final JsonObject contents = json.getAsJsonObject("contents");
-		for (final Entry<String, JsonElement> preAcoustics : contents.entrySet()) {
-			final String acousticsName = preAcoustics.getKey();
-			final JsonObject acousticsDefinition = preAcoustics.getValue().getAsJsonObject();
-			final EventSelectorAcoustics selector = new EventSelectorAcoustics(acousticsName);
-			parseSelector(selector, acousticsDefinition);
-			lib.addAcoustic(selector);
+		if (!hasType)
+			throw new JsonParseException("Invalid type: \"library\"");
+		if (!hasVersion)
+			throw new JsonParseException("Unrecognised Engine version: " + ENGINEVERSION + " expected");
+		if (!hasContents)
+			throw new JsonParseException("Empty contents");
+		
+		if (deferred != null) {
+			for (final Entry<String, JsonElement> preAcoustics : deferred.entrySet())
+				parseAcoustics(preAcoustics.getKey(), preAcoustics.getValue().getAsJsonObject(), lib);
+		}
+	}
+	
+	private void parseDefaults(final JsonObject defaults) {
+		if (defaults.has("vol_min")) {
+			default_volMin = processPitchOrVolume(defaults, "vol_min");
 		}
+		if (defaults.has("vol_max")) {
+			default_volMax = processPitchOrVolume(defaults, "vol_max");
+		}
+		if (defaults.has("pitch_min")) {
+			default_pitchMin = processPitchOrVolume(defaults, "pitch_min");
+		}
+		if (defaults.has("pitch_max")) {
+			default_pitchMax = processPitchOrVolume(defaults, "pitch_max");
+		}
+	}
+	
+	private void parseAcoustics(final String acousticsName, final JsonObject acousticsDefinition, final AcousticsManager lib) throws JsonParseException {
+		final EventSelectorAcoustics selector = new EventSelectorAcoustics(acousticsName);
+		parseSelector(selector, acousticsDefinition);
+		lib.addAcoustic(selector);
 	}
 	
 	private void parseSelector(final EventSelectorAcoustics selector, final JsonObject acousticsDefinition) throws JsonParseException {
@@ -34,18 +34,22 @@ import org.blockartistry.lib.MyUtils;
 import net.minecraft.block.SoundType;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.Vec3d;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
+/**
+ * Resolved acoustics for a step. Instances handed out by the Solver come
+ * from a small ring and are only good until the step has been played.
+ */
 @SideOnly(Side.CLIENT)
 public class Association {
 
-	private final IBlockState state;
-	private final BlockPos pos;
+	private IBlockState state;
+	private BlockPos pos;
 	private IAcoustic[] data;
-	
-	private Footprint print;
+
+	private final Footprint print = new Footprint();
+	private boolean hasPrint;
 
 	public Association() {
 		this(AcousticsManager.EMPTY);
@@ -59,11 +63,28 @@ public class Association {
 		this(state, pos, AcousticsManager.EMPTY);
 	}
 
+	public Association(@Nonnull final Association template) {
+		this(template.state, template.pos, template.data);
+	}
+
 	public Association(@Nonnull final IBlockState state, @Nonnull final BlockPos pos,
 			@Nonnull final IAcoustic[] association) {
+		set(state, pos, association);
+	}
+
+	@Nonnull
+	public Association set(@Nullable final IBlockState state, @Nullable final BlockPos pos,
+			@Nullable final IAcoustic[] association) {
 		this.state = state;
 		this.pos = pos;
 		this.data = association == null ? AcousticsManager.EMPTY : association;
+		this.hasPrint = false;
+		return this;
+	}
+
+	@Nonnull
+	public Association set(@Nonnull final Association template) {
+		return set(template.state, template.pos, template.data);
 	}
 
 	@Nonnull
@@ -71,6 +92,10 @@ public class Association {
 		return this.data;
 	}
 
+	public void setData(@Nonnull final IAcoustic[] data) {
+		this.data = data;
+	}
+
 	@Nonnull
 	public boolean getNoAssociation() {
 		return this.data.length == 0;
@@ -96,13 +121,15 @@ public class Association {
 	public boolean isNotEmitter() {
 		return this.data == AcousticsManager.NOT_EMITTER;
 	}
-	
-	public void generatePrint(@Nonnull final Vec3d position, final float rotation, final boolean isRight) {
-		this.print = Footprint.produce(position, rotation, isRight);
+
+	public void generatePrint(final double x, final double y, final double z, final float rotation,
+			final boolean isRight) {
+		this.print.set(x, y, z, rotation, isRight);
+		this.hasPrint = true;
 	}
-	
+
 	@Nullable
 	public Footprint getPrint() {
-		return this.print;
+		return this.hasPrint ? this.print : null;
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,130 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.blockartistry.DynSurround.client.footsteps.system;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.blockartistry.DynSurround.DSurround;
+import org.blockartistry.DynSurround.client.event.BlockUpdateEvent;
+
+import gnu.trove.map.hash.TLongObjectHashMap;
+import gnu.trove.procedure.TLongObjectProcedure;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Block position keyed cache of the associations the Solver resolved. An
+ * entry depends on the block at the position as well as the blocks above
+ * and below it, so a block update drops all three. Entries in a chunk are
+ * dropped when the chunk (re)loads.
+ */
+@SideOnly(Side.CLIENT)
+@Mod.EventBusSubscriber(value = Side.CLIENT, modid = DSurround.MOD_ID)
+public final class AssociationCache {
+
+	// Walking around a base touches a few hundred blocks at most
+	private static final int MAX_ENTRIES = 1024;
+
+	// Stored for positions that resolved to no association
+	static final Association NONE = new Association();
+
+	// Decoding of BlockPos.toLong()
+	private static final int X_SHIFT = 38;
+	private static final int Z_SHIFT = 38;
+
+	private static final TLongObjectHashMap<Association> cache = new TLongObjectHashMap<Association>();
+	private static World currentWorld;
+
+	private AssociationCache() {
+
+	}
+
+	/**
+	 * Returns the cached association for the position, NONE if it is known
+	 * to have none, or null if it has not been resolved.
+	 */
+	@Nullable
+	static Association get(@Nonnull final World world, final long key) {
+		if (world != currentWorld) {
+			currentWorld = world;
+			cache.clear();
+		}
+		return cache.get(key);
+	}
+
+	@Nonnull
+	static Association put(final long key, @Nullable final Association association) {
+		if (cache.size() >= MAX_ENTRIES)
+			cache.clear();
+		final Association entry = association == null ? NONE : association;
+		cache.put(key, entry);
+		return entry;
+	}
+
+	static void clear() {
+		cache.clear();
+	}
+
+	@SubscribeEvent
+	public static void onBlockUpdate(@Nonnull final BlockUpdateEvent event) {
+		if (cache.isEmpty())
+			return;
+		final long key = event.pos.toLong();
+		cache.remove(key);
+		cache.remove(event.pos.up().toLong());
+		cache.remove(event.pos.down().toLong());
+	}
+
+	@SubscribeEvent
+	public static void onChunkLoad(@Nonnull final ChunkEvent.Load event) {
+		if (!event.getWorld().isRemote || cache.isEmpty())
+			return;
+		final int cX = event.getChunk().xPosition;
+		final int cZ = event.getChunk().zPosition;
+		cache.retainEntries(new TLongObjectProcedure<Association>() {
+			@Override
+			public boolean execute(final long key, final Association value) {
+				final int x = (int) (key >> X_SHIFT);
+				final int z = (int) (key << Z_SHIFT >> Z_SHIFT);
+				return (x >> 4) != cX || (z >> 4) != cZ;
+			}
+		});
+	}
+
+	@SubscribeEvent
+	public static void onWorldUnload(@Nonnull final WorldEvent.Unload event) {
+		if (event.getWorld() == currentWorld) {
+			currentWorld = null;
+			cache.clear();
+		}
+	}
+}
@@ -38,7 +38,6 @@ import net.minecraft.block.material.Material;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.Vec3d;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
@@ -56,7 +55,11 @@ public class Footprint {
 		FOOTPRINTABLE.add(Material.SNOW);
 	}
 
-	private Vec3d stepLoc;
+	private static final BlockPos.MutableBlockPos mutable = new BlockPos.MutableBlockPos();
+
+	private double x;
+	private double y;
+	private double z;
 	private boolean isRightFoot;
 	private float rotation;
 
@@ -68,27 +71,46 @@ public class Footprint {
 		}
 		return false;
 	}
-	
-	public static boolean hasFootstepImprint(@Nonnull final Vec3d pos) {
-		final BlockPos blockPos = new BlockPos(pos);
-		final IBlockState state = WorldUtils.getBlockState(EnvironState.getWorld(), blockPos);
+
+	public static boolean hasFootstepImprint(final double x, final double y, final double z) {
+		mutable.setPos(x, y, z);
+		final IBlockState state = WorldUtils.getBlockState(EnvironState.getWorld(), mutable);
 		if (state != null) {
-			return hasFootstepImprint(state, blockPos);
+			return hasFootstepImprint(state, mutable);
 		}
 		return false;
 	}
-	
-	public static Footprint produce(@Nonnull final Vec3d stepLoc, final float rotation, final boolean rightFoot) {
-		final Footprint print = new Footprint();
-		print.stepLoc = stepLoc;
-		print.rotation = rotation;
-		print.isRightFoot = rightFoot;
-		return print;
+
+	/*
+	 * Footprints are reused, so the setters return the instance to make
+	 * filling one in a single statement.
+	 */
+	@Nonnull
+	public Footprint set(final double x, final double y, final double z, final float rotation,
+			final boolean rightFoot) {
+		this.x = x;
+		this.y = y;
+		this.z = z;
+		this.rotation = rotation;
+		this.isRightFoot = rightFoot;
+		return this;
+	}
+
+	@Nonnull
+	public Footprint set(@Nonnull final Footprint print) {
+		return set(print.x, print.y, print.z, print.rotation, print.isRightFoot);
+	}
+
+	public double getX() {
+		return this.x;
+	}
+
+	public double getY() {
+		return this.y;
 	}
 
-	@Nullable
-	public Vec3d getStepLocation() {
-		return this.stepLoc;
+	public double getZ() {
+		return this.z;
 	}
 
 	public boolean isRightFoot() {
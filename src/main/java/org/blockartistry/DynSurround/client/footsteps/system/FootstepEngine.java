@@ -0,0 +1,250 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.blockartistry.DynSurround.client.footsteps.system;
+
+import java.util.Arrays;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+
+import org.blockartistry.DynSurround.ModOptions;
+import org.blockartistry.DynSurround.client.footsteps.implem.GaitModel;
+
+import gnu.trove.map.hash.TIntIntHashMap;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityFlying;
+import net.minecraft.entity.EntityLiving;
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.entity.monster.EntitySlime;
+import net.minecraft.entity.monster.EntitySpider;
+import net.minecraft.entity.passive.EntityAmbientCreature;
+import net.minecraft.entity.passive.EntityAnimal;
+import net.minecraft.entity.passive.EntityChicken;
+import net.minecraft.entity.passive.EntityWaterMob;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.SoundCategory;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Generates footsteps for the player and the entities around them. Each
+ * tracked entity gets a slot in a GeneratorState. Entities further away are
+ * simulated less often, and the steps of everything other than the player
+ * are capped per tick. Mobs walk with a biped or quadruped gait depending
+ * on their type, and the vanilla step sounds of the mobs being tracked are
+ * suppressed so they are not heard twice.
+ */
+@SideOnly(Side.CLIENT)
+public final class FootstepEngine {
+
+	// Distance tiers that control how often an entity is simulated
+	private static final double NEAR_RANGE_SQ = 16 * 16;
+	private static final double MID_RANGE_SQ = 32 * 32;
+	private static final double MAX_RANGE_SQ = 48 * 48;
+	private static final int MID_INTERVAL = 2;
+	private static final int FAR_INTERVAL = 4;
+
+	private static final int NO_SLOT = -1;
+
+	// How close a vanilla step sound has to be to a tracked mob to be dropped
+	private static final double STEP_SOUND_RANGE_SQ = 2 * 2;
+
+	private final Isolator isolator;
+	private final GeneratorState state = new GeneratorState();
+	private final TIntIntHashMap slots = new TIntIntHashMap(32, 0.5F, NO_SLOT, NO_SLOT);
+	private int[] entityIds;
+	private int[] lastSeen;
+	private boolean[] isMob;
+	private int count;
+
+	private Generator biped;
+	private Generator quadruped;
+	private int tick;
+	private int stepsRemaining;
+	private boolean exempt;
+
+	public FootstepEngine(@Nonnull final Isolator isolator) {
+		this.isolator = isolator;
+		this.entityIds = new int[this.state.capacity()];
+		this.lastSeen = new int[this.state.capacity()];
+		this.isMob = new boolean[this.state.capacity()];
+	}
+
+	@Nonnull
+	GeneratorState getState() {
+		return this.state;
+	}
+
+	public int getTrackedCount() {
+		return this.count;
+	}
+
+	/**
+	 * Called by generators before resolving and playing a step. Returns false
+	 * if the step budget for the tick has been used up.
+	 */
+	public boolean consumeStep() {
+		if (this.exempt || ModOptions.footstepsPerTick == 0)
+			return true;
+		if (this.stepsRemaining > 0) {
+			this.stepsRemaining--;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Determines if the sound is a vanilla step sound made by one of the mobs
+	 * the engine is generating footsteps for. Step sounds from mobs are played
+	 * by the server using the category of the mob so players, whose steps are
+	 * in the PLAYERS category, are never matched.
+	 */
+	public boolean isTrackedMobStep(@Nonnull final String name, @Nonnull final SoundCategory category, final double x,
+			final double y, final double z) {
+		if (!ModOptions.footstepsForMobs || (category != SoundCategory.HOSTILE && category != SoundCategory.NEUTRAL))
+			return false;
+		if (!name.endsWith(".step") && !name.equals("entity.horse.step_wood") && !name.equals("entity.horse.gallop"))
+			return false;
+
+		final GeneratorState s = this.state;
+		for (int i = 0; i < this.count; i++) {
+			if (!this.isMob[i] || !s.hasPrev[i])
+				continue;
+			final double dX = s.prevX[i] - x;
+			final double dY = s.prevY[i] - y;
+			final double dZ = s.prevZ[i] - z;
+			if (dX * dX + dY * dY + dZ * dZ <= STEP_SOUND_RANGE_SQ)
+				return true;
+		}
+		return false;
+	}
+
+	public void update(@Nonnull final EntityPlayer player, @Nonnull final Generator playerGait) {
+		this.tick++;
+		this.stepsRemaining = ModOptions.footstepsPerTick;
+
+		// The player is always simulated and does not count against the budget
+		this.exempt = true;
+		playerGait.generateFootsteps(player, acquire(player));
+		this.exempt = false;
+
+		final World world = player.world;
+		if (ModOptions.footstepsForMobs) {
+			final List<Entity> entities = world.loadedEntityList;
+			for (int i = 0; i < entities.size(); i++) {
+				final Entity entity = entities.get(i);
+				if (entity instanceof EntityLivingBase)
+					process(player, (EntityLivingBase) entity);
+			}
+		} else {
+			final List<EntityPlayer> players = world.playerEntities;
+			for (int i = 0; i < players.size(); i++)
+				process(player, players.get(i));
+		}
+
+		expire();
+	}
+
+	private void process(@Nonnull final EntityPlayer player, @Nonnull final EntityLivingBase entity) {
+		if (entity == player || !hasFeet(entity))
+			return;
+
+		final double distanceSq = entity.getDistanceSqToEntity(player);
+		if (distanceSq > MAX_RANGE_SQ)
+			return;
+
+		final int slot = acquire(entity);
+		final int interval = distanceSq < NEAR_RANGE_SQ ? 1 : distanceSq < MID_RANGE_SQ ? MID_INTERVAL : FAR_INTERVAL;
+		if ((this.tick + entity.getEntityId()) % interval != 0)
+			return;
+
+		if (isQuadruped(entity)) {
+			if (this.quadruped == null)
+				this.quadruped = new Generator(this.isolator, GaitModel.QUADRUPED);
+			this.quadruped.generateFootsteps(entity, slot);
+		} else {
+			if (this.biped == null)
+				this.biped = new Generator(this.isolator, GaitModel.BIPED);
+			this.biped.generateFootsteps(entity, slot);
+		}
+	}
+
+	private static boolean isQuadruped(@Nonnull final EntityLivingBase entity) {
+		return (entity instanceof EntityAnimal && !(entity instanceof EntityChicken))
+				|| entity instanceof EntitySpider;
+	}
+
+	private static boolean hasFeet(@Nonnull final EntityLivingBase entity) {
+		if (entity.isDead || entity.isRiding())
+			return false;
+		if (entity instanceof EntityPlayer)
+			return !((EntityPlayer) entity).isSpectator();
+		return entity instanceof EntityLiving && !(entity instanceof EntityFlying)
+				&& !(entity instanceof EntityWaterMob) && !(entity instanceof EntityAmbientCreature)
+				&& !(entity instanceof EntitySlime);
+	}
+
+	private int acquire(@Nonnull final EntityLivingBase entity) {
+		final int id = entity.getEntityId();
+		int slot = this.slots.get(id);
+		if (slot == NO_SLOT) {
+			slot = this.count++;
+			if (slot == this.state.capacity()) {
+				this.state.ensureCapacity(slot + 1);
+				this.entityIds = Arrays.copyOf(this.entityIds, this.state.capacity());
+				this.lastSeen = Arrays.copyOf(this.lastSeen, this.state.capacity());
+				this.isMob = Arrays.copyOf(this.isMob, this.state.capacity());
+			}
+			this.entityIds[slot] = id;
+			this.isMob[slot] = !(entity instanceof EntityPlayer);
+			this.state.reset(slot);
+			this.slots.put(id, slot);
+		}
+		this.lastSeen[slot] = this.tick;
+		return slot;
+	}
+
+	/*
+	 * Drops the slots of entities that were not seen this tick. The last slot
+	 * is moved into the hole so the slots stay dense.
+	 */
+	private void expire() {
+		for (int i = this.count - 1; i >= 0; i--) {
+			if (this.lastSeen[i] == this.tick)
+				continue;
+
+			this.slots.remove(this.entityIds[i]);
+			final int last = --this.count;
+			if (i != last) {
+				this.entityIds[i] = this.entityIds[last];
+				this.lastSeen[i] = this.lastSeen[last];
+				this.isMob[i] = this.isMob[last];
+				this.state.copy(last, i);
+				this.slots.put(this.entityIds[i], i);
+			}
+		}
+	}
+}
@@ -24,19 +24,30 @@
 
 package org.blockartistry.DynSurround.client.footsteps.system;
 
+import java.util.Random;
+
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import org.blockartistry.DynSurround.client.footsteps.implem.NormalVariator;
 import org.blockartistry.DynSurround.client.footsteps.interfaces.EventType;
+import org.blockartistry.DynSurround.client.footsteps.interfaces.IGaitModel;
+import org.blockartistry.DynSurround.client.handlers.EnvironStateHandler.EnvironState;
 import org.blockartistry.lib.MathStuff;
 import org.blockartistry.lib.TimeUtils;
+import org.blockartistry.lib.random.XorShiftRandom;
 
-import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.util.math.BlockPos;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
+/**
+ * Turns entity movement into footstep events. Generators hold no per entity
+ * state of their own; everything they track lives in a slot of the
+ * footstep engine's GeneratorState so one generator serves every entity.
+ * How far apart steps are and how they group is up to the gait model.
+ */
 @SideOnly(Side.CLIENT)
 public class Generator {
 
@@ -44,121 +55,170 @@ public class Generator {
 
 	// Construct
 	final protected Isolator mod;
+	final protected FootstepEngine engine;
+	final protected GeneratorState state;
+	final protected IGaitModel gait;
 
-	// FootstepsRegistry
-	protected float dmwBase;
-	protected float dwmYChange;
-	protected double yPosition;
-
-	// Airborne
-	protected boolean isFlying;
-	protected float fallDistance;
+	protected final Random rand = XorShiftRandom.current();
+	protected final BlockPos.MutableBlockPos brushPos = new BlockPos.MutableBlockPos();
 
-	protected float lastReference;
-	protected boolean isImmobile;
-	protected long timeImmobile;
+	public Generator(@Nonnull final Isolator isolator, @Nonnull final IGaitModel gait) {
+		this.mod = isolator;
+		this.engine = isolator.getFootstepEngine();
+		this.state = this.engine.getState();
+		this.gait = gait;
+	}
 
-	protected boolean isRightFoot;
+	public void generateFootsteps(@Nonnull final EntityLivingBase ply, final int slot) {
+		trackMotion(ply, slot);
+		simulateFootsteps(ply, slot);
+		simulateAirborne(ply, slot);
+		simulateBrushes(ply, slot);
+	}
 
-	protected double xMovec;
-	protected double zMovec;
-	protected boolean scalStat;
-	private boolean stepThisFrame;
+	/*
+	 * Only the local player moves itself on the client. Everything else is
+	 * interpolated from server updates so its motion, walked distance, fall
+	 * distance and jump flag never change here; derive them from the change
+	 * in position since the slot was last simulated.
+	 */
+	protected void trackMotion(@Nonnull final EntityLivingBase ply, final int slot) {
+		final GeneratorState s = this.state;
+		if (EnvironState.isPlayer(ply)) {
+			s.motionX[slot] = ply.motionX;
+			s.motionY[slot] = ply.motionY;
+			s.motionZ[slot] = ply.motionZ;
+			s.distanceWalked[slot] = ply.distanceWalkedOnStepModified;
+			s.fallen[slot] = ply.fallDistance;
+			s.jumping[slot] = ply.isJumping;
+			return;
+		}
 
-	private boolean isMessyFoliage;
-	private long brushesTime;
+		if (!s.hasPrev[slot]) {
+			s.hasPrev[slot] = true;
+		} else {
+			final int elapsed = ply.ticksExisted - s.prevTick[slot];
+			if (elapsed <= 0)
+				return;
+
+			final double dX = ply.posX - s.prevX[slot];
+			final double dY = ply.posY - s.prevY[slot];
+			final double dZ = ply.posZ - s.prevZ[slot];
+			s.motionX[slot] = dX / elapsed;
+			s.motionY[slot] = dY / elapsed;
+			s.motionZ[slot] = dZ / elapsed;
+
+			// Same accounting as Entity.move(): vertical travel only counts
+			// on a ladder
+			final double climb = ply.isOnLadder() ? dY : 0D;
+			s.distanceWalked[slot] += (float) (Math.sqrt(dX * dX + climb * climb + dZ * dZ) * 0.6D);
+
+			if (ply.onGround) {
+				s.fallen[slot] = 0F;
+				s.jumping[slot] = false;
+			} else {
+				if (dY < 0D)
+					s.fallen[slot] -= (float) dY;
+				s.jumping[slot] = dY > 0D;
+			}
+		}
 
-	public Generator(@Nonnull final Isolator isolator) {
-		this.mod = isolator;
+		s.prevTick[slot] = ply.ticksExisted;
+		s.prevX[slot] = ply.posX;
+		s.prevY[slot] = ply.posY;
+		s.prevZ[slot] = ply.posZ;
 	}
 
-	public void generateFootsteps(@Nonnull final EntityPlayer ply) {
-		simulateFootsteps(ply);
-		simulateAirborne(ply);
-		simulateBrushes(ply);
+	/*
+	 * Sneaking players other than the local one make no step sounds.
+	 */
+	protected boolean isQuiet(@Nonnull final EntityLivingBase ply) {
+		return ply.isSneaking() && !EnvironState.isPlayer(ply);
 	}
 
-	protected boolean stoppedImmobile(float reference) {
+	protected boolean stoppedImmobile(final int slot, float reference) {
+		final GeneratorState s = this.state;
 		final long current = TimeUtils.currentTimeMillis();
-		final float diff = this.lastReference - reference;
-		this.lastReference = reference;
-		if (!this.isImmobile && diff == 0f) {
-			this.timeImmobile = current;
-			this.isImmobile = true;
-		} else if (this.isImmobile && diff != 0f) {
-			this.isImmobile = false;
-			return current - timeImmobile > VAR.IMMOBILE_DURATION;
+		final float diff = s.lastReference[slot] - reference;
+		s.lastReference[slot] = reference;
+		if (!s.isImmobile[slot] && diff == 0f) {
+			s.timeImmobile[slot] = current;
+			s.isImmobile[slot] = true;
+		} else if (s.isImmobile[slot] && diff != 0f) {
+			s.isImmobile[slot] = false;
+			return current - s.timeImmobile[slot] > VAR.IMMOBILE_DURATION;
 		}
 
 		return false;
 	}
 
-	protected void simulateFootsteps(@Nonnull final EntityPlayer ply) {
-		final float distanceReference = ply.distanceWalkedOnStepModified;
+	protected void simulateFootsteps(@Nonnull final EntityLivingBase ply, final int slot) {
+		final GeneratorState s = this.state;
+		final float distanceReference = s.distanceWalked[slot];
 
-		this.stepThisFrame = false;
+		s.stepThisFrame[slot] = false;
 
-		if (this.dmwBase > distanceReference) {
-			this.dmwBase = 0;
-			this.dwmYChange = 0;
+		if (s.dmwBase[slot] > distanceReference) {
+			s.dmwBase[slot] = 0;
+			s.dwmYChange[slot] = 0;
 		}
 
-		final double movX = ply.motionX;
-		final double movZ = ply.motionZ;
+		final double movX = s.motionX[slot];
+		final double movZ = s.motionZ[slot];
 
-		double scal = movX * this.xMovec + movZ * this.zMovec;
-		if (this.scalStat != scal < 0.001f) {
-			this.scalStat = !this.scalStat;
+		double scal = movX * s.xMovec[slot] + movZ * s.zMovec[slot];
+		if (s.scalStat[slot] != scal < 0.001f) {
+			s.scalStat[slot] = !s.scalStat[slot];
 
-			if (this.scalStat && VAR.PLAY_WANDER && !this.mod.getSolver().hasSpecialStoppingConditions(ply)) {
-				playSinglefoot(ply, 0d, EventType.WANDER, this.isRightFoot);
+			if (s.scalStat[slot] && VAR.PLAY_WANDER && !this.mod.getSolver().hasSpecialStoppingConditions(ply)) {
+				playSinglefoot(ply, slot, 0d, EventType.WANDER, s.isRightFoot[slot]);
 			}
 		}
 
-		this.xMovec = movX;
-		this.zMovec = movZ;
+		s.xMovec[slot] = movX;
+		s.zMovec[slot] = movZ;
 
 		if (ply.onGround || ply.isInWater() || ply.isOnLadder()) {
+			final boolean running = movX * movX + movZ * movZ > VAR.SPEED_TO_RUN;
 			EventType event = null;
 
-			float dwm = distanceReference - this.dmwBase;
-			final boolean immobile = stoppedImmobile(distanceReference);
+			float dwm = distanceReference - s.dmwBase[slot];
+			final boolean immobile = stoppedImmobile(slot, distanceReference);
 			if (immobile && !ply.isOnLadder()) {
 				dwm = 0;
-				this.dmwBase = distanceReference;
+				s.dmwBase[slot] = distanceReference;
 			}
 
 			float distance = 0f;
 
 			if (ply.isOnLadder() && !ply.onGround) {
 				distance = VAR.DISTANCE_LADDER;
-			} else if (!ply.isInWater() && MathStuff.abs(this.yPosition - ply.posY) > 0.4d) {
+			} else if (!ply.isInWater() && MathStuff.abs(s.yPosition[slot] - ply.posY) > 0.4d) {
 				// This ensures this does not get recorded as landing, but as a
 				// step
-				if (this.yPosition < ply.posY) { // Going upstairs
+				if (s.yPosition[slot] < ply.posY) { // Going upstairs
 					distance = VAR.DISTANCE_STAIR;
-					event = speedDisambiguator(ply, EventType.UP, EventType.UP_RUN);
+					event = running ? EventType.UP_RUN : EventType.UP;
 				} else if (!ply.isSneaking()) { // Going downstairs
 					distance = -1f;
-					event = speedDisambiguator(ply, EventType.DOWN, EventType.DOWN_RUN);
+					event = running ? EventType.DOWN_RUN : EventType.DOWN;
 				}
 
-				this.dwmYChange = distanceReference;
+				s.dwmYChange[slot] = distanceReference;
 
 			} else {
 				distance = VAR.DISTANCE_HUMAN;
 			}
 
-			if (event == null) {
-				event = speedDisambiguator(ply, EventType.WALK, EventType.RUN);
-			}
+			if (event == null)
+				event = running ? EventType.RUN : EventType.WALK;
 
-			distance = reevaluateDistance(event, distance);
+			distance = this.gait.getStepDistance(s.phase[slot], s.variation[slot], event, distance);
 
 			if (dwm > distance) {
-				produceStep(ply, event, 0F);
-				stepped(ply, event);
-				this.dmwBase = distanceReference;
+				produceStep(ply, slot, event, 0F);
+				stepped(ply, slot, event);
+				s.dmwBase[slot] = distanceReference;
 			}
 		}
 
@@ -166,52 +226,60 @@ public class Generator {
 		// while the player is between two steps in the air
 		// while descending stairs
 		if (ply.onGround) {
-			this.yPosition = ply.posY;
+			s.yPosition[slot] = ply.posY;
 		}
 	}
 
-	protected void stepped(@Nonnull final EntityPlayer ply, @Nonnull final EventType event) {
+	protected void stepped(@Nonnull final EntityLivingBase ply, final int slot, @Nonnull final EventType event) {
+		final GeneratorState s = this.state;
+		final int phase = s.phase[slot];
+		if (this.gait.rerollsVariation(phase))
+			s.variation[slot] = this.rand.nextFloat();
+		s.phase[slot] = this.gait.getNextPhase(phase, event);
+		for (int i = this.gait.getExtraSteps(phase, event); i > 0; i--)
+			produceStep(ply, slot, event);
 	}
 
-	protected float reevaluateDistance(@Nonnull final EventType event, final float distance) {
-		return distance;
+	protected void produceStep(@Nonnull final EntityLivingBase ply, final int slot, @Nonnull final EventType event) {
+		produceStep(ply, slot, event, 0d);
 	}
 
-	protected void produceStep(@Nonnull final EntityPlayer ply, @Nonnull final EventType event) {
-		produceStep(ply, event, 0d);
-	}
-
-	protected void produceStep(@Nonnull final EntityPlayer ply, @Nullable EventType event,
+	protected void produceStep(@Nonnull final EntityLivingBase ply, final int slot, @Nullable EventType event,
 			final double verticalOffsetAsMinus) {
-		if (!this.mod.getSolver().playSpecialStoppingConditions(ply)) {
+		final GeneratorState s = this.state;
+		final double speed = MathStuff.sqrt(s.motionX[slot] * s.motionX[slot] + s.motionY[slot] * s.motionY[slot]
+				+ s.motionZ[slot] * s.motionZ[slot]);
+		if (!this.mod.getSolver().playSpecialStoppingConditions(ply, speed)) {
 			if (event == null)
-				event = speedDisambiguator(ply, EventType.WALK, EventType.RUN);
-			playSinglefoot(ply, verticalOffsetAsMinus, event, this.isRightFoot);
-			this.isRightFoot = !this.isRightFoot;
+				event = speedDisambiguator(slot, EventType.WALK, EventType.RUN);
+			playSinglefoot(ply, slot, verticalOffsetAsMinus, event, this.state.isRightFoot[slot]);
+			this.state.isRightFoot[slot] = !this.state.isRightFoot[slot];
 		}
 
-		this.stepThisFrame = true;
+		this.state.stepThisFrame[slot] = true;
 	}
 
-	protected void simulateAirborne(@Nonnull final EntityPlayer ply) {
-		if ((ply.onGround || ply.isOnLadder()) == this.isFlying) {
-			this.isFlying = !this.isFlying;
-			simulateJumpingLanding(ply);
+	protected void simulateAirborne(@Nonnull final EntityLivingBase ply, final int slot) {
+		final GeneratorState s = this.state;
+		if ((ply.onGround || ply.isOnLadder()) == s.isFlying[slot]) {
+			s.isFlying[slot] = !s.isFlying[slot];
+			simulateJumpingLanding(ply, slot);
 		}
 
-		if (this.isFlying)
-			this.fallDistance = ply.fallDistance;
+		if (s.isFlying[slot])
+			s.fallDistance[slot] = s.fallen[slot];
 	}
 
-	protected void simulateJumpingLanding(@Nonnull final EntityPlayer ply) {
+	protected void simulateJumpingLanding(@Nonnull final EntityLivingBase ply, final int slot) {
 		if (this.mod.getSolver().hasSpecialStoppingConditions(ply))
 			return;
 
-		final boolean isJumping = ply.isJumping;
+		final GeneratorState s = this.state;
+		final boolean isJumping = s.jumping[slot];
 
-		if (this.isFlying && isJumping) { // ply.isJumping)
+		if (s.isFlying[slot] && isJumping) { // ply.isJumping)
 			if (VAR.EVENT_ON_JUMP) {
-				double speed = ply.motionX * ply.motionX + ply.motionZ * ply.motionZ;
+				double speed = s.motionX[slot] * s.motionX[slot] + s.motionZ[slot] * s.motionZ[slot];
 
 				if (speed < VAR.SPEED_TO_JUMP_AS_MULTIFOOT) { // STILL JUMP
 					playMultifoot(ply, 0.4d, EventType.JUMP); // 2 -
@@ -220,67 +288,76 @@ public class Generator {
 																// for vertical
 																// offset?)
 				} else {
-					playSinglefoot(ply, 0.4d, EventType.JUMP, this.isRightFoot); // RUNNING
-																			// JUMP
+					playSinglefoot(ply, slot, 0.4d, EventType.JUMP, s.isRightFoot[slot]); // RUNNING
+																						// JUMP
 					// Do not toggle foot: After landing sounds, the first foot
 					// will be same as the one used to jump.
 				}
 			}
-		} else if (!this.isFlying) {
-			if (this.fallDistance > VAR.LAND_HARD_DISTANCE_MIN) {
+		} else if (!s.isFlying[slot]) {
+			if (s.fallDistance[slot] > VAR.LAND_HARD_DISTANCE_MIN) {
 				playMultifoot(ply, 0d, EventType.LAND); // Always assume the
 														// player lands on their
 														// two feet
 				// Do not toggle foot: After landing sounds, the first foot will
 				// be same as the one used to jump.
-			} else if (!this.stepThisFrame && !ply.isSneaking()) {
-				playSinglefoot(ply, 0d, speedDisambiguator(ply, EventType.CLIMB, EventType.CLIMB_RUN), this.isRightFoot);
-				this.isRightFoot = !this.isRightFoot;
+			} else if (!s.stepThisFrame[slot] && !ply.isSneaking()) {
+				playSinglefoot(ply, slot, 0d, speedDisambiguator(slot, EventType.CLIMB, EventType.CLIMB_RUN),
+						s.isRightFoot[slot]);
+				s.isRightFoot[slot] = !s.isRightFoot[slot];
 			}
 
 		}
 	}
 
-	protected EventType speedDisambiguator(@Nonnull final EntityPlayer ply, @Nonnull final EventType walk,
+	protected EventType speedDisambiguator(final int slot, @Nonnull final EventType walk,
 			@Nonnull final EventType run) {
-		final double velocity = ply.motionX * ply.motionX + ply.motionZ * ply.motionZ;
+		final GeneratorState s = this.state;
+		final double velocity = s.motionX[slot] * s.motionX[slot] + s.motionZ[slot] * s.motionZ[slot];
 		return velocity > VAR.SPEED_TO_RUN ? run : walk;
 	}
 
-	private void simulateBrushes(@Nonnull final EntityPlayer ply) {
+	private void simulateBrushes(@Nonnull final EntityLivingBase ply, final int slot) {
+		final GeneratorState s = this.state;
 		final long current = TimeUtils.currentTimeMillis();
-		if (this.brushesTime > current)
+		if (s.brushesTime[slot] > current)
 			return;
 
-		this.brushesTime = current + 100;
+		s.brushesTime[slot] = current + 100;
 
-		if ((ply.motionX == 0d && ply.motionZ == 0d) || ply.isSneaking())
+		if ((s.motionX[slot] == 0d && s.motionZ[slot] == 0d) || ply.isSneaking())
 			return;
 
 		final int yy = MathStuff.floor(ply.posY - 0.1d - ply.getYOffset() - (ply.onGround ? 0d : 0.25d));
-		final Association assos = this.mod.getSolver().findAssociationMessyFoliage(new BlockPos(ply.posX, yy, ply.posZ));
+		final Association assos = this.mod.getSolver().findAssociationMessyFoliage(
+				this.brushPos.setPos(MathStuff.floor(ply.posX), yy, MathStuff.floor(ply.posZ)));
 		if (assos != null) {
-			if (!this.isMessyFoliage) {
-				this.isMessyFoliage = true;
-				this.mod.getSolver().playAssociation(ply, assos, EventType.WALK);
+			if (!s.isMessyFoliage[slot]) {
+				s.isMessyFoliage[slot] = true;
+				if (this.engine.consumeStep())
+					this.mod.getSolver().playAssociation(ply, assos, EventType.WALK);
 			}
 		} else {
-			this.isMessyFoliage = false;
+			s.isMessyFoliage[slot] = false;
 		}
 	}
 
-	protected void playSinglefoot(@Nonnull final EntityPlayer ply, final double verticalOffsetAsMinus,
-			@Nonnull final EventType eventType, final boolean foot) {
-		final Association assos = this.mod.getSolver().findAssociationForPlayer(ply, verticalOffsetAsMinus, foot);
+	protected void playSinglefoot(@Nonnull final EntityLivingBase ply, final int slot,
+			final double verticalOffsetAsMinus, @Nonnull final EventType eventType, final boolean foot) {
+		if (isQuiet(ply) || !this.engine.consumeStep())
+			return;
+		final Association assos = this.mod.getSolver().findAssociationForEntity(ply, verticalOffsetAsMinus, foot);
 		this.mod.getSolver().playAssociation(ply, assos, eventType);
 	}
 
-	protected void playMultifoot(@Nonnull final EntityPlayer ply, final double verticalOffsetAsMinus,
+	protected void playMultifoot(@Nonnull final EntityLivingBase ply, final double verticalOffsetAsMinus,
 			final EventType eventType) {
+		if (isQuiet(ply) || !this.engine.consumeStep())
+			return;
 		// STILL JUMP
 		final Solver s = this.mod.getSolver();
-		final Association leftFoot = s.findAssociationForPlayer(ply, verticalOffsetAsMinus, false);
-		final Association rightFoot = s.findAssociationForPlayer(ply, verticalOffsetAsMinus, true);
+		final Association leftFoot = s.findAssociationForEntity(ply, verticalOffsetAsMinus, false);
+		final Association rightFoot = s.findAssociationForEntity(ply, verticalOffsetAsMinus, true);
 		s.playAssociation(ply, leftFoot, eventType);
 		s.playAssociation(ply, rightFoot, eventType);
 	}
@@ -288,4 +365,4 @@ public class Generator {
 	protected float scalex(final float number, final float min, final float max) {
 		return MathStuff.clamp((number - min) / (max - min), 0.0F, 1.0F);
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,221 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.blockartistry.DynSurround.client.footsteps.system;
+
+import java.util.Arrays;
+
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Per entity footstep generator state, one slot per tracked entity. The
+ * generators themselves are stateless and work against a slot in here.
+ */
+@SideOnly(Side.CLIENT)
+final class GeneratorState {
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	// FootstepsRegistry
+	float[] dmwBase;
+	float[] dwmYChange;
+	double[] yPosition;
+
+	// Airborne
+	boolean[] isFlying;
+	float[] fallDistance;
+
+	float[] lastReference;
+	boolean[] isImmobile;
+	long[] timeImmobile;
+
+	boolean[] isRightFoot;
+
+	double[] xMovec;
+	double[] zMovec;
+	boolean[] scalStat;
+	boolean[] stepThisFrame;
+
+	boolean[] isMessyFoliage;
+	long[] brushesTime;
+
+	// Gait model
+	int[] phase;
+	float[] variation;
+
+	// Movement tracked from position changes for entities that are only
+	// interpolated on the client
+	boolean[] hasPrev;
+	int[] prevTick;
+	double[] prevX;
+	double[] prevY;
+	double[] prevZ;
+	double[] motionX;
+	double[] motionY;
+	double[] motionZ;
+	float[] distanceWalked;
+	float[] fallen;
+	boolean[] jumping;
+
+	public GeneratorState() {
+		resize(INITIAL_CAPACITY);
+	}
+
+	public int capacity() {
+		return this.dmwBase.length;
+	}
+
+	public void ensureCapacity(final int capacity) {
+		if (capacity > capacity())
+			resize(Math.max(capacity, capacity() * 2));
+	}
+
+	private void resize(final int capacity) {
+		if (this.dmwBase == null) {
+			this.dmwBase = new float[capacity];
+			this.dwmYChange = new float[capacity];
+			this.yPosition = new double[capacity];
+			this.isFlying = new boolean[capacity];
+			this.fallDistance = new float[capacity];
+			this.lastReference = new float[capacity];
+			this.isImmobile = new boolean[capacity];
+			this.timeImmobile = new long[capacity];
+			this.isRightFoot = new boolean[capacity];
+			this.xMovec = new double[capacity];
+			this.zMovec = new double[capacity];
+			this.scalStat = new boolean[capacity];
+			this.stepThisFrame = new boolean[capacity];
+			this.isMessyFoliage = new boolean[capacity];
+			this.brushesTime = new long[capacity];
+			this.phase = new int[capacity];
+			this.variation = new float[capacity];
+			this.hasPrev = new boolean[capacity];
+			this.prevTick = new int[capacity];
+			this.prevX = new double[capacity];
+			this.prevY = new double[capacity];
+			this.prevZ = new double[capacity];
+			this.motionX = new double[capacity];
+			this.motionY = new double[capacity];
+			this.motionZ = new double[capacity];
+			this.distanceWalked = new float[capacity];
+			this.fallen = new float[capacity];
+			this.jumping = new boolean[capacity];
+		} else {
+			this.dmwBase = Arrays.copyOf(this.dmwBase, capacity);
+			this.dwmYChange = Arrays.copyOf(this.dwmYChange, capacity);
+			this.yPosition = Arrays.copyOf(this.yPosition, capacity);
+			this.isFlying = Arrays.copyOf(this.isFlying, capacity);
+			this.fallDistance = Arrays.copyOf(this.fallDistance, capacity);
+			this.lastReference = Arrays.copyOf(this.lastReference, capacity);
+			this.isImmobile = Arrays.copyOf(this.isImmobile, capacity);
+			this.timeImmobile = Arrays.copyOf(this.timeImmobile, capacity);
+			this.isRightFoot = Arrays.copyOf(this.isRightFoot, capacity);
+			this.xMovec = Arrays.copyOf(this.xMovec, capacity);
+			this.zMovec = Arrays.copyOf(this.zMovec, capacity);
+			this.scalStat = Arrays.copyOf(this.scalStat, capacity);
+			this.stepThisFrame = Arrays.copyOf(this.stepThisFrame, capacity);
+			this.isMessyFoliage = Arrays.copyOf(this.isMessyFoliage, capacity);
+			this.brushesTime = Arrays.copyOf(this.brushesTime, capacity);
+			this.phase = Arrays.copyOf(this.phase, capacity);
+			this.variation = Arrays.copyOf(this.variation, capacity);
+			this.hasPrev = Arrays.copyOf(this.hasPrev, capacity);
+			this.prevTick = Arrays.copyOf(this.prevTick, capacity);
+			this.prevX = Arrays.copyOf(this.prevX, capacity);
+			this.prevY = Arrays.copyOf(this.prevY, capacity);
+			this.prevZ = Arrays.copyOf(this.prevZ, capacity);
+			this.motionX = Arrays.copyOf(this.motionX, capacity);
+			this.motionY = Arrays.copyOf(this.motionY, capacity);
+			this.motionZ = Arrays.copyOf(this.motionZ, capacity);
+			this.distanceWalked = Arrays.copyOf(this.distanceWalked, capacity);
+			this.fallen = Arrays.copyOf(this.fallen, capacity);
+			this.jumping = Arrays.copyOf(this.jumping, capacity);
+		}
+	}
+
+	/*
+	 * Puts a slot back to the state of a freshly constructed generator.
+	 */
+	public void reset(final int slot) {
+		this.dmwBase[slot] = 0;
+		this.dwmYChange[slot] = 0;
+		this.yPosition[slot] = 0;
+		this.isFlying[slot] = false;
+		this.fallDistance[slot] = 0;
+		this.lastReference[slot] = 0;
+		this.isImmobile[slot] = false;
+		this.timeImmobile[slot] = 0;
+		this.isRightFoot[slot] = false;
+		this.xMovec[slot] = 0;
+		this.zMovec[slot] = 0;
+		this.scalStat[slot] = false;
+		this.stepThisFrame[slot] = false;
+		this.isMessyFoliage[slot] = false;
+		this.brushesTime[slot] = 0;
+		this.phase[slot] = 0;
+		this.variation[slot] = 0.05F;
+		this.hasPrev[slot] = false;
+		this.prevTick[slot] = 0;
+		this.prevX[slot] = 0;
+		this.prevY[slot] = 0;
+		this.prevZ[slot] = 0;
+		this.motionX[slot] = 0;
+		this.motionY[slot] = 0;
+		this.motionZ[slot] = 0;
+		this.distanceWalked[slot] = 0;
+		this.fallen[slot] = 0;
+		this.jumping[slot] = false;
+	}
+
+	public void copy(final int from, final int to) {
+		this.dmwBase[to] = this.dmwBase[from];
+		this.dwmYChange[to] = this.dwmYChange[from];
+		this.yPosition[to] = this.yPosition[from];
+		this.isFlying[to] = this.isFlying[from];
+		this.fallDistance[to] = this.fallDistance[from];
+		this.lastReference[to] = this.lastReference[from];
+		this.isImmobile[to] = this.isImmobile[from];
+		this.timeImmobile[to] = this.timeImmobile[from];
+		this.isRightFoot[to] = this.isRightFoot[from];
+		this.xMovec[to] = this.xMovec[from];
+		this.zMovec[to] = this.zMovec[from];
+		this.scalStat[to] = this.scalStat[from];
+		this.stepThisFrame[to] = this.stepThisFrame[from];
+		this.isMessyFoliage[to] = this.isMessyFoliage[from];
+		this.brushesTime[to] = this.brushesTime[from];
+		this.phase[to] = this.phase[from];
+		this.variation[to] = this.variation[from];
+		this.hasPrev[to] = this.hasPrev[from];
+		this.prevTick[to] = this.prevTick[from];
+		this.prevX[to] = this.prevX[from];
+		this.prevY[to] = this.prevY[from];
+		this.prevZ[to] = this.prevZ[from];
+		this.motionX[to] = this.motionX[from];
+		this.motionY[to] = this.motionY[from];
+		this.motionZ[to] = this.motionZ[from];
+		this.distanceWalked[to] = this.distanceWalked[from];
+		this.fallen[to] = this.fallen[from];
+		this.jumping[to] = this.jumping[from];
+	}
+}
@@ -47,16 +47,18 @@ public class Isolator {
 	private IStepPlayer defaultStepPlayer;
 
 	private Generator generator;
+	private final FootstepEngine engine;
 
 	public Isolator() {
 		this.blockMap = new BlockMap(this);
+		this.engine = new FootstepEngine(this);
 	}
 
 	public void onFrame(@Nonnull final EntityPlayer player) {
 		if (this.generator == null)
 			return;
 
-		this.generator.generateFootsteps(player);
+		this.engine.update(player, this.generator);
 		this.acoustics.think();
 	}
 
@@ -67,6 +69,11 @@ public class Isolator {
 		return this.acoustics;
 	}
 
+	@Nonnull
+	public FootstepEngine getFootstepEngine() {
+		return this.engine;
+	}
+
 	@Nonnull
 	public Solver getSolver() {
 		return this.solver;
@@ -24,7 +24,9 @@
 
 package org.blockartistry.DynSurround.client.footsteps.system;
 
+import java.util.IdentityHashMap;
 import java.util.Locale;
+import java.util.Map;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -37,6 +39,7 @@ import org.blockartistry.DynSurround.client.footsteps.interfaces.EventType;
 import org.blockartistry.DynSurround.client.footsteps.interfaces.IAcoustic;
 import org.blockartistry.DynSurround.client.footsteps.interfaces.IOptions.Option;
 import org.blockartistry.DynSurround.client.handlers.EnvironStateHandler.EnvironState;
+import org.blockartistry.DynSurround.registry.ArmorClass;
 import org.blockartistry.lib.MCHelper;
 import org.blockartistry.lib.MathStuff;
 import org.blockartistry.lib.MyUtils;
@@ -44,10 +47,9 @@ import org.blockartistry.lib.WorldUtils;
 import net.minecraft.block.SoundType;
 import net.minecraft.block.material.Material;
 import net.minecraft.block.state.IBlockState;
-import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.init.Blocks;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.World;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
@@ -72,16 +74,83 @@ public class Solver {
 
 	private static final IBlockState AIR_STATE = Blocks.AIR.getDefaultState();
 
+	// Associations handed out are consumed before the next step is solved so
+	// a small ring of carriers is enough. Must be a power of 2.
+	private static final int POOL_SIZE = 8;
+
 	private final Isolator isolator;
 
+	private final Association[] pool = new Association[POOL_SIZE];
+	private int poolIdx;
+
+	private final BlockPos.MutableBlockPos stepPos = new BlockPos.MutableBlockPos();
+	private final BlockPos.MutableBlockPos neighbor = new BlockPos.MutableBlockPos();
+	private final BlockPos.MutableBlockPos foliagePos = new BlockPos.MutableBlockPos();
+	private final ConfigOptions swimOptions = new ConfigOptions();
+
+	// Ground acoustics combined with foliage acoustics, keyed by identity
+	private final Map<IAcoustic[], Map<IAcoustic[], IAcoustic[]>> combined = new IdentityHashMap<IAcoustic[], Map<IAcoustic[], IAcoustic[]>>();
+
+	// Acoustics with an armor overlay appended, keyed by identity
+	private final Map<IAcoustic[], Map<IAcoustic, IAcoustic[]>> overlaid = new IdentityHashMap<IAcoustic[], Map<IAcoustic, IAcoustic[]>>();
+
 	public Solver(@Nonnull final Isolator isolator) {
 		this.isolator = isolator;
+
+		for (int i = 0; i < POOL_SIZE; i++)
+			this.pool[i] = new Association();
+
+		// Cached associations refer to the acoustics of the prior solver
+		AssociationCache.clear();
+	}
+
+	/*
+	 * Returns the concatenation of the two acoustic arrays. The result is
+	 * kept so each ground/foliage pair is only ever combined once.
+	 */
+	@Nonnull
+	private IAcoustic[] combine(@Nonnull final IAcoustic[] ground, @Nonnull final IAcoustic[] foliage) {
+		Map<IAcoustic[], IAcoustic[]> byFoliage = this.combined.get(ground);
+		if (byFoliage == null) {
+			byFoliage = new IdentityHashMap<IAcoustic[], IAcoustic[]>();
+			this.combined.put(ground, byFoliage);
+		}
+		IAcoustic[] result = byFoliage.get(foliage);
+		if (result == null) {
+			result = MyUtils.concatenate(ground, foliage);
+			byFoliage.put(foliage, result);
+		}
+		return result;
+	}
+
+	/*
+	 * Returns the acoustic array with the overlay appended. Like combine() the
+	 * result is kept so the same array is handed back on the next step.
+	 */
+	@Nonnull
+	private IAcoustic[] overlay(@Nonnull final IAcoustic[] data, @Nonnull final IAcoustic addon) {
+		Map<IAcoustic, IAcoustic[]> byAddon = this.overlaid.get(data);
+		if (byAddon == null) {
+			byAddon = new IdentityHashMap<IAcoustic, IAcoustic[]>();
+			this.overlaid.put(data, byAddon);
+		}
+		IAcoustic[] result = byAddon.get(addon);
+		if (result == null) {
+			result = MyUtils.append(data, addon);
+			byAddon.put(addon, result);
+		}
+		return result;
+	}
+
+	@Nonnull
+	private Association obtain() {
+		return this.pool[this.poolIdx++ & (POOL_SIZE - 1)];
 	}
 
 	/**
 	 * Play an association.
 	 */
-	public void playAssociation(@Nonnull final EntityPlayer ply, @Nullable final Association assos,
+	public void playAssociation(@Nonnull final EntityLivingBase ply, @Nullable final Association assos,
 			@Nonnull final EventType eventType) {
 		if (assos != null && !assos.isNotEmitter()) {
 			if (assos.getNoAssociation()) {
@@ -93,8 +162,8 @@ public class Solver {
 	}
 
 	/**
-	 * Find an association for a player particular foot. This will fetch the
-	 * player angle and use it as a basis to find out what block is below their
+	 * Find an association for an entity's particular foot. This will fetch the
+	 * entity angle and use it as a basis to find out what block is below their
 	 * feet (or which block is likely to be below their feet if the player is
 	 * walking on the edge of a block when walking over non-emitting blocks like
 	 * air or water).<br>
@@ -104,11 +173,12 @@ public class Solver {
 	 * was found, but has no association in the blockmap.
 	 */
 	@Nonnull
-	public Association findAssociationForPlayer(@Nonnull final EntityPlayer player, final double verticalOffsetAsMinus,
-			final boolean isRightFoot) {
+	public Association findAssociationForEntity(@Nonnull final EntityLivingBase player,
+			final double verticalOffsetAsMinus, final boolean isRightFoot) {
 		// Moved from routine below - why do all this calculation just to toss
-		// it away
-		if (MathStuff.abs(player.motionY) < 0.02)
+		// it away. Only the local player has a real motionY on the client;
+		// for everything else it is always about zero.
+		if (EnvironState.isPlayer(player) && MathStuff.abs(player.motionY) < 0.02)
 			return null; // Don't play sounds on every tiny bounce
 
 		final float rotDegrees = MathStuff.wrapDegrees(player.rotationYaw);
@@ -120,13 +190,13 @@ public class Solver {
 		final double xx = player.posX + xn * feetDistanceToCenter;
 		final double minY = player.getEntityBoundingBox().minY;
 		final double zz = player.posZ + zn * feetDistanceToCenter;
-		final BlockPos pos = new BlockPos(xx, minY - 0.1D - verticalOffsetAsMinus, zz);
+		this.stepPos.setPos(xx, minY - 0.1D - verticalOffsetAsMinus, zz);
 
-		final Association result = addSoundOverlay(findAssociationForLocation(player, pos));
-		if (result != null && !player.isJumping) {
-			final Vec3d printLocation = new Vec3d(xx, minY, zz);
-			if(Footprint.hasFootstepImprint(printLocation.addVector(0D, -0.5D, 0D)))
-				result.generatePrint(printLocation, rotDegrees, isRightFoot);
+		final Association result = addSoundOverlay(player, findAssociationForLocation(player, this.stepPos));
+		// Sneaking players other than ourselves don't leave prints
+		if (result != null && !player.isJumping && (!player.isSneaking() || EnvironState.isPlayer(player))) {
+			if (Footprint.hasFootstepImprint(xx, minY - 0.5D, zz))
+				result.generatePrint(xx, minY, zz, rotDegrees, isRightFoot);
 		}
 		return result;
 	}
@@ -142,7 +212,7 @@ public class Solver {
 	 * was found, but has no association in the blockmap.
 	 */
 	@Nonnull
-	protected Association findAssociationForLocation(@Nonnull final EntityPlayer player, @Nonnull final BlockPos pos) {
+	protected Association findAssociationForLocation(@Nonnull final EntityLivingBase player, @Nonnull final BlockPos pos) {
 		// if (MathStuff.abs(player.motionY) < 0.02)
 		// return null; // Don't play sounds on every tiny bounce
 
@@ -188,9 +258,11 @@ public class Solver {
 				// Take the maximum border to produce the sound
 				if (isXdangMax) { // If we are in the positive border, add 1,
 									// else subtract 1
-					worked = findAssociationForBlock(xdang > 0 ? pos.east() : pos.west());
+					worked = findAssociationForBlock(this.neighbor.setPos(pos.getX() + (xdang > 0 ? 1 : -1),
+							pos.getY(), pos.getZ()));
 				} else {
-					worked = findAssociationForBlock(zdang > 0 ? pos.south() : pos.north());
+					worked = findAssociationForBlock(this.neighbor.setPos(pos.getX(), pos.getY(),
+							pos.getZ() + (zdang > 0 ? 1 : -1)));
 				}
 
 				// If that didn't work, then maybe the footstep hit in the
@@ -199,9 +271,11 @@ public class Solver {
 				if (worked == null) { // Take the maximum direction and try with
 										// the orthogonal direction of it
 					if (isXdangMax) {
-						worked = findAssociationForBlock(zdang > 0 ? pos.south() : pos.north());
+						worked = findAssociationForBlock(this.neighbor.setPos(pos.getX(), pos.getY(),
+								pos.getZ() + (zdang > 0 ? 1 : -1)));
 					} else {
-						worked = findAssociationForBlock(xdang > 0 ? pos.east() : pos.west());
+						worked = findAssociationForBlock(this.neighbor.setPos(pos.getX() + (xdang > 0 ? 1 : -1),
+								pos.getY(), pos.getZ()));
 					}
 				}
 			}
@@ -223,15 +297,31 @@ public class Solver {
 	 * selected, this solves to the carpet.
 	 */
 	@Nonnull
-	public Association findAssociationForBlock(@Nonnull BlockPos pos) {
+	public Association findAssociationForBlock(@Nonnull final BlockPos pos) {
 		final World world = EnvironState.getWorld();
+		final long key = pos.toLong();
+		Association template = AssociationCache.get(world, key);
+		if (template == null)
+			template = AssociationCache.put(key, resolveAssociationForBlock(world, pos));
+		// Callers add overlays and prints so hand out a copy
+		return template == AssociationCache.NONE ? null : obtain().set(template);
+	}
+
+	@Nullable
+	private Association resolveAssociationForBlock(@Nonnull final World world, @Nonnull BlockPos pos) {
+		// The query may be a mutable position and the result is cached
+		pos = pos.toImmutable();
 		IBlockState in = WorldUtils.getBlockState(world, pos);
 		BlockPos tPos = pos.up();
 		final IBlockState above = WorldUtils.getBlockState(world, tPos);
 
 		IAcoustic[] association = null;
 
-		if (above != AIR_STATE)
+		// Most blocks have no carpet or foliage acoustics so check once
+		final boolean aboveHasSubstrate = above != AIR_STATE
+				&& this.isolator.getBlockMap().hasSubstrateAcoustics(above, tPos);
+
+		if (aboveHasSubstrate)
 			association = this.isolator.getBlockMap().getBlockSubstrateAcoustics(above, tPos, Substrate.CARPET);
 
 		if (association == null || association == AcousticsManager.NOT_EMITTER) {
@@ -261,11 +351,11 @@ public class Solver {
 				// is a carpet => this block of code is here, not outside this
 				// if else group.
 
-				if (above != AIR_STATE) {
+				if (aboveHasSubstrate) {
 					IAcoustic[] foliage = this.isolator.getBlockMap().getBlockSubstrateAcoustics(above, pos.up(),
 							Substrate.FOLIAGE);
 					if (foliage != null && foliage != AcousticsManager.NOT_EMITTER) {
-						association = MyUtils.concatenate(association, foliage);
+						association = combine(association, foliage);
 						DSurround.log().debug("Foliage detected");
 					}
 				}
@@ -352,17 +442,16 @@ public class Solver {
 
 	/**
 	 * Play special sounds that must stop the usual footstep figuring things out
-	 * process.
+	 * process. The speed is supplied by the generator since only the local
+	 * player has real motion values on the client.
 	 */
-	public boolean playSpecialStoppingConditions(@Nonnull final EntityPlayer ply) {
+	public boolean playSpecialStoppingConditions(@Nonnull final EntityLivingBase ply, final double speed) {
 		if (ply.isInWater()) {
-			final float volume = (float) MathStuff
-					.sqrt(ply.motionX * ply.motionX + ply.motionY * ply.motionY + ply.motionZ * ply.motionZ) * 1.25F;
-			final ConfigOptions options = new ConfigOptions();
-			options.getMap().put(Option.GLIDING_VOLUME, volume > 1 ? 1 : volume);
+			final float volume = (float) speed * 1.25F;
+			this.swimOptions.getMap().put(Option.GLIDING_VOLUME, volume > 1 ? 1 : volume);
 			// material water, see EntityLivingBase line 286
 			this.isolator.getAcoustics().playAcoustic(ply, AcousticsManager.SWIM,
-					ply.isInsideOfMaterial(Material.WATER) ? EventType.SWIM : EventType.WALK, options);
+					ply.isInsideOfMaterial(Material.WATER) ? EventType.SWIM : EventType.WALK, this.swimOptions);
 			return true;
 		}
 
@@ -372,7 +461,7 @@ public class Solver {
 	/**
 	 * Tells if footsteps can be played.
 	 */
-	public boolean hasSpecialStoppingConditions(@Nonnull final EntityPlayer ply) {
+	public boolean hasSpecialStoppingConditions(@Nonnull final EntityLivingBase ply) {
 		return ply.isInWater();
 	}
 
@@ -385,10 +474,10 @@ public class Solver {
 	public Association findAssociationMessyFoliage(@Nonnull final BlockPos pos) {
 
 		final World world = EnvironState.getWorld();
-		final BlockPos up = pos.up();
+		final BlockPos up = this.foliagePos.setPos(pos.getX(), pos.getY() + 1, pos.getZ());
 		final IBlockState above = WorldUtils.getBlockState(world, up);
 
-		if (above == AIR_STATE)
+		if (above == AIR_STATE || !this.isolator.getBlockMap().hasSubstrateAcoustics(above, up))
 			return null;
 
 		IAcoustic[] association = null;
@@ -433,7 +522,7 @@ public class Solver {
 		 */
 
 		if (found && association != null) {
-			return association == AcousticsManager.NOT_EMITTER ? null : new Association(association);
+			return association == AcousticsManager.NOT_EMITTER ? null : obtain().set(null, null, association);
 		}
 		return null;
 	}
@@ -443,12 +532,16 @@ public class Solver {
 	 * aspects, such as armor being worn.
 	 */
 	@Nonnull
-	public Association addSoundOverlay(@Nullable Association assoc) {
+	public Association addSoundOverlay(@Nonnull final EntityLivingBase entity, @Nullable Association assoc) {
+
+		// The player's armor is already tracked so use that
+		final boolean isPlayer = EnvironState.isPlayer(entity);
+		final ArmorClass armor = isPlayer ? EnvironState.getPlayerArmorClass()
+				: ArmorClass.effectiveArmorClass(entity);
+		final ArmorClass foot = isPlayer ? EnvironState.getPlayerFootArmorClass() : ArmorClass.footArmorClass(entity);
 
-		final IAcoustic armorAddon = this.isolator.getAcoustics()
-				.getAcoustic(EnvironState.getPlayerArmorClass().getAcoustic());
-		IAcoustic footAddon = this.isolator.getAcoustics()
-				.getAcoustic(EnvironState.getPlayerFootArmorClass().getFootAcoustic());
+		final IAcoustic armorAddon = this.isolator.getAcoustics().getAcoustic(armor.getAcoustic());
+		IAcoustic footAddon = this.isolator.getAcoustics().getAcoustic(foot.getFootAcoustic());
 
 		if (armorAddon == null && footAddon == null)
 			return assoc;
@@ -458,11 +551,11 @@ public class Solver {
 			footAddon = null;
 
 		if (assoc == null)
-			assoc = new Association();
+			assoc = obtain().set(null, null, AcousticsManager.EMPTY);
 		if (armorAddon != null)
-			assoc.add(armorAddon);
+			assoc.setData(overlay(assoc.getData(), armorAddon));
 		if (footAddon != null)
-			assoc.add(footAddon);
+			assoc.setData(overlay(assoc.getData(), footAddon));
 
 		return assoc;
 	}
@@ -0,0 +1,239 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.blockartistry.DynSurround.client.fx;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+
+import org.blockartistry.DynSurround.DSurround;
+import org.blockartistry.DynSurround.ModOptions;
+import org.blockartistry.DynSurround.client.event.DiagnosticEvent;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.util.math.MathHelper;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent.Phase;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Adjusts the mote caps of the particle collections based on frame time.
+ * Each collection reports how long it took to render and how many motes it
+ * had. Once a second the average frame time is compared with the target: if
+ * the client is running slow and particle rendering accounts for a real part
+ * of the overshoot the caps are lowered, each in proportion to its share of
+ * the particle render time, and if there is headroom caps
+ * that are being reached are raised. The weather splash spawn rate follows
+ * the weather related caps.
+ */
+@SideOnly(Side.CLIENT)
+@Mod.EventBusSubscriber(value = Side.CLIENT, modid = DSurround.MOD_ID)
+public final class ParticleBudget {
+
+	public static final int DEFAULT_CAP = 4000;
+	public static final int MIN_CAP = 500;
+	public static final int MAX_CAP = 12000;
+
+	private static final int ADJUST_INTERVAL = 20;
+	private static final float OVER_THRESHOLD = 1.05F;
+	private static final float UNDER_THRESHOLD = 0.90F;
+	private static final float GROWTH = 1.10F;
+	// Particles must take at least this fraction of the overshoot before the
+	// caps are cut; otherwise something else is making the frame slow
+	private static final float MIN_OVERSHOOT_SHARE = 0.25F;
+	// Largest cut applied to a collection that has all of the render time
+	private static final float MAX_CUT = 0.25F;
+	private static final float SATURATED = 0.90F;
+	private static final float MIN_SPAWN_SCALE = 0.25F;
+	private static final float MAX_SPAWN_SCALE = 2.0F;
+
+	// Frames longer than this are load stalls, GC, etc. and are ignored
+	private static final long STALL_NANOS = 250000000L;
+	// limitFramerate at this value means unlimited
+	private static final int UNLIMITED_FRAMERATE = 260;
+
+	public static final class Budget {
+
+		private final String name;
+		private final boolean weather;
+		private int cap = DEFAULT_CAP;
+		private long renderNanos;
+		private int peak;
+		private int current;
+
+		private Budget(@Nonnull final String name, final boolean weather) {
+			this.name = name;
+			this.weather = weather;
+		}
+
+		public int getCap() {
+			return ModOptions.particleTargetFps == 0 ? DEFAULT_CAP : this.cap;
+		}
+
+		public void recordRender(final long nanos, final int count) {
+			this.renderNanos += nanos;
+			this.current = count;
+			if (count > this.peak)
+				this.peak = count;
+		}
+
+		private void reset() {
+			this.renderNanos = 0;
+			this.peak = 0;
+		}
+
+		@Override
+		@Nonnull
+		public String toString() {
+			return String.format("%s: %d/%d", this.name, this.current, this.getCap());
+		}
+	}
+
+	private static final List<Budget> budgets = new ArrayList<Budget>();
+
+	private static long lastFrame;
+	private static long frameNanos;
+	private static int frames;
+	private static int ticks;
+	private static float lastFrameMillis;
+	private static float spawnScale = 1.0F;
+
+	private ParticleBudget() {
+
+	}
+
+	@Nonnull
+	public static Budget register(@Nonnull final String name, final boolean weather) {
+		final Budget budget = new Budget(name, weather);
+		budgets.add(budget);
+		return budget;
+	}
+
+	/**
+	 * Scale to apply to weather splash spawn counts.
+	 */
+	public static float getSpawnScale() {
+		return ModOptions.particleTargetFps == 0 ? 1.0F : spawnScale;
+	}
+
+	@SubscribeEvent
+	public static void onRenderTick(@Nonnull final TickEvent.RenderTickEvent event) {
+		if (event.phase != Phase.START)
+			return;
+
+		final long now = System.nanoTime();
+		final long delta = now - lastFrame;
+		lastFrame = now;
+		if (delta > 0 && delta < STALL_NANOS) {
+			frameNanos += delta;
+			frames++;
+		}
+	}
+
+	@SubscribeEvent
+	public static void onClientTick(@Nonnull final TickEvent.ClientTickEvent event) {
+		if (event.phase == Phase.END && ++ticks >= ADJUST_INTERVAL) {
+			ticks = 0;
+			adjust();
+		}
+	}
+
+	private static long targetFrameNanos() {
+		long target = 1000000000L / ModOptions.particleTargetFps;
+		// Can't go faster than the frame limiter allows
+		final int limit = Minecraft.getMinecraft().gameSettings.limitFramerate;
+		if (limit > 0 && limit < UNLIMITED_FRAMERATE)
+			target = Math.max(target, 1000000000L / limit);
+		return target;
+	}
+
+	private static void adjust() {
+		if (ModOptions.particleTargetFps > 0 && frames > 0) {
+			final long average = frameNanos / frames;
+			final long target = targetFrameNanos();
+			lastFrameMillis = average / 1000000.0F;
+
+			long particleNanos = 0;
+			for (final Budget b : budgets)
+				particleNanos += b.renderNanos;
+			particleNanos = Math.max(particleNanos, 1);
+
+			// Fraction of the particle render time that would have to go to
+			// get back to the target
+			final long overshoot = average - target;
+			final long particlePerFrame = particleNanos / frames;
+			final float excess = Math.min(1.0F, (float) overshoot / Math.max(particlePerFrame, 1));
+
+			final boolean over = average > target * OVER_THRESHOLD
+					&& particlePerFrame >= overshoot * MIN_OVERSHOOT_SHARE;
+			final boolean under = average < target * UNDER_THRESHOLD;
+
+			float weatherScale = 0.0F;
+			int weatherCount = 0;
+
+			for (final Budget b : budgets) {
+				if (over) {
+					final float share = (float) b.renderNanos / particleNanos;
+					b.cap = Math.max(MIN_CAP, (int) (b.cap * (1.0F - MAX_CUT * excess * share)));
+				} else if (under && b.peak >= b.cap * SATURATED) {
+					b.cap = Math.min(MAX_CAP, (int) (b.cap * GROWTH));
+				}
+
+				if (b.weather) {
+					weatherScale += (float) b.cap / DEFAULT_CAP;
+					weatherCount++;
+				}
+				b.reset();
+			}
+
+			if (weatherCount > 0)
+				spawnScale = MathHelper.clamp(weatherScale / weatherCount, MIN_SPAWN_SCALE, MAX_SPAWN_SCALE);
+		} else {
+			for (final Budget b : budgets)
+				b.reset();
+		}
+
+		frameNanos = 0;
+		frames = 0;
+	}
+
+	@SubscribeEvent
+	public static void diagnostics(@Nonnull final DiagnosticEvent.Gather event) {
+		if (ModOptions.particleTargetFps == 0) {
+			event.output.add("Particle Budget: FIXED");
+			return;
+		}
+
+		event.output.add(String.format("Particle Budget: %.1fms (target %.1fms), spawn x%.2f", lastFrameMillis,
+				targetFrameNanos() / 1000000.0F, spawnScale));
+		for (final Budget b : budgets)
+			event.output.add("  " + b.toString());
+	}
+
+}
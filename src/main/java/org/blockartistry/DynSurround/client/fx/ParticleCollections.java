@@ -31,13 +31,12 @@ import org.blockartistry.DynSurround.DSurround;
 import org.blockartistry.DynSurround.client.fx.particle.ParticleHelper;
 import org.blockartistry.DynSurround.client.fx.particle.mote.IParticleMote;
 import org.blockartistry.DynSurround.client.fx.particle.mote.MoteEmoji;
-import org.blockartistry.DynSurround.client.fx.particle.mote.MoteFootprint;
-import org.blockartistry.DynSurround.client.fx.particle.mote.MoteRainSplash;
-import org.blockartistry.DynSurround.client.fx.particle.mote.MoteWaterRipple;
+import org.blockartistry.DynSurround.client.fx.particle.mote.MotePool;
 import org.blockartistry.DynSurround.client.fx.particle.mote.MoteWaterSpray;
 import org.blockartistry.DynSurround.client.fx.particle.mote.ParticleCollection;
 import org.blockartistry.DynSurround.client.fx.particle.mote.ParticleCollectionFootprint;
 import org.blockartistry.DynSurround.client.fx.particle.mote.ParticleCollectionRipples;
+import org.blockartistry.DynSurround.client.fx.particle.mote.ParticleCollectionSprays;
 import org.blockartistry.DynSurround.client.handlers.EnvironStateHandler.EnvironState;
 
 import net.minecraft.entity.Entity;
@@ -49,31 +48,46 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 @SideOnly(Side.CLIENT)
 public final class ParticleCollections {
 
-	private static class CollectionHelper {
+	private static class CollectionHelper<T extends ParticleCollection> {
 
-		private final Class<? extends ParticleCollection> factory;
+		private final Class<T> factory;
 		private final ResourceLocation texture;
+		private final ParticleBudget.Budget budget;
 
-		private ParticleCollection collection;
+		private T collection;
+		// Mote storage is sized for the largest budget, so it is kept and
+		// handed to each new collection rather than being allocated again.
+		@Nullable
+		private MotePool pool;
 
-		public CollectionHelper(@Nonnull final ResourceLocation texture) {
-			this(ParticleCollection.class, texture);
-		}
-
-		public CollectionHelper(@Nonnull final Class<? extends ParticleCollection> clazz,
-				@Nonnull final ResourceLocation texture) {
+		public CollectionHelper(@Nonnull final String name, @Nonnull final Class<T> clazz,
+				@Nonnull final ResourceLocation texture, final boolean weather) {
 			this.texture = texture;
 			this.factory = clazz;
+			this.budget = ParticleBudget.register(name, weather);
 		}
 
-		public ParticleCollection get() {
+		public T get() {
 			if (this.collection == null || this.collection.shouldDie()) {
+				// The old collection may still be registered until its next
+				// update; make sure it lets go of the shared pool now.
+				if (this.collection != null)
+					this.collection.setExpired();
 				try {
-					this.collection = this.factory.getConstructor(World.class, ResourceLocation.class)
-							.newInstance(EnvironState.getWorld(), this.texture);
+					if (this.pool == null) {
+						this.collection = this.factory.getConstructor(World.class, ResourceLocation.class)
+								.newInstance(EnvironState.getWorld(), this.texture);
+						this.pool = this.collection.getPool();
+					} else {
+						this.pool.clear();
+						this.collection = this.factory
+								.getConstructor(World.class, ResourceLocation.class, MotePool.class)
+								.newInstance(EnvironState.getWorld(), this.texture, this.pool);
+					}
 				} catch (final Throwable t) {
 					throw new RuntimeException("Unknown ParticleCollection type!");
 				}
+				this.collection.setBudget(this.budget);
 				ParticleHelper.addParticle(this.collection);
 			}
 			return this.collection;
@@ -89,61 +103,49 @@ public final class ParticleCollections {
 	private static final ResourceLocation FOOTPRINT_TEXTURE = new ResourceLocation(DSurround.RESOURCE_ID,
 			"textures/particles/footprint.png");
 
-	private final static CollectionHelper theRipples = new CollectionHelper(ParticleCollectionRipples.class,
-			RIPPLE_TEXTURE);
-	private final static CollectionHelper theSprays = new CollectionHelper(SPRAY_TEXTURE);
-	private final static CollectionHelper theEmojis = new CollectionHelper(EMOJI_TEXTURE);
-	private final static CollectionHelper thePrints = new CollectionHelper(ParticleCollectionFootprint.class,
-			FOOTPRINT_TEXTURE);
+	private final static CollectionHelper<ParticleCollectionRipples> theRipples = new CollectionHelper<ParticleCollectionRipples>(
+			"Ripples", ParticleCollectionRipples.class, RIPPLE_TEXTURE, true);
+	private final static CollectionHelper<ParticleCollectionSprays> theSprays = new CollectionHelper<ParticleCollectionSprays>(
+			"Sprays", ParticleCollectionSprays.class, SPRAY_TEXTURE, true);
+	private final static CollectionHelper<ParticleCollection> theEmojis = new CollectionHelper<ParticleCollection>(
+			"Emojis", ParticleCollection.class, EMOJI_TEXTURE, false);
+	private final static CollectionHelper<ParticleCollectionFootprint> thePrints = new CollectionHelper<ParticleCollectionFootprint>(
+			"Footprints", ParticleCollectionFootprint.class, FOOTPRINT_TEXTURE, false);
 
-	@Nullable
-	public static IParticleMote addWaterRipple(@Nonnull final World world, final double x, final double y,
+	public static boolean addWaterRipple(@Nonnull final World world, final double x, final double y,
 			final double z) {
-		IParticleMote mote = null;
-		if (theRipples.get().canFit()) {
-			mote = new MoteWaterRipple(world, x, y, z);
-			theRipples.get().addParticle(mote);
-		}
-		return mote;
+		return theRipples.get().addRipple(x, y, z);
 	}
 
 	public static IParticleMote addWaterSpray(@Nonnull final World world, final double x, final double y,
 			final double z, final double dX, final double dY, final double dZ) {
 		IParticleMote mote = null;
-		if (theSprays.get().canFit()) {
+		final ParticleCollectionSprays sprays = theSprays.get();
+		if (sprays.canFit()) {
 			mote = new MoteWaterSpray(world, x, y, z, dX, dY, dZ);
-			theSprays.get().addParticle(mote);
+			sprays.addParticle(mote);
 		}
 		return mote;
 	}
 
-	public static IParticleMote addRainSplash(@Nonnull final World world, final double x, final double y,
+	public static boolean addRainSplash(@Nonnull final World world, final double x, final double y,
 			final double z) {
-		IParticleMote mote = null;
-		if (theSprays.get().canFit()) {
-			mote = new MoteRainSplash(world, x, y, z);
-			theSprays.get().addParticle(mote);
-		}
-		return mote;
+		return theSprays.get().addRainSplash(x, y, z);
 	}
 
 	public static IParticleMote addEmoji(@Nonnull final Entity entity) {
 		IParticleMote mote = null;
-		if (theEmojis.get().canFit()) {
+		final ParticleCollection emojis = theEmojis.get();
+		if (emojis.canFit()) {
 			mote = new MoteEmoji(entity);
-			theEmojis.get().addParticle(mote);
+			emojis.addParticle(mote);
 		}
 		return mote;
 	}
 
-	public static IParticleMote addFootprint(@Nonnull final World world, final double x, final double y, final double z,
+	public static boolean addFootprint(@Nonnull final World world, final double x, final double y, final double z,
 			final float rot, final boolean isRight) {
-		IParticleMote mote = null;
-		if (thePrints.get().canFit()) {
-			mote = new MoteFootprint(world, x, y, z, rot, isRight);
-			thePrints.get().addParticle(mote);
-		}
-		return mote;
+		return thePrints.get().addFootprint(x, y, z, rot, isRight);
 	}
 
 }
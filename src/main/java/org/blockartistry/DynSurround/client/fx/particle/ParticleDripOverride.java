@@ -125,7 +125,7 @@ public class ParticleDripOverride extends ParticleDrip {
 
 		final BlockPos pos = new BlockPos(this.posX, this.posY, this.posZ);
 		if (WorldUtils.isFullWaterBlock(this.world, pos)) {
-			if (ParticleCollections.addWaterRipple(this.world, this.posX, pos.getY() + 1, this.posZ) != null
+			if (ParticleCollections.addWaterRipple(this.world, this.posX, pos.getY() + 1, this.posZ)
 					&& this.materialType == Material.LAVA)
 				ParticleHelper.addParticle(
 						new ParticleSteamCloud(this.world, this.posX, pos.getY() + 1, this.posZ, 0.01D));
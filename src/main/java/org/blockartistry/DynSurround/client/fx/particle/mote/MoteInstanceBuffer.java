@@ -0,0 +1,173 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.blockartistry.DynSurround.client.fx.particle.mote;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+
+import org.lwjgl.BufferUtils;
+import org.lwjgl.opengl.GL11;
+
+import net.minecraft.client.renderer.GlStateManager;
+import net.minecraft.client.renderer.OpenGlHelper;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Collects per mote instance records for horizontal quads (footprints,
+ * ripples, etc.) and draws them with a single call. Each record holds the
+ * center, half extents, rotation, texture window, color and lightmap of the
+ * quad. The fixed function pipeline has no instancing so the records are
+ * expanded into a client side vertex array in one tight loop, which avoids
+ * the per-vertex format bookkeeping of VertexBuffer.
+ */
+@SideOnly(Side.CLIENT)
+public final class MoteInstanceBuffer {
+
+	// x, y, z, halfWidth, halfLength, cos, sin, u1, u2, v1, v2, r, g, b, a, sky, block
+	private static final int RECORD_SIZE = 17;
+
+	// Vertex layout: position 3F, color 4UB, texture 2F, lightmap 2S
+	private static final int STRIDE = 28;
+	private static final int VERTICES_PER_INSTANCE = 4;
+
+	private final int capacity;
+	private final FloatBuffer instances;
+	private final ByteBuffer vertices;
+	private int count;
+
+	public MoteInstanceBuffer(final int capacity) {
+		this.capacity = capacity;
+		this.instances = BufferUtils.createFloatBuffer(capacity * RECORD_SIZE);
+		this.vertices = BufferUtils.createByteBuffer(capacity * VERTICES_PER_INSTANCE * STRIDE);
+	}
+
+	public void begin() {
+		this.instances.clear();
+		this.count = 0;
+	}
+
+	public int size() {
+		return this.count;
+	}
+
+	public void add(final float x, final float y, final float z, final float halfWidth, final float halfLength,
+			final float cos, final float sin, final float u1, final float u2, final float v1, final float v2,
+			final float red, final float green, final float blue, final float alpha, final int skyLight,
+			final int blockLight) {
+
+		if (this.count == this.capacity)
+			draw();
+
+		this.instances.put(x).put(y).put(z).put(halfWidth).put(halfLength).put(cos).put(sin);
+		this.instances.put(u1).put(u2).put(v1).put(v2);
+		this.instances.put(red).put(green).put(blue).put(alpha);
+		this.instances.put(skyLight).put(blockLight);
+		this.count++;
+	}
+
+	private static byte toByte(final float v) {
+		return (byte) ((int) (v * 255.0F) & 255);
+	}
+
+	private void vertex(final float x, final float y, final float z, final float dx, final float dz, final float cos,
+			final float sin, final byte r, final byte g, final byte b, final byte a, final float u, final float v,
+			final short sky, final short block) {
+		this.vertices.putFloat(x + dx * cos + dz * sin).putFloat(y).putFloat(z + dz * cos - dx * sin);
+		this.vertices.put(r).put(g).put(b).put(a);
+		this.vertices.putFloat(u).putFloat(v);
+		this.vertices.putShort(sky).putShort(block);
+	}
+
+	private void expand() {
+		final FloatBuffer in = this.instances;
+		this.vertices.clear();
+		for (int i = 0, base = 0; i < this.count; i++, base += RECORD_SIZE) {
+			final float x = in.get(base);
+			final float y = in.get(base + 1);
+			final float z = in.get(base + 2);
+			final float hw = in.get(base + 3);
+			final float hl = in.get(base + 4);
+			final float cos = in.get(base + 5);
+			final float sin = in.get(base + 6);
+			final float u1 = in.get(base + 7);
+			final float u2 = in.get(base + 8);
+			final float v1 = in.get(base + 9);
+			final float v2 = in.get(base + 10);
+			final byte r = toByte(in.get(base + 11));
+			final byte g = toByte(in.get(base + 12));
+			final byte b = toByte(in.get(base + 13));
+			final byte a = toByte(in.get(base + 14));
+			final short sky = (short) in.get(base + 15);
+			final short block = (short) in.get(base + 16);
+
+			vertex(x, y, z, -hw, hl, cos, sin, r, g, b, a, u1, v2, sky, block);
+			vertex(x, y, z, hw, hl, cos, sin, r, g, b, a, u2, v2, sky, block);
+			vertex(x, y, z, hw, -hl, cos, sin, r, g, b, a, u2, v1, sky, block);
+			vertex(x, y, z, -hw, -hl, cos, sin, r, g, b, a, u1, v1, sky, block);
+		}
+		this.vertices.flip();
+	}
+
+	/**
+	 * Draws the collected instances. Texture and blend state are expected to
+	 * have been set up by the caller.
+	 */
+	public void draw() {
+		if (this.count == 0)
+			return;
+
+		expand();
+
+		final ByteBuffer buffer = this.vertices;
+		buffer.position(0);
+		GlStateManager.glVertexPointer(3, GL11.GL_FLOAT, STRIDE, buffer);
+		GlStateManager.glEnableClientState(GL11.GL_VERTEX_ARRAY);
+		buffer.position(12);
+		GlStateManager.glColorPointer(4, GL11.GL_UNSIGNED_BYTE, STRIDE, buffer);
+		GlStateManager.glEnableClientState(GL11.GL_COLOR_ARRAY);
+		buffer.position(16);
+		GlStateManager.glTexCoordPointer(2, GL11.GL_FLOAT, STRIDE, buffer);
+		GlStateManager.glEnableClientState(GL11.GL_TEXTURE_COORD_ARRAY);
+		buffer.position(24);
+		OpenGlHelper.setClientActiveTexture(OpenGlHelper.lightmapTexUnit);
+		GlStateManager.glTexCoordPointer(2, GL11.GL_SHORT, STRIDE, buffer);
+		GlStateManager.glEnableClientState(GL11.GL_TEXTURE_COORD_ARRAY);
+		OpenGlHelper.setClientActiveTexture(OpenGlHelper.defaultTexUnit);
+
+		GlStateManager.glDrawArrays(GL11.GL_QUADS, 0, this.count * VERTICES_PER_INSTANCE);
+
+		GlStateManager.glDisableClientState(GL11.GL_VERTEX_ARRAY);
+		GlStateManager.glDisableClientState(GL11.GL_COLOR_ARRAY);
+		GlStateManager.resetColor();
+		GlStateManager.glDisableClientState(GL11.GL_TEXTURE_COORD_ARRAY);
+		OpenGlHelper.setClientActiveTexture(OpenGlHelper.lightmapTexUnit);
+		GlStateManager.glDisableClientState(GL11.GL_TEXTURE_COORD_ARRAY);
+		OpenGlHelper.setClientActiveTexture(OpenGlHelper.defaultTexUnit);
+
+		buffer.clear();
+		begin();
+	}
+}
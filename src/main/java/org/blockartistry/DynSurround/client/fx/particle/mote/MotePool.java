@@ -0,0 +1,237 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.blockartistry.DynSurround.client.fx.particle.mote;
+
+import java.util.Random;
+
+import javax.annotation.Nonnull;
+
+import org.blockartistry.DynSurround.ModOptions;
+import org.blockartistry.lib.WorldUtils;
+import org.blockartistry.lib.random.XorShiftRandom;
+import org.lwjgl.opengl.GL11;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.Tessellator;
+import net.minecraft.client.renderer.VertexBuffer;
+import net.minecraft.client.renderer.entity.RenderManager;
+import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Structure-of-arrays storage for short lived motes. Each mote is an index
+ * into a set of parallel primitive arrays that are allocated once up front.
+ * Dead motes are removed by moving the last live mote into their slot so the
+ * live motes are always packed at the front of the arrays, and adding a mote
+ * never allocates.
+ */
+@SideOnly(Side.CLIENT)
+public abstract class MotePool {
+
+	protected static final Random RANDOM = XorShiftRandom.current();
+	protected static final RenderManager RENDERER = Minecraft.getMinecraft().getRenderManager();
+
+	// Shared by all pools; rendering happens on the client thread
+	private static MoteInstanceBuffer instances;
+
+	protected final int capacity;
+	protected int count;
+
+	protected final double[] posX;
+	protected final double[] posY;
+	protected final double[] posZ;
+	protected final int[] age;
+	protected final int[] maxAge;
+	protected final int[] skyLight;
+	protected final int[] blockLight;
+	protected final float[] alpha;
+
+	protected final BlockPos.MutableBlockPos scratch = new BlockPos.MutableBlockPos();
+
+	protected MotePool(final int capacity) {
+		this.capacity = capacity;
+		this.posX = new double[capacity];
+		this.posY = new double[capacity];
+		this.posZ = new double[capacity];
+		this.age = new int[capacity];
+		this.maxAge = new int[capacity];
+		this.skyLight = new int[capacity];
+		this.blockLight = new int[capacity];
+		this.alpha = new float[capacity];
+	}
+
+	public int size() {
+		return this.count;
+	}
+
+	public boolean canFit() {
+		return this.count < this.capacity;
+	}
+
+	/**
+	 * Claims the next free slot and initializes the common state. Returns -1
+	 * if the pool is full.
+	 */
+	protected int allocate(final double x, final double y, final double z, final int maxAge) {
+		if (this.count == this.capacity)
+			return -1;
+		final int idx = this.count++;
+		this.posX[idx] = x;
+		this.posY[idx] = y;
+		this.posZ[idx] = z;
+		this.age[idx] = 0;
+		this.maxAge[idx] = maxAge;
+		this.skyLight[idx] = 0;
+		this.blockLight[idx] = 0;
+		this.alpha[idx] = 1.0F;
+		return idx;
+	}
+
+	/**
+	 * Copies the state of one slot to another. Pools that add arrays need to
+	 * override and copy their own state as well.
+	 */
+	protected void copy(final int from, final int to) {
+		this.posX[to] = this.posX[from];
+		this.posY[to] = this.posY[from];
+		this.posZ[to] = this.posZ[from];
+		this.age[to] = this.age[from];
+		this.maxAge[to] = this.maxAge[from];
+		this.skyLight[to] = this.skyLight[from];
+		this.blockLight[to] = this.blockLight[from];
+		this.alpha[to] = this.alpha[from];
+	}
+
+	private void remove(final int idx) {
+		final int last = --this.count;
+		if (idx < last)
+			copy(last, idx);
+	}
+
+	protected boolean advanceAge(final int idx) {
+		return this.age[idx]++ >= this.maxAge[idx];
+	}
+
+	/**
+	 * Updates the mote in the slot. Return false if the mote died.
+	 */
+	protected abstract boolean update(@Nonnull final World world, final int idx);
+
+	/**
+	 * Ages and updates the mote in the slot and refreshes its lighting.
+	 * Returns false if the mote died.
+	 */
+	protected boolean tick(@Nonnull final World world, final int idx) {
+		if (advanceAge(idx))
+			return false;
+
+		this.scratch.setPos(this.posX[idx], this.posY[idx], this.posZ[idx]);
+		if (!WorldUtils.isChunkAvailable(world, this.scratch) || !update(world, idx))
+			return false;
+
+		this.scratch.setPos(this.posX[idx], this.posY[idx], this.posZ[idx]);
+		final int combinedLight = world.getCombinedLight(this.scratch, 0);
+		this.skyLight[idx] = combinedLight >> 16 & 65535;
+		this.blockLight[idx] = combinedLight & 65535;
+		return true;
+	}
+
+	public void update(@Nonnull final World world) {
+		for (int i = this.count - 1; i >= 0; i--) {
+			if (!tick(world, i))
+				remove(i);
+		}
+	}
+
+	protected float renderX(final int idx, final float partialTicks) {
+		return (float) (this.posX[idx] - RENDERER.viewerPosX);
+	}
+
+	protected float renderY(final int idx, final float partialTicks) {
+		return (float) (this.posY[idx] - RENDERER.viewerPosY);
+	}
+
+	protected float renderZ(final int idx, final float partialTicks) {
+		return (float) (this.posZ[idx] - RENDERER.viewerPosZ);
+	}
+
+	protected void drawVertex(@Nonnull final VertexBuffer buffer, final int idx, final double x, final double y,
+			final double z, final double u, final double v) {
+		buffer.pos(x, y, z).tex(u, v).color(1.0F, 1.0F, 1.0F, this.alpha[idx])
+				.lightmap(this.skyLight[idx], this.blockLight[idx]).endVertex();
+	}
+
+	/**
+	 * Flat motes can be described as a single instance record.
+	 */
+	protected boolean isFlat() {
+		return false;
+	}
+
+	protected void writeInstance(@Nonnull final MoteInstanceBuffer buffer, final int idx, final float partialTicks) {
+
+	}
+
+	protected abstract void renderMote(@Nonnull final VertexBuffer buffer, final int idx, final float partialTicks,
+			final float rotX, final float rotZ, final float rotYZ, final float rotXY, final float rotXZ);
+
+	/**
+	 * Renders the live motes. Texture and blend state are expected to have
+	 * been set up by the owning collection.
+	 */
+	public void render(@Nonnull final VertexBuffer buffer, final float partialTicks, final float rotX,
+			final float rotZ, final float rotYZ, final float rotXY, final float rotXZ) {
+
+		if (this.count == 0)
+			return;
+
+		if (ModOptions.enableInstancedMotes && isFlat()) {
+			final MoteInstanceBuffer instances = getInstanceBuffer();
+			instances.begin();
+			for (int i = 0; i < this.count; i++)
+				writeInstance(instances, i, partialTicks);
+			instances.draw();
+		} else {
+			buffer.begin(GL11.GL_QUADS, DefaultVertexFormats.PARTICLE_POSITION_TEX_COLOR_LMAP);
+			for (int i = 0; i < this.count; i++)
+				renderMote(buffer, i, partialTicks, rotX, rotZ, rotYZ, rotXY, rotXZ);
+			Tessellator.getInstance().draw();
+		}
+	}
+
+	@Nonnull
+	protected static MoteInstanceBuffer getInstanceBuffer() {
+		if (instances == null)
+			instances = new MoteInstanceBuffer(ParticleCollection.MAX_PARTICLES);
+		return instances;
+	}
+
+	public void clear() {
+		this.count = 0;
+	}
+}
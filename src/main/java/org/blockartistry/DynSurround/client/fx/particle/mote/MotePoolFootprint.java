@@ -0,0 +1,273 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.blockartistry.DynSurround.client.fx.particle.mote;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnull;
+
+import org.blockartistry.DynSurround.ModOptions;
+import org.blockartistry.DynSurround.client.weather.WeatherProperties;
+import org.blockartistry.lib.MathStuff;
+import org.blockartistry.lib.WorldUtils;
+
+import org.lwjgl.opengl.GL11;
+
+import net.minecraft.client.renderer.Tessellator;
+import net.minecraft.client.renderer.VertexBuffer;
+import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
+import net.minecraft.init.Blocks;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Footprints are kept in a ring rather than a packed pool. New prints go in
+ * at the head and, when the ring or the budget is full, the oldest print is
+ * overwritten so a print is never turned away. Prints that die early leave
+ * a hole that is skipped and reclaimed once it is the oldest slot.
+ */
+@SideOnly(Side.CLIENT)
+public class MotePoolFootprint extends MotePool {
+
+	// Basic layout of the footprint
+	private static final float WIDTH = 0.125F;
+	private static final float LENGTH = WIDTH * 2.0F;
+
+	// Micro Y adjuster to avoid z-fighting when rendering
+	// multiple overlapping prints.
+	private static float zFighter = 0F;
+
+	// Block the print was placed on; the print dies if it goes away
+	protected final int[] blockX;
+	protected final int[] blockY;
+	protected final int[] blockZ;
+	protected final boolean[] isSnowLayer;
+	protected final boolean[] isRight;
+	protected final float[] rotCos;
+	protected final float[] rotSin;
+
+	// Ring bookkeeping. The slots from oldest() up to head are in use; count
+	// is the number of those that still hold a live print.
+	protected final boolean[] live;
+	protected int head;
+	protected int used;
+
+	public MotePoolFootprint(final int capacity) {
+		super(capacity);
+		this.blockX = new int[capacity];
+		this.blockY = new int[capacity];
+		this.blockZ = new int[capacity];
+		this.isSnowLayer = new boolean[capacity];
+		this.isRight = new boolean[capacity];
+		this.rotCos = new float[capacity];
+		this.rotSin = new float[capacity];
+		this.live = new boolean[capacity];
+	}
+
+	private int oldest() {
+		final int idx = this.head - this.used;
+		return idx < 0 ? idx + this.capacity : idx;
+	}
+
+	// Releases dead slots at the old end of the ring
+	private void trim() {
+		while (this.used > 0 && !this.live[oldest()])
+			this.used--;
+	}
+
+	private void evictOldest() {
+		trim();
+		if (this.used > 0) {
+			this.live[oldest()] = false;
+			this.used--;
+			this.count--;
+			trim();
+		}
+	}
+
+	@Override
+	public boolean canFit() {
+		return true;
+	}
+
+	/**
+	 * Adds a print, overwriting the oldest ones so that no more than limit
+	 * prints are live.
+	 */
+	public void add(@Nonnull final World world, final double x, final double y, final double z,
+			final float rotation, final boolean isRight, final int limit) {
+		final int max = Math.max(limit, 1);
+		while (this.count >= max)
+			evictOldest();
+		if (this.used == this.capacity)
+			evictOldest();
+
+		final int idx = this.head;
+		if (++this.head == this.capacity)
+			this.head = 0;
+		this.used++;
+		this.count++;
+
+		this.live[idx] = true;
+		this.posX[idx] = x;
+		this.posY[idx] = y;
+		this.posZ[idx] = z;
+		this.age[idx] = 0;
+		this.maxAge[idx] = 200;
+		this.skyLight[idx] = 0;
+		this.blockLight[idx] = 0;
+		this.alpha[idx] = 1.0F;
+
+		if (++zFighter > 20)
+			zFighter = 1;
+
+		this.posY[idx] += zFighter * 0.001F;
+
+		// If the block is a snow layer block need to adjust the
+		// y up so the footprint rides on top.
+		this.scratch.setPos(x, y, z);
+		this.blockX[idx] = this.scratch.getX();
+		this.blockY[idx] = this.scratch.getY();
+		this.blockZ[idx] = this.scratch.getZ();
+		this.isSnowLayer[idx] = WorldUtils.getBlockState(world, this.scratch).getBlock() == Blocks.SNOW_LAYER;
+		if (this.isSnowLayer[idx])
+			this.posY[idx] += 0.125F;
+
+		this.isRight[idx] = isRight;
+
+		// Prints are static so the rotation is worked out once
+		final float theRotation = MathStuff.toRadians(-rotation + 180);
+		this.rotCos[idx] = MathStuff.cos(theRotation);
+		this.rotSin[idx] = MathStuff.sin(theRotation);
+	}
+
+	@Override
+	public void update(@Nonnull final World world) {
+		int idx = oldest();
+		for (int n = this.used; n > 0; n--) {
+			if (this.live[idx] && !tick(world, idx)) {
+				this.live[idx] = false;
+				this.count--;
+			}
+			if (++idx == this.capacity)
+				idx = 0;
+		}
+		trim();
+	}
+
+	@Override
+	public void render(@Nonnull final VertexBuffer buffer, final float partialTicks, final float rotX,
+			final float rotZ, final float rotYZ, final float rotXY, final float rotXZ) {
+
+		if (this.count == 0)
+			return;
+
+		// Oldest to newest so the newer prints draw on top
+		final int start = oldest();
+		if (ModOptions.enableInstancedMotes) {
+			final MoteInstanceBuffer instances = getInstanceBuffer();
+			instances.begin();
+			for (int n = this.used, idx = start; n > 0; n--, idx = idx + 1 == this.capacity ? 0 : idx + 1)
+				if (this.live[idx])
+					writeInstance(instances, idx, partialTicks);
+			instances.draw();
+		} else {
+			buffer.begin(GL11.GL_QUADS, DefaultVertexFormats.PARTICLE_POSITION_TEX_COLOR_LMAP);
+			for (int n = this.used, idx = start; n > 0; n--, idx = idx + 1 == this.capacity ? 0 : idx + 1)
+				if (this.live[idx])
+					renderMote(buffer, idx, partialTicks, rotX, rotZ, rotYZ, rotXY, rotXZ);
+			Tessellator.getInstance().draw();
+		}
+	}
+
+	@Override
+	public void clear() {
+		super.clear();
+		this.head = 0;
+		this.used = 0;
+		Arrays.fill(this.live, false);
+	}
+
+	@Override
+	protected boolean advanceAge(final int idx) {
+		// Footprints age faster when raining
+		if (WeatherProperties.isRaining())
+			this.age[idx] += (WeatherProperties.getIntensityLevel() * 100F) / 25;
+		return super.advanceAge(idx);
+	}
+
+	@Override
+	protected boolean update(@Nonnull final World world, final int idx) {
+		final int x = this.blockX[idx];
+		final int y = this.blockY[idx];
+		final int z = this.blockZ[idx];
+		if (!WorldUtils.isSolidBlock(world, x, y - 1, z))
+			return false;
+		return !this.isSnowLayer[idx] || WorldUtils.getBlockState(world, x, y, z).getBlock() == Blocks.SNOW_LAYER;
+	}
+
+	private void updateAlpha(final int idx, final float partialTicks) {
+		float f = ((float) this.age[idx] + partialTicks) / ((float) this.maxAge[idx] + 1);
+		f = f * f;
+		this.alpha[idx] = MathStuff.clamp(1.0F - f, 0F, 1F) * 0.4F;
+	}
+
+	@Override
+	protected boolean isFlat() {
+		return true;
+	}
+
+	@Override
+	protected void writeInstance(@Nonnull final MoteInstanceBuffer buffer, final int idx, final float partialTicks) {
+		updateAlpha(idx, partialTicks);
+		final float texU1 = this.isRight[idx] ? 0.5F : 0F;
+		buffer.add(renderX(idx, partialTicks), renderY(idx, partialTicks), renderZ(idx, partialTicks), WIDTH, LENGTH,
+				this.rotCos[idx], this.rotSin[idx], texU1, texU1 + 0.5F, 0.0F, 1.0F, 1.0F, 1.0F, 1.0F,
+				this.alpha[idx], this.skyLight[idx], this.blockLight[idx]);
+	}
+
+	@Override
+	protected void renderMote(@Nonnull final VertexBuffer buffer, final int idx, final float partialTicks,
+			final float rotX, final float rotZ, final float rotYZ, final float rotXY, final float rotXZ) {
+
+		updateAlpha(idx, partialTicks);
+
+		final float x = renderX(idx, partialTicks);
+		final float y = renderY(idx, partialTicks);
+		final float z = renderZ(idx, partialTicks);
+		final float cos = this.rotCos[idx];
+		final float sin = this.rotSin[idx];
+		final float texU1 = this.isRight[idx] ? 0.5F : 0F;
+		final float texU2 = texU1 + 0.5F;
+
+		// Corners rotated the same way as MathStuff.rotate()
+		drawVertex(buffer, idx, x - WIDTH * cos + LENGTH * sin, y, z + LENGTH * cos + WIDTH * sin, texU1, 1.0F);
+		drawVertex(buffer, idx, x + WIDTH * cos + LENGTH * sin, y, z + LENGTH * cos - WIDTH * sin, texU2, 1.0F);
+		drawVertex(buffer, idx, x + WIDTH * cos - LENGTH * sin, y, z - LENGTH * cos - WIDTH * sin, texU2, 0.0F);
+		drawVertex(buffer, idx, x - WIDTH * cos - LENGTH * sin, y, z - LENGTH * cos + WIDTH * sin, texU1, 0.0F);
+	}
+
+}
@@ -0,0 +1,174 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.blockartistry.DynSurround.client.fx.particle.mote;
+
+import javax.annotation.Nonnull;
+
+import org.blockartistry.lib.WorldUtils;
+
+import net.minecraft.client.renderer.VertexBuffer;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Rain splash motes. Motion follows MoteMotionBase and the rendering is the
+ * same camera facing quad as MoteWaterSpray.
+ */
+@SideOnly(Side.CLIENT)
+public class MotePoolRainSplash extends MotePool {
+
+	private static final double GRAVITY = 0.06D;
+	private static final float DRAG = 0.98F;
+
+	protected final double[] prevX;
+	protected final double[] prevY;
+	protected final double[] prevZ;
+	protected final float[] motionX;
+	protected final float[] motionY;
+	protected final float[] motionZ;
+	protected final float[] size;
+	protected final byte[] textureIdx;
+
+	public MotePoolRainSplash(final int capacity) {
+		super(capacity);
+		this.prevX = new double[capacity];
+		this.prevY = new double[capacity];
+		this.prevZ = new double[capacity];
+		this.motionX = new float[capacity];
+		this.motionY = new float[capacity];
+		this.motionZ = new float[capacity];
+		this.size = new float[capacity];
+		this.textureIdx = new byte[capacity];
+	}
+
+	public boolean add(final double x, final double y, final double z) {
+		final int idx = allocate(x, y, z, (int) (8.0D / (RANDOM.nextDouble() * 0.8D + 0.2D)));
+		if (idx < 0)
+			return false;
+
+		this.prevX[idx] = x;
+		this.prevY[idx] = y;
+		this.prevZ[idx] = z;
+
+		// Tweak the constant to change the size of the raindrop
+		this.size[idx] = 0.07F * (RANDOM.nextFloat() * 0.5F + 0.5F) * 2.0F;
+		this.textureIdx[idx] = (byte) RANDOM.nextInt(4);
+
+		// Setup motion
+		double mX = (RANDOM.nextDouble() * 2.0D - 1.0D) * 0.4000000059604645D;
+		double mY = (RANDOM.nextDouble() * 2.0D - 1.0D) * 0.4000000059604645D;
+		double mZ = (RANDOM.nextDouble() * 2.0D - 1.0D) * 0.4000000059604645D;
+		final float f = (float) (RANDOM.nextDouble() + RANDOM.nextDouble() + 1.0D) * 0.15F;
+		final float f1 = MathHelper.sqrt(mX * mX + mY * mY + mZ * mZ);
+		mX = mX / (double) f1 * (double) f * 0.4000000059604645D;
+		mZ = mZ / (double) f1 * (double) f * 0.4000000059604645D;
+
+		this.motionX[idx] = (float) (mX * 0.30000001192092896D);
+		this.motionY[idx] = (float) (RANDOM.nextDouble() * 0.20000000298023224D + 0.10000000149011612D);
+		this.motionZ[idx] = (float) (mZ * 0.30000001192092896D);
+		return true;
+	}
+
+	@Override
+	protected void copy(final int from, final int to) {
+		super.copy(from, to);
+		this.prevX[to] = this.prevX[from];
+		this.prevY[to] = this.prevY[from];
+		this.prevZ[to] = this.prevZ[from];
+		this.motionX[to] = this.motionX[from];
+		this.motionY[to] = this.motionY[from];
+		this.motionZ[to] = this.motionZ[from];
+		this.size[to] = this.size[from];
+		this.textureIdx[to] = this.textureIdx[from];
+	}
+
+	@Override
+	protected boolean update(@Nonnull final World world, final int idx) {
+		this.prevX[idx] = this.posX[idx];
+		this.prevY[idx] = this.posY[idx];
+		this.prevZ[idx] = this.posZ[idx];
+		this.motionY[idx] -= GRAVITY;
+
+		this.posX[idx] += this.motionX[idx];
+		this.posY[idx] += this.motionY[idx];
+		this.posZ[idx] += this.motionZ[idx];
+
+		this.scratch.setPos(this.posX[idx], this.posY[idx], this.posZ[idx]);
+		if (WorldUtils.isSolidBlock(world, this.scratch))
+			return false;
+
+		this.motionX[idx] *= DRAG;
+		this.motionY[idx] *= DRAG;
+		this.motionZ[idx] *= DRAG;
+		return true;
+	}
+
+	@Override
+	protected float renderX(final int idx, final float partialTicks) {
+		return (float) (this.prevX[idx] + (this.posX[idx] - this.prevX[idx]) * (double) partialTicks
+				- RENDERER.viewerPosX);
+	}
+
+	@Override
+	protected float renderY(final int idx, final float partialTicks) {
+		return (float) (this.prevY[idx] + (this.posY[idx] - this.prevY[idx]) * (double) partialTicks
+				- RENDERER.viewerPosY);
+	}
+
+	@Override
+	protected float renderZ(final int idx, final float partialTicks) {
+		return (float) (this.prevZ[idx] + (this.posZ[idx] - this.prevZ[idx]) * (double) partialTicks
+				- RENDERER.viewerPosZ);
+	}
+
+	@Override
+	protected void renderMote(@Nonnull final VertexBuffer buffer, final int idx, final float partialTicks,
+			final float rotationX, final float rotationZ, final float rotationYZ, final float rotationXY,
+			final float rotationXZ) {
+
+		final float x = renderX(idx, partialTicks);
+		final float y = renderY(idx, partialTicks);
+		final float z = renderZ(idx, partialTicks);
+		final float f4 = this.size[idx];
+
+		final int texIdx = this.textureIdx[idx];
+		final float texU1 = (texIdx % 2) * 0.5F;
+		final float texU2 = texU1 + 0.5F;
+		final float texV1 = (texIdx / 2) * 0.5F;
+		final float texV2 = texV1 + 0.5F;
+
+		drawVertex(buffer, idx, x + (-rotationX * f4 - rotationXY * f4), y + (-rotationZ * f4),
+				z + (-rotationYZ * f4 - rotationXZ * f4), texU2, texV2);
+		drawVertex(buffer, idx, x + (-rotationX * f4 + rotationXY * f4), y + (rotationZ * f4),
+				z + (-rotationYZ * f4 + rotationXZ * f4), texU2, texV1);
+		drawVertex(buffer, idx, x + (rotationX * f4 + rotationXY * f4), y + (rotationZ * f4),
+				z + (rotationYZ * f4 + rotationXZ * f4), texU1, texV1);
+		drawVertex(buffer, idx, x + (rotationX * f4 - rotationXY * f4), y + (-rotationZ * f4),
+				z + (rotationYZ * f4 - rotationXZ * f4), texU1, texV2);
+	}
+
+}
@@ -0,0 +1,100 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.blockartistry.DynSurround.client.fx.particle.mote;
+
+import javax.annotation.Nonnull;
+
+import net.minecraft.client.renderer.VertexBuffer;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+@SideOnly(Side.CLIENT)
+public class MotePoolRipple extends MotePool {
+
+	private static final float TEX_SIZE_HALF = 0.5F;
+
+	protected final float[] growthRate;
+	protected final float[] scaledWidth;
+
+	public MotePoolRipple(final int capacity) {
+		super(capacity);
+		this.growthRate = new float[capacity];
+		this.scaledWidth = new float[capacity];
+	}
+
+	public boolean add(final double x, final double y, final double z) {
+		final int maxAge = 12 + RANDOM.nextInt(8);
+		final int idx = allocate(x, y - 0.2D, z, maxAge);
+		if (idx < 0)
+			return false;
+		this.growthRate[idx] = maxAge / 500F;
+		this.scaledWidth[idx] = this.growthRate[idx] * TEX_SIZE_HALF;
+		return true;
+	}
+
+	@Override
+	protected void copy(final int from, final int to) {
+		super.copy(from, to);
+		this.growthRate[to] = this.growthRate[from];
+		this.scaledWidth[to] = this.scaledWidth[from];
+	}
+
+	@Override
+	protected boolean update(@Nonnull final World world, final int idx) {
+		this.scaledWidth[idx] += this.growthRate[idx] * TEX_SIZE_HALF;
+		this.alpha[idx] = (float) (this.maxAge[idx] - this.age[idx]) / (float) (this.maxAge[idx] + 3);
+		return true;
+	}
+
+	@Override
+	protected boolean isFlat() {
+		return true;
+	}
+
+	@Override
+	protected void writeInstance(@Nonnull final MoteInstanceBuffer buffer, final int idx, final float partialTicks) {
+		final float width = this.scaledWidth[idx];
+		buffer.add(renderX(idx, partialTicks), renderY(idx, partialTicks), renderZ(idx, partialTicks), width, width,
+				1.0F, 0.0F, 0.0F, 1.0F, 0.0F, 1.0F, 1.0F, 1.0F, 1.0F, this.alpha[idx], this.skyLight[idx],
+				this.blockLight[idx]);
+	}
+
+	@Override
+	protected void renderMote(@Nonnull final VertexBuffer buffer, final int idx, final float partialTicks,
+			final float rotX, final float rotZ, final float rotYZ, final float rotXY, final float rotXZ) {
+
+		final float x = renderX(idx, partialTicks);
+		final float y = renderY(idx, partialTicks);
+		final float z = renderZ(idx, partialTicks);
+		final float width = this.scaledWidth[idx];
+
+		drawVertex(buffer, idx, -width + x, y, width + z, 0, 1);
+		drawVertex(buffer, idx, width + x, y, width + z, 1, 1);
+		drawVertex(buffer, idx, width + x, y, -width + z, 1, 0);
+		drawVertex(buffer, idx, -width + x, y, -width + z, 0, 0);
+	}
+
+}
@@ -25,7 +25,9 @@
 package org.blockartistry.DynSurround.client.fx.particle.mote;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
+import org.blockartistry.DynSurround.client.fx.ParticleBudget;
 import org.blockartistry.DynSurround.client.handlers.EnvironStateHandler.EnvironState;
 import org.blockartistry.lib.collections.ObjectArray;
 import org.lwjgl.opengl.GL11;
@@ -45,25 +47,55 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 @SideOnly(Side.CLIENT)
 public class ParticleCollection extends Particle {
 
-	protected static final int MAX_PARTICLES = 4000;
+	// Hard limit for storage; the usable cap comes from the budget
+	protected static final int MAX_PARTICLES = ParticleBudget.MAX_CAP;
 	protected static final int ALLOCATION_SIZE = 1024;
 
 	protected final ObjectArray<IParticleMote> myParticles = new ObjectArray<IParticleMote>(ALLOCATION_SIZE);
 	protected final ResourceLocation texture;
 
+	// Storage for the high volume motes; null if the collection only holds
+	// mote objects.
+	protected final MotePool pool;
+
+	protected ParticleBudget.Budget budget;
+
 	public ParticleCollection(@Nonnull final World world, @Nonnull final ResourceLocation tex) {
+		this(world, tex, null);
+	}
+
+	public ParticleCollection(@Nonnull final World world, @Nonnull final ResourceLocation tex,
+			@Nullable final MotePool pool) {
 		super(world, 0, 0, 0);
 
 		this.canCollide = false;
 		this.texture = tex;
+		this.pool = pool;
 	}
 
 	protected void bindTexture(@Nonnull final ResourceLocation resource) {
 		Minecraft.getMinecraft().getTextureManager().bindTexture(resource);
 	}
 	
+	@Nullable
+	public MotePool getPool() {
+		return this.pool;
+	}
+
+	public int size() {
+		return this.pool == null ? this.myParticles.size() : this.myParticles.size() + this.pool.size();
+	}
+
+	public void setBudget(@Nullable final ParticleBudget.Budget budget) {
+		this.budget = budget;
+	}
+
+	public int getCap() {
+		return this.budget == null ? ParticleBudget.DEFAULT_CAP : this.budget.getCap();
+	}
+
 	public boolean canFit() {
-		return this.myParticles.size() < MAX_PARTICLES;
+		return this.size() < this.getCap();
 	}
 
 	public boolean addParticle(@Nonnull final IParticleMote mote) {
@@ -76,7 +108,7 @@ public class ParticleCollection extends Particle {
 	}
 
 	public boolean shouldDie() {
-		return this.myParticles.size() == 0 || this.world != EnvironState.getWorld();
+		return this.size() == 0 || this.world != EnvironState.getWorld();
 	}
 
 	@Override
@@ -86,6 +118,8 @@ public class ParticleCollection extends Particle {
 
 		// Update state and remove the dead ones
 		this.myParticles.removeIf(IParticleMote.UPDATE_REMOVE);
+		if (this.pool != null)
+			this.pool.update(this.world);
 
 		if (this.shouldDie()) {
 			this.setExpired();
@@ -105,15 +139,30 @@ public class ParticleCollection extends Particle {
 	public void renderParticle(final VertexBuffer buffer, final Entity entityIn, final float partialTicks,
 			final float rotX, final float rotZ, final float rotYZ, final float rotXY, final float rotXZ) {
 
+		// A replacement collection may have taken over the pool
+		if (!this.isAlive())
+			return;
+
+		final long start = System.nanoTime();
+
 		this.bindTexture(this.texture);
 		this.preRender();
 
-		buffer.begin(GL11.GL_QUADS, getVertexFormat());
-		for(int i = 0; i < this.myParticles.size(); i++)
-			this.myParticles.get(i).renderParticle(buffer, entityIn, partialTicks, rotX, rotZ, rotYZ, rotXY, rotXZ);
-		Tessellator.getInstance().draw();
+		if (this.myParticles.size() > 0) {
+			buffer.begin(GL11.GL_QUADS, getVertexFormat());
+			for (int i = 0; i < this.myParticles.size(); i++)
+				this.myParticles.get(i).renderParticle(buffer, entityIn, partialTicks, rotX, rotZ, rotYZ, rotXY,
+						rotXZ);
+			Tessellator.getInstance().draw();
+		}
+
+		if (this.pool != null)
+			this.pool.render(buffer, partialTicks, rotX, rotZ, rotYZ, rotXY, rotXZ);
 
 		this.postRender();
+
+		if (this.budget != null)
+			this.budget.recordRender(System.nanoTime() - start, this.size());
 	}
 
 	protected void postRender() {
@@ -74,8 +74,22 @@ public class ParticleCollectionFootprint extends ParticleCollection {
 	}
 
 	public ParticleCollectionFootprint(@Nonnull final World world, @Nonnull final ResourceLocation tex) {
-		super(world, tex);
+		this(world, tex, new MotePoolFootprint(MAX_PARTICLES));
+	}
+
+	public ParticleCollectionFootprint(@Nonnull final World world, @Nonnull final ResourceLocation tex,
+			@Nonnull final MotePool pool) {
+		super(world, tex, pool);
+	}
 
+	/**
+	 * Adds a print. When the collection is at its cap the oldest print is
+	 * overwritten, so this always succeeds.
+	 */
+	public boolean addFootprint(final double x, final double y, final double z, final float rot,
+			final boolean isRight) {
+		((MotePoolFootprint) this.pool).add(this.world, x, y, z, rot, isRight, this.getCap());
+		return true;
 	}
 
 	protected void bindTexture(@Nonnull final ResourceLocation resource) {
@@ -35,7 +35,16 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 public class ParticleCollectionRipples extends ParticleCollection {
 
 	public ParticleCollectionRipples(@Nonnull final World world, @Nonnull final ResourceLocation tex) {
-		super(world, tex);
+		this(world, tex, new MotePoolRipple(MAX_PARTICLES));
+	}
+
+	public ParticleCollectionRipples(@Nonnull final World world, @Nonnull final ResourceLocation tex,
+			@Nonnull final MotePool pool) {
+		super(world, tex, pool);
+	}
+
+	public boolean addRipple(final double x, final double y, final double z) {
+		return this.canFit() && ((MotePoolRipple) this.pool).add(x, y, z);
 	}
 
 	@Override
@@ -43,6 +43,7 @@ public abstract class ParticleJet extends ParticleSystem {
 
 	protected final int particleMaxAge;
 	protected int particleAge;
+	protected boolean spawnPending;
 
 	public ParticleJet(final int strength, final World world, final double x, final double y, final double z) {
 		this(0, strength, world, x, y, z, 3);
@@ -77,10 +78,18 @@ public abstract class ParticleJet extends ParticleSystem {
 
 		// Check to see if a particle needs to be generated
 		if (this.particleAge % this.updateFrequency == 0) {
-			spawnJetParticle();
+			this.spawnPending = true;
 		}
 
 		// Grow older
 		this.particleAge++;
 	}
+
+	@Override
+	protected void spawn() {
+		if (this.spawnPending) {
+			this.spawnPending = false;
+			spawnJetParticle();
+		}
+	}
 }
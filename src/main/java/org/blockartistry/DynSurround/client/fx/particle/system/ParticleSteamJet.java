@@ -26,7 +26,6 @@ package org.blockartistry.DynSurround.client.fx.particle.system;
 
 import org.blockartistry.DynSurround.client.fx.SteamJetEffect;
 import org.blockartistry.DynSurround.client.fx.particle.ParticleSteamCloud;
-import org.blockartistry.lib.WorldUtils;
 
 import net.minecraft.client.particle.Particle;
 import net.minecraft.world.World;
@@ -42,7 +41,7 @@ public class ParticleSteamJet extends ParticleJet {
 
 	@Override
 	public boolean shouldDie() {
-		return !SteamJetEffect.isValidSpawnBlock(WorldUtils.getDefaultBlockStateProvider(), this.getPos());
+		return !SteamJetEffect.isValidSpawnBlock(getBlockStateProvider(), this.getPos());
 	}
 
 	@Override
@@ -30,6 +30,7 @@ import javax.annotation.Nonnull;
 import org.blockartistry.DynSurround.client.fx.particle.ParticleHelper;
 import org.blockartistry.DynSurround.client.fx.particle.ParticleMoteAdapter;
 import org.blockartistry.DynSurround.client.fx.particle.mote.IParticleMote;
+import org.blockartistry.lib.BlockStateProvider;
 import org.blockartistry.lib.collections.ObjectArray;
 import org.blockartistry.lib.random.XorShiftRandom;
 
@@ -48,6 +49,15 @@ public abstract class ParticleSystem {
 	protected static final GameSettings SETTINGS = Minecraft.getMinecraft().gameSettings;
 	protected static final int ALLOCATION_SIZE = 8;
 
+	// Systems may be updated off the client thread so each thread gets its
+	// own provider.
+	private static final ThreadLocal<BlockStateProvider> PROVIDERS = new ThreadLocal<BlockStateProvider>() {
+		@Override
+		protected BlockStateProvider initialValue() {
+			return new BlockStateProvider();
+		}
+	};
+
 	protected final World world;
 	protected final double posX;
 	protected final double posY;
@@ -56,6 +66,7 @@ public abstract class ParticleSystem {
 	protected ObjectArray<IParticleMote> myParticles = new ObjectArray<IParticleMote>(ALLOCATION_SIZE);
 	protected int particleLimit;
 	protected boolean isAlive = true;
+	protected boolean isDying = false;
 
 	protected ParticleSystem(final World worldIn, final double posXIn, final double posYIn, final double posZIn) {
 		this.world = worldIn;
@@ -66,6 +77,11 @@ public abstract class ParticleSystem {
 		this.setParticleLimit(6);
 	}
 
+	@Nonnull
+	protected BlockStateProvider getBlockStateProvider() {
+		return PROVIDERS.get().setWorld(this.world);
+	}
+
 	@Nonnull
 	public BlockPos getPos() {
 		return this.position;
@@ -145,22 +161,50 @@ public abstract class ParticleSystem {
 	 * have to be ticked.
 	 */
 	public void onUpdate() {
+		this.update();
+		this.postUpdate();
+	}
+
+	/*
+	 * First half of the update. Only touches the state of this system so it
+	 * can be run off the client thread alongside other systems.
+	 */
+	public void update() {
 		if (this.shouldDie()) {
-			this.setExpired();
+			this.isDying = true;
 			return;
 		}
 
 		// Let the system mull over what it wants to do
 		this.think();
 
-		if (this.isAlive()) {
-			
-			// Remove the dead ones
-			this.myParticles.removeIf(IParticleMote.IS_DEAD);
-			
-			// Update any sounds
-			this.soundUpdate();
+		// Remove the dead ones
+		this.myParticles.removeIf(IParticleMote.IS_DEAD);
+	}
+
+	/*
+	 * Second half of the update. Always run on the client thread because
+	 * spawning particles and sounds touch shared state.
+	 */
+	public void postUpdate() {
+		if (this.isDying) {
+			this.setExpired();
+			return;
 		}
+
+		this.spawn();
+
+		// Update any sounds
+		if (this.isAlive())
+			this.soundUpdate();
+	}
+
+	/*
+	 * Override to spawn the particles that think() decided on. Will be invoked
+	 * on the client thread.
+	 */
+	protected void spawn() {
+
 	}
 
 	/*
@@ -173,8 +217,9 @@ public abstract class ParticleSystem {
 
 	/*
 	 * Override to provide some sort of intelligence to the system. The logic
-	 * can do things like add new particles, remove old ones, update positions,
-	 * etc. Will be invoked during the systems onUpdate() call.
+	 * can do things like decide on new particles, update positions, etc. Will
+	 * be invoked during the systems update() call, possibly off the client
+	 * thread, so it must only touch the system's own state.
 	 */
 	public abstract void think();
 
@@ -66,7 +66,7 @@ public class ParticleWaterSplash extends ParticleJet {
 
 	@Override
 	public boolean shouldDie() {
-		return !WaterSplashJetEffect.isValidSpawnBlock(WorldUtils.getDefaultBlockStateProvider(), this.getPos());
+		return !WaterSplashJetEffect.isValidSpawnBlock(getBlockStateProvider(), this.getPos());
 	}
 
 	private boolean setupSound() {
@@ -33,6 +33,7 @@ import javax.annotation.Nonnull;
 import org.blockartistry.DynSurround.ModOptions;
 import org.blockartistry.DynSurround.client.handlers.EnvironStateHandler.EnvironState;
 import org.blockartistry.DynSurround.client.handlers.scanners.AlwaysOnBlockEffectScanner;
+import org.blockartistry.DynSurround.client.handlers.scanners.BiomeField;
 import org.blockartistry.DynSurround.client.handlers.scanners.RandomBlockEffectScanner;
 import org.blockartistry.DynSurround.registry.BiomeInfo;
 import org.blockartistry.DynSurround.registry.BiomeRegistry;
@@ -66,7 +67,6 @@ public final class AreaSurveyHandler extends EffectHandlerBase {
 	private static int biomeArea;
 	private static final TObjectIntCustomHashMap<BiomeInfo> weights = new TObjectIntCustomHashMap<BiomeInfo>(
 			IdentityHashingStrategy.INSTANCE);
-	private static final BlockPos.MutableBlockPos mutable = new BlockPos.MutableBlockPos();
 
 	// "Finger print" of the last area survey.
 	private static BiomeInfo surveyedBiome = null;
@@ -138,15 +138,8 @@ public final class AreaSurveyHandler extends EffectHandlerBase {
 			biomeArea = 1;
 			weights.put(EnvironState.getPlayerBiome(), 1);
 		} else {
-			final World world = EnvironState.getWorld();
-
-			for (int dX = -BIOME_SURVEY_RANGE; dX <= BIOME_SURVEY_RANGE; dX++)
-				for (int dZ = -BIOME_SURVEY_RANGE; dZ <= BIOME_SURVEY_RANGE; dZ++) {
-					biomeArea++;
-					mutable.setPos(surveyedPosition.getX() + dX, surveyedPosition.getY(), surveyedPosition.getZ() + dZ);
-					final BiomeInfo biome = this.registry.get(world.getBiome(mutable));
-					weights.adjustOrPutValue(biome, 1, 1);
-				}
+			biomeArea = BiomeField.survey(EnvironState.getWorld(), surveyedPosition.getX(), surveyedPosition.getZ(),
+					BIOME_SURVEY_RANGE, weights);
 		}
 	}
 
@@ -39,6 +39,8 @@ import org.blockartistry.DynSurround.client.event.DiagnosticEvent;
 import org.blockartistry.DynSurround.client.event.ServerDataEvent;
 import org.blockartistry.DynSurround.client.handlers.scanners.BattleScanner;
 import org.blockartistry.DynSurround.client.weather.WeatherProperties;
+import org.blockartistry.DynSurround.network.Network;
+import org.blockartistry.DynSurround.network.PacketServerDataSubscribe;
 import org.blockartistry.DynSurround.registry.ArmorClass;
 import org.blockartistry.DynSurround.registry.BiomeInfo;
 import org.blockartistry.DynSurround.registry.BiomeRegistry;
@@ -55,7 +57,6 @@ import org.blockartistry.lib.PlayerUtils;
 
 import com.google.common.collect.ImmutableList;
 
-import gnu.trove.procedure.TIntDoubleProcedure;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.entity.EntityPlayerSP;
 import net.minecraft.entity.Entity;
@@ -83,6 +84,9 @@ public class EnvironStateHandler extends EffectHandlerBase {
 	// TPS status strings to display
 	private List<String> serverDataReport = ImmutableList.of();
 
+	// Whether the server has been asked to send server data
+	private boolean serverDataSubscribed = false;
+
 	public static class EnvironState {
 
 		// State that is gathered from the various sources
@@ -404,6 +408,16 @@ public class EnvironStateHandler extends EffectHandlerBase {
 		} else {
 			this.diagnostics = null;
 		}
+
+		// Only ask the server for its stats while the debug screen is up
+		final boolean wantServerData = Minecraft.getMinecraft().gameSettings.showDebugInfo
+				&& DSurround.isInstalledOnServer();
+		if (wantServerData != this.serverDataSubscribed) {
+			this.serverDataSubscribed = wantServerData;
+			Network.sendToServer(new PacketServerDataSubscribe(wantServerData));
+			if (!wantServerData)
+				this.serverDataReport = null;
+		}
 	}
 
 	/**
@@ -442,6 +456,7 @@ public class EnvironStateHandler extends EffectHandlerBase {
 	public void onConnect() {
 		this.diagnostics = null;
 		this.serverDataReport = null;
+		this.serverDataSubscribed = false;
 		EnvironState.reset();
 	}
 
@@ -449,6 +464,7 @@ public class EnvironStateHandler extends EffectHandlerBase {
 	public void onDisconnect() {
 		this.diagnostics = null;
 		this.serverDataReport = null;
+		this.serverDataSubscribed = false;
 		EnvironState.reset();
 	}
 
@@ -496,21 +512,22 @@ public class EnvironStateHandler extends EffectHandlerBase {
 		data.add(TextFormatting.GOLD + "Server Information");
 		data.add(String.format("Mem: %d%% %03d/%3dMB", diff * 100 / event.max, diff, event.max));
 		data.add(String.format("Allocated: %d%% %3dMB", event.total * 100 / event.max, event.total));
-		final int tps = (int) Math.min(1000.0D / event.meanTickTime, 20.0D);
-		data.add(String.format("Ticktime Overall:%s %5.3fms (%d TPS)", getTpsFormatPrefix(tps), event.meanTickTime,
-				tps));
-		event.dimTps.forEachEntry(new TIntDoubleProcedure() {
-			@Override
-			public boolean execute(int a, double b) {
-				final String dimName = DimensionManager.getProviderType(a).getName();
-				final int tps = (int) Math.min(1000.0D / b, 20.0D);
-				data.add(String.format("%s (%d):%s %7.3fms (%d TPS)", dimName, a, getTpsFormatPrefix(tps), b, tps));
-				return true;
-			}
-
-		});
-
-		Collections.sort(data.subList(4, data.size()));
+		final float meanTickTime = event.getServerStat(ServerDataEvent.MEAN);
+		final int tps = (int) Math.min(1000.0D / meanTickTime, 20.0D);
+		data.add(String.format("Ticktime Overall:%s %5.3fms (%d TPS) p95 %.2fms p99 %.2fms", getTpsFormatPrefix(tps),
+				meanTickTime, tps, event.getServerStat(ServerDataEvent.P95), event.getServerStat(ServerDataEvent.P99)));
+		data.add(String.format("Emoji AI: %.1f evals/tick (%.1f tasks)", event.emojiEvals, event.emojiTicks));
+		for (int i = 0; i < event.dims.length; i++) {
+			final int dimId = event.dims[i];
+			final String dimName = DimensionManager.getProviderType(dimId).getName();
+			final float mean = event.getDimensionStat(i, ServerDataEvent.MEAN);
+			final int dimTps = (int) Math.min(1000.0D / mean, 20.0D);
+			data.add(String.format("%s (%d):%s %7.3fms (%d TPS) p50 %.2f p95 %.2f p99 %.2f", dimName, dimId,
+					getTpsFormatPrefix(dimTps), mean, dimTps, event.getDimensionStat(i, ServerDataEvent.P50),
+					event.getDimensionStat(i, ServerDataEvent.P95), event.getDimensionStat(i, ServerDataEvent.P99)));
+		}
+
+		Collections.sort(data.subList(5, data.size()));
 		this.serverDataReport = data;
 	}
 
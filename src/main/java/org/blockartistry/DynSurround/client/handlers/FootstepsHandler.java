@@ -38,10 +38,11 @@ import org.blockartistry.DynSurround.registry.RegistryManager.RegistryType;
 import org.blockartistry.lib.WorldUtils;
 
 import net.minecraft.block.state.IBlockState;
+import net.minecraft.client.audio.ISound;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.World;
+import net.minecraftforge.client.event.sound.PlaySoundEvent;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
@@ -73,12 +74,23 @@ public class FootstepsHandler extends EffectHandlerBase {
 
 	}
 
+	/*
+	 * Mobs tracked by the footstep engine already make their own steps so
+	 * the vanilla step sound sent by the server is dropped.
+	 */
+	@SubscribeEvent
+	public void onPlaySound(@Nonnull final PlaySoundEvent event) {
+		final ISound sound = event.getResultSound();
+		if (sound != null && this.footsteps.getFootstepEngine().isTrackedMobStep(event.getName(),
+				sound.getCategory(), sound.getXPosF(), sound.getYPosF(), sound.getZPosF()))
+			event.setResultSound(null);
+	}
+
 	@SubscribeEvent
 	public void onDisplayFootstep(@Nonnull final FootstepEvent.Display event) {
 		if (ModOptions.enableFootprints) {
-			final Vec3d stepLoc = event.location;
-			ParticleCollections.addFootprint(EnvironState.getWorld(), stepLoc.xCoord, stepLoc.yCoord, stepLoc.zCoord,
-					event.rotation, event.isRightFoot);
+			ParticleCollections.addFootprint(EnvironState.getWorld(), event.getX(), event.getY(), event.getZ(),
+					event.getRotation(), event.isRightFoot());
 		}
 
 	}
@@ -24,6 +24,10 @@
 
 package org.blockartistry.DynSurround.client.handlers;
 
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 import javax.annotation.Nonnull;
 
 import org.blockartistry.DynSurround.ModOptions;
@@ -48,8 +52,43 @@ public class ParticleSystemHandler extends EffectHandlerBase {
 
 	public static ParticleSystemHandler INSTANCE;
 
+	// Minimum number of systems before it is worth going parallel, and the
+	// number of systems a single task will update.
+	private static final int PARALLEL_THRESHOLD = 64;
+	private static final int TASK_SIZE = 16;
+
 	private final TLongObjectHashMap<ParticleSystem> systems = new TLongObjectHashMap<ParticleSystem>();
 
+	// Systems being updated this tick, in iteration order
+	private ParticleSystem[] work = new ParticleSystem[PARALLEL_THRESHOLD];
+	private int workCount;
+
+	private static final class UpdateTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final ParticleSystem[] work;
+		private final int start;
+		private final int end;
+
+		public UpdateTask(@Nonnull final ParticleSystem[] work, final int start, final int end) {
+			this.work = work;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.end - this.start <= TASK_SIZE) {
+				for (int i = this.start; i < this.end; i++)
+					this.work[i].update();
+			} else {
+				final int mid = (this.start + this.end) >>> 1;
+				invokeAll(new UpdateTask(this.work, this.start, mid), new UpdateTask(this.work, mid, this.end));
+			}
+		}
+	}
+
 	public ParticleSystemHandler() {
 		super("ParticleSystemHandler");
 		INSTANCE = this;
@@ -65,21 +104,44 @@ public class ParticleSystemHandler extends EffectHandlerBase {
 		final BlockPos min = EnvironState.getPlayerPosition().add(-range, -range, -range);
 		final BlockPos max = EnvironState.getPlayerPosition().add(range, range, range);
 
+		// Expire the ones out of range and gather up the rest
+		this.workCount = 0;
 		final TLongObjectIterator<ParticleSystem> itr = this.systems.iterator();
 		while (itr.hasNext()) {
 			itr.advance();
 
-			// If it is out of range expire, else update
-			if (!BlockPosHelper.contains(itr.value().getPos(), min, max)) {
-				itr.value().setExpired();
+			final ParticleSystem system = itr.value();
+			if (!BlockPosHelper.contains(system.getPos(), min, max)) {
+				system.setExpired();
+				itr.remove();
 			} else {
-				itr.value().onUpdate();
+				if (this.workCount == this.work.length)
+					this.work = Arrays.copyOf(this.work, this.work.length * 2);
+				this.work[this.workCount++] = system;
 			}
+		}
+
+		// Systems only touch their own state during update() so they can be
+		// done in parallel.
+		if (ModOptions.parallelParticleSystems && this.workCount >= PARALLEL_THRESHOLD) {
+			ForkJoinPool.commonPool().invoke(new UpdateTask(this.work, 0, this.workCount));
+		} else {
+			for (int i = 0; i < this.workCount; i++)
+				this.work[i].update();
+		}
+
+		// Spawns, sounds, and removals are applied on this thread in
+		// iteration order so the result does not depend on scheduling.
+		for (int i = 0; i < this.workCount; i++) {
+			final ParticleSystem system = this.work[i];
+			this.work[i] = null;
+			system.postUpdate();
 
 			// If it's dead remove from the list
-			if (!itr.value().isAlive())
-				itr.remove();
+			if (!system.isAlive())
+				this.systems.remove(system.getPos().toLong());
 		}
+		this.workCount = 0;
 	}
 
 	@Override
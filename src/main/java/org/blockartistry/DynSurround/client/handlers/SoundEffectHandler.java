@@ -26,6 +26,7 @@ package org.blockartistry.DynSurround.client.handlers;
 
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -47,9 +48,10 @@ import org.blockartistry.DynSurround.client.sound.SoundState;
 import org.blockartistry.DynSurround.client.sound.Sounds;
 import org.blockartistry.DynSurround.network.Network;
 import org.blockartistry.DynSurround.network.PacketPlaySound;
+import org.blockartistry.lib.TimeUtils;
 import org.blockartistry.lib.collections.ObjectArray;
+import org.blockartistry.lib.collections.TimingWheel;
 
-import com.google.common.base.Predicate;
 import gnu.trove.iterator.TObjectFloatIterator;
 import gnu.trove.map.hash.TObjectFloatHashMap;
 import net.minecraft.client.audio.ISound;
@@ -66,26 +68,27 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 public class SoundEffectHandler extends EffectHandlerBase {
 
 	private static final int AGE_THRESHOLD_TICKS = 10;
+	private static final long MILLIS_PER_TICK = 50;
+
+	// Delayed sounds are kept on a timing wheel with 5 msec slots. Three
+	// levels cover a bit over 20 minutes before items are re-parked.
+	private static final long WHEEL_RESOLUTION = 5;
+	private static final int WHEEL_LEVELS = 3;
+
 	public static final SoundEffectHandler INSTANCE = new SoundEffectHandler();
 
-	private static final Predicate<PendingSound> PENDING_SOUNDS = new Predicate<PendingSound>() {
-		@Override
-		public boolean apply(final PendingSound input) {
-			if (input.getTickAge() >= AGE_THRESHOLD_TICKS) {
-				input.getSound().setState(SoundState.ERROR);
-				return true;
-			}
-			if (input.getTickAge() >= 0) {
-				return INSTANCE.playSound(input.getSound()) != null;
-			}
-			return false;
-		}
-	};
+	/**
+	 * A sound waiting on the delayed dispatch wheel. Returning false from
+	 * dispatch() puts the sound back on the wheel to be retried next tick.
+	 */
+	public static interface IDelayedSound {
+		boolean dispatch(final long now);
+	}
 
 	/*
 	 * Used to track sound in the PENDING list.
 	 */
-	private final static class PendingSound {
+	private final static class PendingSound implements IDelayedSound {
 
 		private final int timeMark;
 		private final BasicSound<?> sound;
@@ -102,10 +105,34 @@ public class SoundEffectHandler extends EffectHandlerBase {
 		public BasicSound<?> getSound() {
 			return this.sound;
 		}
+
+		@Override
+		public boolean dispatch(final long now) {
+			if (getTickAge() >= AGE_THRESHOLD_TICKS) {
+				this.sound.setState(SoundState.ERROR);
+				return true;
+			}
+			return getTickAge() >= 0 && INSTANCE.playSound(this.sound) != null;
+		}
+
+		@Override
+		public String toString() {
+			return (getTickAge() < 0 ? "DELAYED: " : "PENDING: ") + this.sound.toString();
+		}
 	}
 
+	private final TimingWheel.Handler<IDelayedSound> dispatcher = new TimingWheel.Handler<IDelayedSound>() {
+		@Override
+		public void accept(@Nonnull final IDelayedSound sound, final long deadline) {
+			final long now = TimeUtils.currentTimeMillis();
+			if (!sound.dispatch(now))
+				SoundEffectHandler.this.pending.schedule(sound, now, MILLIS_PER_TICK);
+		}
+	};
+
 	private final Map<SoundEffect, Emitter> emitters = new HashMap<SoundEffect, Emitter>();
-	private final ObjectArray<PendingSound> pending = new ObjectArray<PendingSound>();
+	private final TimingWheel<IDelayedSound> pending = new TimingWheel<IDelayedSound>(WHEEL_RESOLUTION,
+			WHEEL_LEVELS);
 	private final ObjectArray<BasicSound<?>> sendToServer = new ObjectArray<BasicSound<?>>();
 
 	private SoundEffectHandler() {
@@ -118,8 +145,7 @@ public class SoundEffectHandler extends EffectHandlerBase {
 		for (final Emitter emitter : this.emitters.values())
 			emitter.update();
 
-		if (this.pending.size() > 0)
-			this.pending.removeIf(PENDING_SOUNDS);
+		this.pending.advance(TimeUtils.currentTimeMillis(), this.dispatcher);
 
 		// Flush out cached sounds
 		if (this.sendToServer.size() > 0) {
@@ -235,10 +261,18 @@ public class SoundEffectHandler extends EffectHandlerBase {
 			return playSound(s);
 
 		s.setState(SoundState.DELAYED);
-		this.pending.add(new PendingSound(s, tickDelay));
+		schedule(new PendingSound(s, tickDelay), tickDelay * MILLIS_PER_TICK);
 		return null;
 	}
 
+	/**
+	 * Queues a sound to be dispatched once the delay, in msecs, has passed.
+	 * Dispatch happens during the client tick.
+	 */
+	public void schedule(@Nonnull final IDelayedSound sound, final long delay) {
+		this.pending.schedule(sound, TimeUtils.currentTimeMillis(), delay);
+	}
+
 	@SubscribeEvent
 	public void onDistributedSound(@Nonnull final PlayDistributedSoundEvent event) {
 		try {
@@ -281,8 +315,13 @@ public class SoundEffectHandler extends EffectHandlerBase {
 
 		for (final Emitter effect : this.emitters.values())
 			event.output.add("EMITTER: " + effect.toString());
-		for (final PendingSound effect : this.pending)
-			event.output.add((effect.getTickAge() < 0 ? "DELAYED: " : "PENDING: ") + effect.getSound().toString());
+		final List<String> output = event.output;
+		this.pending.forEach(new TimingWheel.Handler<IDelayedSound>() {
+			@Override
+			public void accept(@Nonnull final IDelayedSound sound, final long deadline) {
+				output.add(sound.toString());
+			}
+		});
 	}
 
 }
@@ -30,7 +30,6 @@ import org.blockartistry.DynSurround.ModOptions;
 import org.blockartistry.DynSurround.client.handlers.EnvironStateHandler.EnvironState;
 import org.blockartistry.DynSurround.client.weather.WeatherProperties;
 import org.blockartistry.DynSurround.registry.BiomeInfo;
-import org.blockartistry.DynSurround.registry.BiomeRegistry;
 import org.blockartistry.DynSurround.registry.DimensionRegistry;
 import org.blockartistry.DynSurround.registry.RegistryManager;
 import org.blockartistry.DynSurround.registry.RegistryManager.RegistryType;
@@ -55,27 +54,47 @@ public class AreaFogScanner implements ITickable {
 
 	private static final int HAZE_THRESHOLD = 15;
 	private static final int RANGE = 10;
-	private static final double AREA = (RANGE * 2 + 1) * (RANGE * 2 + 1);
+	private static final int SIZE = RANGE * 2 + 1;
+	private static final double AREA = SIZE * SIZE;
 
 	private static final Color OVERWORLD_FOG_COLOR = new Color(0.7529412F, 0.84705883F, 1.0F);
 	private static final Color NETHER_FOG_COLOR = new Color(0.20000000298023224D, 0.029999999329447746D,
 			0.029999999329447746D);
 	private static final Color END_FOG_COLOR = new Color(0.627451F * 0.15F, 0.5019608F * 0.15F, 0.627451F * 0.15F);
 
-	private final BiomeRegistry biomes = RegistryManager.get(RegistryType.BIOME);
 	private final DimensionRegistry dimensions = RegistryManager.get(RegistryType.DIMENSION);
-	private final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+
+	// Biomes in the area around the player. Indexed by world coordinates
+	// modulo the window size so moving only touches the cells that change.
+	private final BiomeInfo[] window = new BiomeInfo[SIZE * SIZE];
+	private boolean scanned = false;
 
 	private BlockPos lastPos = BlockPos.ORIGIN;
 	private int lastDim = 0;
 	private float lastIntensity = 0;
-	private BiomeInfo lastBiome = null;
+	private float lastRainStrength = 0;
+	private float lastHeightFog = 0;
+	private boolean biomeFog;
+	private boolean desertFog;
+	private float biomeFogFactor;
+	private float desertFogFactor;
+	private float worldRed;
+	private float worldGreen;
+	private float worldBlue;
+
+	// Running sums of the contributions of the cells in the window
+	private double sumRed;
+	private double sumGreen;
+	private double sumBlue;
+	private double sumFog;
 
 	private float biomeWeight;
 	private float weightDefault;
-	private Color blendedColor;
 	private float fogDensity;
 
+	// Returned from getFogColor() to avoid per frame allocation
+	private final Color fogColor = new Color(0, 0, 0);
+
 	private float planeDistanceScale;
 
 	public AreaFogScanner() {
@@ -115,37 +134,92 @@ public class AreaFogScanner implements ITickable {
 		return OVERWORLD_FOG_COLOR;
 	}
 
-	@Nonnull
-	private Color worldFogColor(@Nonnull final World world, final float partialTicks) {
-		if (world == null)
-			return OVERWORLD_FOG_COLOR;
+	private int slot(final int x, final int z) {
+		return Math.floorMod(x, SIZE) * SIZE + Math.floorMod(z, SIZE);
+	}
 
-		final Vec3d colors = world.getFogColor(partialTicks);
-		return colors == null ? baseWorldFogColor(world) : new Color(colors);
+	/*
+	 * Adds (sign 1) or removes (sign -1) the contribution of a biome to the
+	 * accumulators.
+	 */
+	private void accumulate(@Nonnull final BiomeInfo biome, final float sign) {
+		float red = this.worldRed;
+		float green = this.worldGreen;
+		float blue = this.worldBlue;
+		float fog = 0F;
+		if (this.biomeFog && biome.getHasFog()) {
+			final Color c = biome.getFogColor();
+			red = c.red;
+			green = c.green;
+			blue = c.blue;
+			fog = (biome.getFogDensity() * 0.4F + 0.5F) * this.biomeFogFactor;
+		} else if (this.desertFog && biome.getHasDust() && this.lastIntensity > 0) {
+			final Color c = biome.getDustColor();
+			final float scaleDefault = 1F - this.lastRainStrength;
+			red = c.red * this.lastRainStrength + this.worldRed * scaleDefault;
+			green = c.green * this.lastRainStrength + this.worldGreen * scaleDefault;
+			blue = c.blue * this.lastRainStrength + this.worldBlue * scaleDefault;
+			fog = (float) (this.lastIntensity * 0.5F + 0.4F) * this.desertFogFactor * this.lastRainStrength;
+		}
+
+		this.sumRed += red * sign;
+		this.sumGreen += green * sign;
+		this.sumBlue += blue * sign;
+		this.sumFog += (1 - Math.max(this.lastHeightFog, fog)) * sign;
+	}
+
+	private void lookup(@Nonnull final World world, final int x, final int z) {
+		this.window[slot(x, z)] = BiomeField.getBiome(world, x, z);
+	}
+
+	/*
+	 * Looks up every biome in the window.
+	 */
+	private void scan(@Nonnull final World world, @Nonnull final BlockPos center) {
+		for (int x = center.getX() - RANGE; x <= center.getX() + RANGE; x++)
+			for (int z = center.getZ() - RANGE; z <= center.getZ() + RANGE; z++)
+				lookup(world, x, z);
+	}
+
+	/*
+	 * Recomputes the accumulators from the cached biomes.
+	 */
+	private void resum() {
+		this.sumRed = this.sumGreen = this.sumBlue = this.sumFog = 0;
+		for (final BiomeInfo biome : this.window)
+			accumulate(biome, 1F);
+	}
+
+	/*
+	 * Slides the window from the old center to the new one. Cells that enter
+	 * the window reuse the slot of the cell that left, so the leaving cell is
+	 * subtracted and the entering one added.
+	 */
+	private void slide(@Nonnull final World world, @Nonnull final BlockPos from, @Nonnull final BlockPos to) {
+		final int oldMinX = from.getX() - RANGE;
+		final int oldMaxX = from.getX() + RANGE;
+		final int oldMinZ = from.getZ() - RANGE;
+		final int oldMaxZ = from.getZ() + RANGE;
+
+		for (int x = to.getX() - RANGE; x <= to.getX() + RANGE; x++) {
+			final boolean newColumn = x < oldMinX || x > oldMaxX;
+			for (int z = to.getZ() - RANGE; z <= to.getZ() + RANGE; z++) {
+				if (newColumn || z < oldMinZ || z > oldMaxZ) {
+					accumulate(this.window[slot(x, z)], -1F);
+					lookup(world, x, z);
+					accumulate(this.window[slot(x, z)], 1F);
+				}
+			}
+		}
 	}
 
 	@Override
 	public void update() {
 
 		final BlockPos playerPos = EnvironState.getPlayerPosition();
-		if (this.lastPos.equals(playerPos) && this.lastDim == EnvironState.getDimensionId()
-				&& this.lastIntensity == WeatherProperties.getIntensityLevel()
-				&& this.lastBiome == EnvironState.getPlayerBiome())
-			return;
-
-		this.lastPos = playerPos;
-		this.lastDim = EnvironState.getDimensionId();
-		this.lastIntensity = WeatherProperties.getIntensityLevel();
-		this.lastBiome = EnvironState.getPlayerBiome();
-
 		final World world = EnvironState.getWorld();
+		final float intensity = WeatherProperties.getIntensityLevel();
 		final float rainStrength = world.getRainStrength(1.0F);
-		final Color worldFogColor = baseWorldFogColor(world);
-		final Color scaledDefaultFogColor = Color.scale(worldFogColor, 1F - rainStrength);
-
-		this.blendedColor = new Color(0, 0, 0);
-		this.fogDensity = 0;
-		this.biomeWeight = 0;
 
 		float heightFog = 0;
 		if (ModOptions.enableElevationHaze && this.dimensions.hasHaze(world)) {
@@ -153,28 +227,55 @@ public class AreaFogScanner implements ITickable {
 					: calcHazeGradient(world, EnvironState.getPlayer());
 		}
 
-		for (int dX = -RANGE; dX <= RANGE; dX++)
-			for (int dZ = -RANGE; dZ <= RANGE; dZ++) {
-				this.pos.setPos(playerPos.getX() + dX, playerPos.getY(), playerPos.getZ() + dZ);
-				final BiomeInfo biome = this.biomes.get(world.getBiome(pos));
-				final Color theColor;
-				float fog = 0F;
-				if (ModOptions.enableBiomeFog && biome.getHasFog()) {
-					theColor = biome.getFogColor();
-					fog = (biome.getFogDensity() * 0.4F + 0.5F) * ModOptions.biomeFogFactor;
-				} else if (ModOptions.allowDesertFog && biome.getHasDust() && this.lastIntensity > 0) {
-					theColor = Color.scale(biome.getDustColor(), rainStrength).add(scaledDefaultFogColor);
-					fog = (float) (this.lastIntensity * 0.5F + 0.4F) * ModOptions.desertFogFactor * rainStrength;
-				} else {
-					theColor = worldFogColor;
-				}
+		final Color worldFogColor = baseWorldFogColor(world);
 
-				this.fogDensity += 1 - Math.max(heightFog, fog);
-				this.biomeWeight++;
-				this.blendedColor.add(theColor);
-			}
+		final boolean sameArea = this.scanned && this.lastDim == EnvironState.getDimensionId();
+		final boolean sameParameters = this.lastIntensity == intensity && this.lastRainStrength == rainStrength
+				&& this.lastHeightFog == heightFog && this.biomeFog == ModOptions.enableBiomeFog
+				&& this.desertFog == ModOptions.allowDesertFog && this.biomeFogFactor == ModOptions.biomeFogFactor
+				&& this.desertFogFactor == ModOptions.desertFogFactor && this.worldRed == worldFogColor.red
+				&& this.worldGreen == worldFogColor.green && this.worldBlue == worldFogColor.blue;
+
+		if (sameArea && sameParameters && this.lastPos.equals(playerPos))
+			return;
 
-		this.weightDefault = (float) (AREA - this.biomeWeight);
+		final BlockPos from = this.lastPos;
+		this.lastPos = playerPos;
+		this.lastDim = EnvironState.getDimensionId();
+
+		if (!sameParameters) {
+			this.lastIntensity = intensity;
+			this.lastRainStrength = rainStrength;
+			this.lastHeightFog = heightFog;
+			this.biomeFog = ModOptions.enableBiomeFog;
+			this.desertFog = ModOptions.allowDesertFog;
+			this.biomeFogFactor = ModOptions.biomeFogFactor;
+			this.desertFogFactor = ModOptions.desertFogFactor;
+			this.worldRed = worldFogColor.red;
+			this.worldGreen = worldFogColor.green;
+			this.worldBlue = worldFogColor.blue;
+		}
+
+		final boolean canSlide = sameArea && Math.abs(playerPos.getX() - from.getX()) <= RANGE
+				&& Math.abs(playerPos.getZ() - from.getZ()) <= RANGE;
+
+		if (!canSlide) {
+			scan(world, playerPos);
+			resum();
+		} else if (!sameParameters) {
+			// Parameters affect every cell so the sums have to be redone, but
+			// only the cells that entered need a lookup.
+			if (!from.equals(playerPos))
+				slide(world, from, playerPos);
+			resum();
+		} else {
+			slide(world, from, playerPos);
+		}
+
+		this.scanned = true;
+		this.fogDensity = (float) this.sumFog;
+		this.biomeWeight = (float) AREA;
+		this.weightDefault = 0;
 
 		final float fpDistanceBiomeFogAvg = (this.biomeWeight == 0) ? 0 : this.fogDensity / this.biomeWeight;
 		final float farPlaneDistanceScaleBiome = (0.1f * (1 - fpDistanceBiomeFogAvg) + 0.75f * fpDistanceBiomeFogAvg);
@@ -195,10 +296,20 @@ public class AreaFogScanner implements ITickable {
 	@Nonnull
 	public Color getFogColor(@Nonnull final World world, final float partialTick) {
 
-		final Color defaultFogColor = worldFogColor(world, partialTick);
+		if (world == null)
+			return OVERWORLD_FOG_COLOR;
 
-		if (this.blendedColor == null || this.biomeWeight == 0)
-			return defaultFogColor;
+		// The world color is only needed until the first scan has been done.
+		// Asking for it allocates a Vec3d so it is not looked up otherwise.
+		if (this.biomeWeight == 0) {
+			final Vec3d worldColor = world.getFogColor(partialTick);
+			if (worldColor == null)
+				return baseWorldFogColor(world);
+			this.fogColor.red = (float) worldColor.xCoord;
+			this.fogColor.green = (float) worldColor.yCoord;
+			this.fogColor.blue = (float) worldColor.zCoord;
+			return this.fogColor;
+		}
 
 		final int dimId = world.provider.getDimension();
 
@@ -242,9 +353,9 @@ public class AreaFogScanner implements ITickable {
 		// Normalize the blended color components based on the biome weight.
 		// The components contain a summation of all the fog components
 		// in the area around the player.
-		float r = (float) (this.blendedColor.red * scaleRed / this.biomeWeight);
-		float g = (float) (this.blendedColor.green * scaleGreen / this.biomeWeight);
-		float b = (float) (this.blendedColor.blue * scaleBlue / this.biomeWeight);
+		float r = (float) (this.sumRed * scaleRed / this.biomeWeight);
+		float g = (float) (this.sumGreen * scaleGreen / this.biomeWeight);
+		float b = (float) (this.sumBlue * scaleBlue / this.biomeWeight);
 
 		// Darken the fog a bit based on the player's Y
 		final EntityPlayer player = EnvironState.getPlayer();
@@ -295,12 +406,12 @@ public class AreaFogScanner implements ITickable {
 
 		// Mix the blended color with the existing fog color based on the
 		// areas they occupy.
-		r = (float) ((r * this.biomeWeight + defaultFogColor.red * this.weightDefault) / AREA);
-		g = (float) ((g * this.biomeWeight + defaultFogColor.green * this.weightDefault) / AREA);
-		b = (float) ((b * this.biomeWeight + defaultFogColor.blue * this.weightDefault) / AREA);
+		this.fogColor.red = (float) ((r * this.biomeWeight + defaultRed * this.weightDefault) / AREA);
+		this.fogColor.green = (float) ((g * this.biomeWeight + defaultGreen * this.weightDefault) / AREA);
+		this.fogColor.blue = (float) ((b * this.biomeWeight + defaultBlue * this.weightDefault) / AREA);
 
 		// Cook it!
-		return new Color(r, g, b);
+		return this.fogColor;
 	}
 
 	@Override
@@ -0,0 +1,174 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.blockartistry.DynSurround.client.handlers.scanners;
+
+import javax.annotation.Nonnull;
+
+import org.blockartistry.DynSurround.DSurround;
+import org.blockartistry.DynSurround.client.event.RegistryEvent;
+import org.blockartistry.DynSurround.registry.BiomeInfo;
+import org.blockartistry.DynSurround.registry.BiomeRegistry;
+import org.blockartistry.DynSurround.registry.RegistryManager;
+import org.blockartistry.DynSurround.registry.RegistryManager.RegistryType;
+
+import gnu.trove.map.custom_hash.TObjectIntCustomHashMap;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.biome.BiomeProvider;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Client side cache of the BiomeInfo for the columns around the player.
+ * Storage is a toroidal grid of chunks indexed by chunk X/Z. A chunk is
+ * resolved in one pass from its biome array the first time one of its
+ * columns is asked about, and is kept until the chunk reloads, the world
+ * changes, or the registries reload. The fog scanner, area survey, and the
+ * precipitation column cache all pull their biomes from here.
+ */
+@SideOnly(Side.CLIENT)
+@Mod.EventBusSubscriber(value = Side.CLIENT, modid = DSurround.MOD_ID)
+public final class BiomeField {
+
+	// Grid is 16x16 chunks which covers the largest precipitation range
+	private static final int SIZE_BITS = 4;
+	private static final int SIZE = 1 << SIZE_BITS;
+	private static final int MASK = SIZE - 1;
+
+	private static final int INVALID = Integer.MIN_VALUE;
+
+	private static final BiomeRegistry biomes = RegistryManager.get(RegistryType.BIOME);
+
+	private static final int[] chunkX = new int[SIZE * SIZE];
+	private static final int[] chunkZ = new int[SIZE * SIZE];
+	private static final BiomeInfo[] biome = new BiomeInfo[SIZE * SIZE * 256];
+
+	private static final BlockPos.MutableBlockPos mutable = new BlockPos.MutableBlockPos();
+
+	private static World currentWorld;
+
+	static {
+		invalidateAll();
+	}
+
+	private BiomeField() {
+
+	}
+
+	private static int slot(final int cX, final int cZ) {
+		return ((cZ & MASK) << SIZE_BITS) | (cX & MASK);
+	}
+
+	private static void invalidateAll() {
+		for (int i = 0; i < chunkX.length; i++)
+			chunkX[i] = INVALID;
+	}
+
+	private static boolean resolve(@Nonnull final World world, final int slot, final int cX, final int cZ) {
+		final Chunk chunk = world.getChunkProvider().getLoadedChunk(cX, cZ);
+		if (chunk == null)
+			return false;
+
+		final BiomeProvider provider = world.getBiomeProvider();
+		final int baseX = cX << 4;
+		final int baseZ = cZ << 4;
+		final int base = slot << 8;
+		for (int z = 0; z < 16; z++)
+			for (int x = 0; x < 16; x++) {
+				mutable.setPos(baseX + x, 0, baseZ + z);
+				biome[base | (z << 4) | x] = biomes.get(chunk.getBiome(mutable, provider));
+			}
+		chunkX[slot] = cX;
+		chunkZ[slot] = cZ;
+		return true;
+	}
+
+	/**
+	 * Returns the BiomeInfo of the column at the specified location.
+	 */
+	@Nonnull
+	public static BiomeInfo getBiome(@Nonnull final World world, final int x, final int z) {
+		if (world != currentWorld) {
+			currentWorld = world;
+			invalidateAll();
+		}
+		final int cX = x >> 4;
+		final int cZ = z >> 4;
+		final int slot = slot(cX, cZ);
+		if ((chunkX[slot] != cX || chunkZ[slot] != cZ) && !resolve(world, slot, cX, cZ)) {
+			// Chunk isn't loaded so there is nothing to cache
+			mutable.setPos(x, 0, z);
+			return biomes.get(world.getBiome(mutable));
+		}
+		return biome[(slot << 8) | ((z & 15) << 4) | (x & 15)];
+	}
+
+	/**
+	 * Counts the biomes in the square window of the specified range centered
+	 * on X/Z, adding the counts to the weight map. Returns the number of
+	 * columns in the window.
+	 */
+	public static int survey(@Nonnull final World world, final int centerX, final int centerZ, final int range,
+			@Nonnull final TObjectIntCustomHashMap<BiomeInfo> weights) {
+		int area = 0;
+		for (int x = centerX - range; x <= centerX + range; x++)
+			for (int z = centerZ - range; z <= centerZ + range; z++) {
+				weights.adjustOrPutValue(getBiome(world, x, z), 1, 1);
+				area++;
+			}
+		return area;
+	}
+
+	@SubscribeEvent
+	public static void onWorldUnload(@Nonnull final WorldEvent.Unload event) {
+		if (event.getWorld() == currentWorld) {
+			currentWorld = null;
+			invalidateAll();
+		}
+	}
+
+	@SubscribeEvent
+	public static void onChunkLoad(@Nonnull final ChunkEvent.Load event) {
+		if (!event.getWorld().isRemote)
+			return;
+		final int cX = event.getChunk().xPosition;
+		final int cZ = event.getChunk().zPosition;
+		final int slot = slot(cX, cZ);
+		if (chunkX[slot] == cX && chunkZ[slot] == cZ)
+			chunkX[slot] = INVALID;
+	}
+
+	@SubscribeEvent
+	public static void onRegistryReload(@Nonnull final RegistryEvent.Reload event) {
+		if (event.getSide() == Side.CLIENT)
+			invalidateAll();
+	}
+
+}
@@ -26,7 +26,6 @@ package org.blockartistry.DynSurround.client.sound;
 
 import javax.annotation.Nonnull;
 
-import org.blockartistry.DynSurround.DSurround;
 import org.blockartistry.DynSurround.ModOptions;
 
 import net.minecraft.entity.Entity;
@@ -57,7 +56,6 @@ public class FootstepSound extends BasicSound<FootstepSound> {
 
 		this.setPosition(player);
 		this.setVolumeScale(FOOTSTEP);
-		this.setRoutable(DSurround.isInstalledOnServer());
 	}
 
 }
@@ -43,13 +43,14 @@ public final class Aurora {
 	private static final float ANGLE1 = MathStuff.PI_F / 16.0F;
 	private static final float ANGLE2 = MathStuff.toRadians(90.0F / 7.0F);
 	private static final float AURORA_SPEED = 0.75F;
-	private static final float AURORA_AMPLITUDE = 18.0F;
-	private static final float AURORA_WAVELENGTH = 8.0F;
+	static final float AURORA_AMPLITUDE = 18.0F;
+	static final float AURORA_WAVELENGTH = 8.0F;
 	private static final int ALPHA_INCREMENT_MOD = 8;
 
 	private final Random random;
 
 	private Node[] nodes;
+	private AuroraMesh mesh;
 	private long seed;
 	private float cycle = 0.0F;
 	private int fadeTimer = 0;
@@ -76,9 +77,6 @@ public final class Aurora {
 
 		preset();
 		generateBands();
-
-		// Initialize at least once for a non-animated aurora
-		translate(0);
 	}
 
 	public long getSeed() {
@@ -90,6 +88,24 @@ public final class Aurora {
 		return this.nodes;
 	}
 
+	/*
+	 * The band geometry is fixed for the life of the aurora so the mesh is
+	 * built once, on first render.
+	 */
+	@Nonnull
+	AuroraMesh getMesh() {
+		if (this.mesh == null)
+			this.mesh = new AuroraMesh(this.nodes, this.baseColor, this.fadeColor);
+		return this.mesh;
+	}
+
+	/*
+	 * Phase of the travelling wave, in degrees, for the render frame.
+	 */
+	public float getPhase(final float partialTick) {
+		return this.cycle + AURORA_SPEED * partialTick;
+	}
+
 	private void preset() {
 		this.length = 128;
 		this.nodeLength = this.random.nextBoolean() ? 30 : 15;
@@ -235,30 +251,6 @@ public final class Aurora {
 		return nodeList;
 	}
 
-	/*
-	 * Calculates the next "frame" of the aurora if it is being animated.
-	 */
-	public void translate(final float partialTick) {
-		final float c = this.cycle + AURORA_SPEED * partialTick;
-		for (int i = 0; i < this.nodes.length; i++) {
-			// Travelling sine wave: https://en.wikipedia.org/wiki/Wavelength
-			final float f = MathStuff.cos(MathStuff.toRadians(AURORA_WAVELENGTH * i + c));
-			final float dZ = f * AURORA_AMPLITUDE;
-			final float dY = f * 3.0F;
-			Node node = this.nodes[i];
-			node.setDeltaZ(dZ);
-			node.setDeltaY(dY);
-		}
-		findAngles(this.nodes);
-	}
-
-	private static void findAngles(@Nonnull final Node[] nodeList) {
-		nodeList[0].findAngles(null);
-		for (int i = 1; i < nodeList.length - 1; i++)
-			nodeList[i].findAngles(nodeList[i + 1]);
-		nodeList[nodeList.length - 1].findAngles(null);
-	}
-
 	@Override
 	public String toString() {
 		final StringBuilder builder = new StringBuilder();
@@ -0,0 +1,244 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.blockartistry.DynSurround.client.weather;
+
+import java.nio.ByteBuffer;
+
+import javax.annotation.Nonnull;
+
+import org.blockartistry.lib.Color;
+import org.lwjgl.BufferUtils;
+import org.lwjgl.opengl.GL11;
+
+import net.minecraft.client.renderer.GlStateManager;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Vertex data for the bands of an aurora. The mesh is built once from the
+ * aurora nodes into a client side vertex array. The travelling wave only
+ * moves the Y and Z of the vertices, so each frame those two attributes are
+ * rewritten from a phase table and everything else stays as built. Alpha of
+ * the band base is rewritten only when the aurora fades.
+ */
+@SideOnly(Side.CLIENT)
+final class AuroraMesh {
+
+	// Cosine of the wave phase, 4096 steps over 360 degrees
+	private static final int PHASE_BITS = 12;
+	private static final int PHASE_SIZE = 1 << PHASE_BITS;
+	private static final int PHASE_MASK = PHASE_SIZE - 1;
+	private static final float DEG_TO_PHASE = PHASE_SIZE / 360.0F;
+	private static final float[] PHASE = new float[PHASE_SIZE];
+
+	// Vertex layout: position 3F, color 4UB
+	private static final int STRIDE = 16;
+	private static final int Y_OFFSET = 4;
+	private static final int Z_OFFSET = 8;
+	private static final int ALPHA_OFFSET = 15;
+
+	// Front, bottom and back quads of each band segment
+	private static final int VERTICES_PER_SEGMENT = 12;
+
+	// Marks a vertex that sits on the band floor
+	private static final int GROUND = -1;
+
+	static {
+		for (int i = 0; i < PHASE_SIZE; i++)
+			PHASE[i] = (float) Math.cos(i * Math.PI * 2.0D / PHASE_SIZE);
+	}
+
+	private final ByteBuffer vertices;
+	private final int vertexCount;
+
+	// Per vertex
+	private final int[] zNode;
+	private final float[] zBase;
+	private final int[] yNode;
+	private final boolean[] faded;
+
+	// Per node
+	private final float[] nodeY;
+	private final float[] nodePhase;
+	private final float[] waveY;
+	private final float[] waveZ;
+
+	private float lastPhase = Float.NaN;
+	private int lastAlpha = -1;
+
+	public AuroraMesh(@Nonnull final Node[] nodes, @Nonnull final Color base, @Nonnull final Color fade) {
+		final int segments = nodes.length - 1;
+		this.vertexCount = segments * VERTICES_PER_SEGMENT;
+		this.vertices = BufferUtils.createByteBuffer(this.vertexCount * STRIDE);
+		this.zNode = new int[this.vertexCount];
+		this.zBase = new float[this.vertexCount];
+		this.yNode = new int[this.vertexCount];
+		this.faded = new boolean[this.vertexCount];
+
+		this.nodeY = new float[nodes.length];
+		this.nodePhase = new float[nodes.length];
+		this.waveY = new float[nodes.length];
+		this.waveZ = new float[nodes.length];
+		for (int i = 0; i < nodes.length; i++) {
+			this.nodeY[i] = nodes[i].posY;
+			this.nodePhase[i] = Aurora.AURORA_WAVELENGTH * i * DEG_TO_PHASE;
+		}
+
+		int v = 0;
+		for (int i = 0; i < segments; i++) {
+			final Node node = nodes[i];
+
+			// The first and last node of the band have no width
+			final boolean hasWidth = i > 0;
+			final float posX = node.posX + (hasWidth ? node.getCosDeg90() : 0.0F);
+			final float posZ = node.posZ + (hasWidth ? node.getSinDeg90() : 0.0F);
+			final float tetX = node.posX + (hasWidth ? node.getCosDeg270() : 0.0F);
+			final float tetZ = node.posZ + (hasWidth ? node.getSinDeg270() : 0.0F);
+
+			final int next;
+			final int nextY;
+			final float posX2;
+			final float posZ2;
+			final float tetX2;
+			final float tetZ2;
+
+			if (i < segments - 1) {
+				final Node nodePlus = nodes[i + 1];
+				next = nextY = i + 1;
+				posX2 = nodePlus.posX + nodePlus.getCosDeg90();
+				posZ2 = nodePlus.posZ + nodePlus.getSinDeg90();
+				tetX2 = nodePlus.posX + nodePlus.getCosDeg270();
+				tetZ2 = nodePlus.posZ + nodePlus.getSinDeg270();
+			} else {
+				// Tail of the band closes back onto the node itself
+				next = i;
+				nextY = GROUND;
+				posX2 = tetX2 = node.posX;
+				posZ2 = tetZ2 = node.posZ;
+			}
+
+			// Front
+			v = vertex(v, posX, i, posZ, GROUND, false);
+			v = vertex(v, posX, i, posZ, i, true);
+			v = vertex(v, posX2, next, posZ2, nextY, true);
+			v = vertex(v, posX2, next, posZ2, GROUND, false);
+
+			// Bottom
+			v = vertex(v, posX, i, posZ, GROUND, false);
+			v = vertex(v, posX2, next, posZ2, GROUND, false);
+			v = vertex(v, tetX2, next, tetZ2, GROUND, false);
+			v = vertex(v, tetX, i, tetZ, GROUND, false);
+
+			// Back
+			v = vertex(v, tetX, i, tetZ, GROUND, false);
+			v = vertex(v, tetX, i, tetZ, i, true);
+			v = vertex(v, tetX2, next, tetZ2, nextY, true);
+			v = vertex(v, tetX2, next, tetZ2, GROUND, false);
+		}
+
+		// Colors are fixed other than the alpha of the base
+		for (int i = 0; i < this.vertexCount; i++) {
+			final int offset = i * STRIDE + 12;
+			final Color c = this.faded[i] ? fade : base;
+			this.vertices.put(offset, (byte) (c.red * 255.0F));
+			this.vertices.put(offset + 1, (byte) (c.green * 255.0F));
+			this.vertices.put(offset + 2, (byte) (c.blue * 255.0F));
+			this.vertices.put(offset + 3, (byte) 0);
+		}
+	}
+
+	private int vertex(final int v, final float x, final int zNode, final float z, final int yNode,
+			final boolean faded) {
+		final int offset = v * STRIDE;
+		this.vertices.putFloat(offset, x);
+		this.vertices.putFloat(offset + Y_OFFSET, 0.0F);
+		this.vertices.putFloat(offset + Z_OFFSET, z);
+		this.zNode[v] = zNode;
+		this.zBase[v] = z;
+		this.yNode[v] = yNode;
+		this.faded[v] = faded;
+		return v + 1;
+	}
+
+	/*
+	 * Moves the vertices to the specified wave phase, in degrees.
+	 */
+	private void animate(final float phase) {
+		final float offset = phase * DEG_TO_PHASE;
+		for (int i = 0; i < this.nodePhase.length; i++) {
+			// Travelling sine wave: https://en.wikipedia.org/wiki/Wavelength
+			final float f = PHASE[(int) (this.nodePhase[i] + offset) & PHASE_MASK];
+			this.waveZ[i] = f * Aurora.AURORA_AMPLITUDE;
+			final float y = this.nodeY[i] + f * 3.0F;
+			this.waveY[i] = y < 0.0F ? 0.0F : y;
+		}
+
+		final ByteBuffer buffer = this.vertices;
+		for (int v = 0; v < this.vertexCount; v++) {
+			final int base = v * STRIDE;
+			buffer.putFloat(base + Z_OFFSET, this.zBase[v] + this.waveZ[this.zNode[v]]);
+			final int node = this.yNode[v];
+			if (node != GROUND)
+				buffer.putFloat(base + Y_OFFSET, this.waveY[node]);
+		}
+	}
+
+	private void setAlpha(final int alpha) {
+		final byte a = (byte) alpha;
+		for (int v = 0; v < this.vertexCount; v++)
+			if (!this.faded[v])
+				this.vertices.put(v * STRIDE + ALPHA_OFFSET, a);
+	}
+
+	/**
+	 * Draws the mesh at the specified wave phase and base alpha. Blend and
+	 * matrix state are expected to have been set up by the caller.
+	 */
+	public void render(final float phase, final int alpha) {
+		if (phase != this.lastPhase) {
+			animate(phase);
+			this.lastPhase = phase;
+		}
+		if (alpha != this.lastAlpha) {
+			setAlpha(alpha);
+			this.lastAlpha = alpha;
+		}
+
+		final ByteBuffer buffer = this.vertices;
+		buffer.position(0);
+		GlStateManager.glVertexPointer(3, GL11.GL_FLOAT, STRIDE, buffer);
+		GlStateManager.glEnableClientState(GL11.GL_VERTEX_ARRAY);
+		buffer.position(12);
+		GlStateManager.glColorPointer(4, GL11.GL_UNSIGNED_BYTE, STRIDE, buffer);
+		GlStateManager.glEnableClientState(GL11.GL_COLOR_ARRAY);
+
+		GlStateManager.glDrawArrays(GL11.GL_QUADS, 0, this.vertexCount);
+
+		GlStateManager.glDisableClientState(GL11.GL_VERTEX_ARRAY);
+		GlStateManager.glDisableClientState(GL11.GL_COLOR_ARRAY);
+		GlStateManager.resetColor();
+		buffer.clear();
+	}
+}
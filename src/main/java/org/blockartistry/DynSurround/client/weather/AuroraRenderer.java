@@ -29,9 +29,6 @@ import net.minecraft.client.multiplayer.WorldClient;
 import net.minecraftforge.client.IRenderHandler;
 import net.minecraftforge.client.event.RenderWorldLastEvent;
 import net.minecraft.client.renderer.GlStateManager;
-import net.minecraft.client.renderer.Tessellator;
-import net.minecraft.client.renderer.VertexBuffer;
-import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
 import net.minecraft.world.World;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.common.eventhandler.EventPriority;
@@ -46,7 +43,6 @@ import org.blockartistry.DynSurround.client.handlers.AuroraEffectHandler;
 import org.blockartistry.DynSurround.registry.DimensionRegistry;
 import org.blockartistry.DynSurround.registry.RegistryManager;
 import org.blockartistry.DynSurround.registry.RegistryManager.RegistryType;
-import org.blockartistry.lib.Color;
 import org.lwjgl.opengl.GL11;
 
 @Mod.EventBusSubscriber(value = Side.CLIENT, modid = DSurround.MOD_ID)
@@ -99,8 +95,6 @@ public final class AuroraRenderer extends IRenderHandler {
 			return;
 
 		final Minecraft mc = Minecraft.getMinecraft();
-		final Tessellator tess = Tessellator.getInstance();
-		final VertexBuffer renderer = tess.getBuffer();
 
 		final double tranY = this.dimensions.getSeaLevel(mc.world)
 				- ((mc.player.lastTickPosY + (mc.player.posY - mc.player.lastTickPosY) * partialTick));
@@ -111,12 +105,6 @@ public final class AuroraRenderer extends IRenderHandler {
 		final double tranZ = (mc.player.posZ - getZOffset())
 				- (mc.player.lastTickPosZ + (mc.player.posZ - mc.player.lastTickPosZ) * partialTick);
 
-		aurora.translate(partialTick);
-
-		final Color base = aurora.getBaseColor();
-		final Color fade = aurora.getFadeColor();
-		final double zero = 0.0D;
-
 		GlStateManager.pushMatrix();
 		GlStateManager.pushAttrib();
 
@@ -133,60 +121,7 @@ public final class AuroraRenderer extends IRenderHandler {
 		GlStateManager.disableCull();
 		GlStateManager.depthMask(false);
 
-		final Node[] array = aurora.getNodeList();
-		for (int i = 0; i < array.length - 1; i++) {
-
-			final Node node = array[i];
-
-			final double posY = node.getModdedY();
-			final double posX = node.tetX;
-			final double posZ = node.tetZ;
-			final double tetX = node.tetX2;
-			final double tetZ = node.tetZ2;
-
-			final double posX2;
-			final double posZ2;
-			final double tetX2;
-			final double tetZ2;
-			final double posY2;
-
-			if (i < array.length - 2) {
-				final Node nodePlus = array[i + 1];
-				posX2 = nodePlus.tetX;
-				posZ2 = nodePlus.tetZ;
-				tetX2 = nodePlus.tetX2;
-				tetZ2 = nodePlus.tetZ2;
-				posY2 = nodePlus.getModdedY();
-			} else {
-				posX2 = tetX2 = node.posX;
-				posZ2 = tetZ2 = node.getModdedZ();
-				posY2 = 0.0D;
-			}
-
-			// Front
-			renderer.begin(GL11.GL_TRIANGLE_FAN, DefaultVertexFormats.POSITION_COLOR);
-			renderer.pos(posX, zero, posZ).color(base.red, base.green, base.blue, alpha).endVertex();
-			renderer.pos(posX, posY, posZ).color(fade.red, fade.green, fade.blue, 0).endVertex();
-			renderer.pos(posX2, posY2, posZ2).color(fade.red, fade.green, fade.blue, 0).endVertex();
-			renderer.pos(posX2, zero, posZ2).color(base.red, base.green, base.blue, alpha).endVertex();
-			tess.draw();
-
-			// Bottom
-			renderer.begin(GL11.GL_TRIANGLE_FAN, DefaultVertexFormats.POSITION_COLOR);
-			renderer.pos(posX, zero, posZ).color(base.red, base.green, base.blue, alpha).endVertex();
-			renderer.pos(posX2, zero, posZ2).color(base.red, base.green, base.blue, alpha).endVertex();
-			renderer.pos(tetX2, zero, tetZ2).color(base.red, base.green, base.blue, alpha).endVertex();
-			renderer.pos(tetX, zero, tetZ).color(base.red, base.green, base.blue, alpha).endVertex();
-			tess.draw();
-
-			// Back
-			renderer.begin(GL11.GL_TRIANGLE_FAN, DefaultVertexFormats.POSITION_COLOR);
-			renderer.pos(tetX, zero, tetZ).color(base.red, base.green, base.blue, alpha).endVertex();
-			renderer.pos(tetX, posY, tetZ).color(fade.red, fade.green, fade.blue, 0).endVertex();
-			renderer.pos(tetX2, posY2, tetZ2).color(fade.red, fade.green, fade.blue, 0).endVertex();
-			renderer.pos(tetX2, zero, tetZ2).color(base.red, base.green, base.blue, alpha).endVertex();
-			tess.draw();
-		}
+		aurora.getMesh().render(aurora.getPhase(partialTick), (int) (alpha * 255.0F));
 
 		GlStateManager.tryBlendFuncSeparate(GlStateManager.SourceFactor.SRC_ALPHA,
 				GlStateManager.DestFactor.ONE_MINUS_SRC_ALPHA, GlStateManager.SourceFactor.ONE,
@@ -33,7 +33,6 @@ import net.minecraft.block.material.Material;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.util.EnumParticleTypes;
 import net.minecraft.util.SoundEvent;
-import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
@@ -55,18 +54,18 @@ public class NetherSplashRenderer extends StormSplashRenderer {
 	}
 
 	@Override
-	protected BlockPos getPrecipitationHeight(final World world, final int range, final BlockPos pos) {
+	protected int getPrecipitationHeight(final World world, final int range, final int x, final int z) {
 		final int y = EnvironState.getPlayerPosition().getY();
 		boolean airBlockFound = false;
 		for (int i = range; i >= -range; i--) {
-			final IBlockState state = WorldUtils.getBlockState(world, pos.getX(), y + i, pos.getZ());
+			final IBlockState state = WorldUtils.getBlockState(world, x, y + i, z);
 			final Material material = state.getMaterial();
 			if (airBlockFound && material != Material.AIR && material.isSolid())
-				return new BlockPos(pos.getX(), y + i + 1, pos.getZ());
+				return y + i + 1;
 			if (material == Material.AIR)
 				airBlockFound = true;
 		}
 
-		return new BlockPos(pos.getX(), 128, pos.getZ());
+		return 128;
 	}
 }
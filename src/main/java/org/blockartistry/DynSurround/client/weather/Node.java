@@ -40,9 +40,6 @@ final class Node {
 	private static final float SIN_DEG90_FACTOR = MathStuff.sin(MathStuff.PI_F / 2.0F);
 	private static final float SIN_DEG270_FACTOR = MathStuff.sin(MathStuff.PI_F / 2.0F + MathStuff.PI_F);
 
-	private float dZ = 0.0F;
-	private float dY = 0.0F;
-
 	private float cosDeg90 = 0.0F;
 	private float cosDeg270 = 0.0F;
 	private float sinDeg90 = 0.0F;
@@ -53,11 +50,6 @@ final class Node {
 	public float posY;
 	public float posZ;
 
-	public float tetX = 0.0F;
-	public float tetX2 = 0.0F;
-	public float tetZ = 0.0F;
-	public float tetZ2 = 0.0F;
-
 	public Node(@Nonnull final Node template, final int offset) {
 		final float rads = MathStuff.toRadians(90.0F + template.angle);
 		this.posX = template.posX + MathStuff.cos(rads) * offset;
@@ -73,40 +65,20 @@ final class Node {
 		this.angle = theta;
 	}
 
-	// -----------------------------------------------
-	// Fast atan2:
-	// http://dspguru.com/dsp/tricks/fixed-point-atan2-with-self-normalization
-	private static final float COEFF_1 = (float) (Math.PI / 4.0F);
-	private static final float COEFF_2 = COEFF_1 * 3.0F;
-	private static final float CONST = 1e-10F;
-
-	private static final float atan2_fast(final float y, final float x) {
-		final float abs_y = MathStuff.abs(y) + CONST;
-		final float angle;
-
-		if (x >= 0.0F)
-			angle = COEFF_1 - COEFF_1 * (x - abs_y) / (x + abs_y);
-		else
-			angle = COEFF_2 - COEFF_2 * (x + abs_y) / (abs_y - x);
-
-		return y < 0.0 ? -angle : angle;
+	public float getCosDeg90() {
+		return this.cosDeg90;
 	}
 
-	public void setDeltaZ(final float f) {
-		this.dZ = f;
+	public float getCosDeg270() {
+		return this.cosDeg270;
 	}
 
-	public void setDeltaY(final float f) {
-		this.dY = f;
+	public float getSinDeg90() {
+		return this.sinDeg90;
 	}
 
-	public float getModdedZ() {
-		return this.posZ + this.dZ;
-	}
-
-	public float getModdedY() {
-		final float y = this.posY + this.dY;
-		return y < 0.0F ? 0.0F : y;
+	public float getSinDeg270() {
+		return this.sinDeg270;
 	}
 
 	public void setWidth(final float w) {
@@ -115,17 +87,4 @@ final class Node {
 		this.sinDeg270 = SIN_DEG270_FACTOR * w;
 		this.sinDeg90 = SIN_DEG90_FACTOR * w;
 	}
-
-	public void findAngles(final Node next) {
-		this.tetX = this.tetX2 = this.posX;
-		this.tetZ = this.tetZ2 = this.getModdedZ();
-		this.angle = 0.0F;
-		if (next != null) {
-			this.angle = atan2_fast(this.getModdedZ() - next.getModdedZ(), this.posX - next.posX);
-			this.tetX += this.cosDeg90;
-			this.tetX2 += this.cosDeg270;
-			this.tetZ += this.sinDeg90;
-			this.tetZ2 += this.sinDeg270;
-		}
-	}
 }
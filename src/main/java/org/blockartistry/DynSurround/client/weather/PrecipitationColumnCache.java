@@ -0,0 +1,278 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.blockartistry.DynSurround.client.weather;
+
+import javax.annotation.Nonnull;
+
+import org.blockartistry.DynSurround.DSurround;
+import org.blockartistry.DynSurround.client.event.BlockUpdateEvent;
+import org.blockartistry.DynSurround.client.event.RegistryEvent;
+import org.blockartistry.DynSurround.client.handlers.scanners.BiomeField;
+import org.blockartistry.DynSurround.registry.BiomeInfo;
+import org.blockartistry.DynSurround.registry.RegistryManager;
+import org.blockartistry.DynSurround.registry.SeasonRegistry;
+import org.blockartistry.DynSurround.registry.RegistryManager.RegistryType;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent.Phase;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Per column precipitation information around the player. Storage is a
+ * toroidal grid indexed by world X/Z so that as the player moves only the
+ * columns entering the area are resolved. Columns are revalidated on block
+ * updates, chunk loads, registry reloads, and after they age out. A block
+ * update also drops the cached light of the columns within light range.
+ */
+@SideOnly(Side.CLIENT)
+@Mod.EventBusSubscriber(value = Side.CLIENT, modid = DSurround.MOD_ID)
+public final class PrecipitationColumnCache {
+
+	// Grid is 128x128 which covers the largest splash range
+	private static final int SIZE_BITS = 7;
+	private static final int SIZE = 1 << SIZE_BITS;
+	private static final int MASK = SIZE - 1;
+
+	// Ticks before a column is re-resolved regardless
+	private static final int MAX_AGE = 200;
+
+	private static final int INVALID = Integer.MIN_VALUE;
+
+	// Light from a changed block reaches this far
+	private static final int LIGHT_RADIUS = 15;
+
+	private static final SeasonRegistry season = RegistryManager.get(RegistryType.SEASON);
+
+	private static final int[] columnX = new int[SIZE * SIZE];
+	private static final int[] columnZ = new int[SIZE * SIZE];
+	private static final int[] expires = new int[SIZE * SIZE];
+	private static final BiomeInfo[] biome = new BiomeInfo[SIZE * SIZE];
+	private static final int[] height = new int[SIZE * SIZE];
+	private static final boolean[] freeze = new boolean[SIZE * SIZE];
+	private static final boolean[] dust = new boolean[SIZE * SIZE];
+	private static final boolean[] precipitation = new boolean[SIZE * SIZE];
+	private static final int[] freezeY = new int[SIZE * SIZE];
+	private static final boolean[] freezeAtY = new boolean[SIZE * SIZE];
+	private static final int[] lightY = new int[SIZE * SIZE];
+	private static final int[] light = new int[SIZE * SIZE];
+
+	private static final BlockPos.MutableBlockPos mutable = new BlockPos.MutableBlockPos();
+
+	private static World currentWorld;
+	private static int tick;
+
+	// Bumped whenever previously resolved column data changes
+	private static int version;
+
+	static {
+		invalidateAll();
+	}
+
+	private PrecipitationColumnCache() {
+
+	}
+
+	private static int slot(final int x, final int z) {
+		return ((z & MASK) << SIZE_BITS) | (x & MASK);
+	}
+
+	private static void invalidateAll() {
+		version++;
+		for (int i = 0; i < columnX.length; i++) {
+			columnX[i] = INVALID;
+			biome[i] = null;
+		}
+	}
+
+	private static void invalidate(final int x, final int z) {
+		final int idx = slot(x, z);
+		if (columnX[idx] == x && columnZ[idx] == z) {
+			columnX[idx] = INVALID;
+			version++;
+		}
+	}
+
+	private static void invalidateLight(final int x, final int z) {
+		boolean changed = false;
+		for (int cz = z - LIGHT_RADIUS; cz <= z + LIGHT_RADIUS; cz++) {
+			for (int cx = x - LIGHT_RADIUS; cx <= x + LIGHT_RADIUS; cx++) {
+				final int idx = slot(cx, cz);
+				if (columnX[idx] == cx && columnZ[idx] == cz && lightY[idx] != INVALID) {
+					lightY[idx] = INVALID;
+					changed = true;
+				}
+			}
+		}
+		if (changed)
+			version++;
+	}
+
+	private static void resolve(@Nonnull final World world, final int idx, final int x, final int z) {
+		final BiomeInfo info = BiomeField.getBiome(world, x, z);
+		mutable.setPos(x, 0, z);
+		final int y = season.getPrecipitationHeight(world, mutable).getY();
+		mutable.setPos(x, y, z);
+		final boolean canFreeze = season.canWaterFreeze(world, mutable);
+
+		// A column that aged out and came back different is a change
+		if (columnX[idx] == x && columnZ[idx] == z
+				&& (biome[idx] != info || height[idx] != y || freeze[idx] != canFreeze))
+			version++;
+
+		columnX[idx] = x;
+		columnZ[idx] = z;
+		expires[idx] = tick + MAX_AGE;
+		biome[idx] = info;
+		height[idx] = y;
+		freeze[idx] = canFreeze;
+		dust[idx] = info.getHasDust();
+		precipitation[idx] = info.getHasPrecipitation();
+		freezeY[idx] = INVALID;
+		lightY[idx] = INVALID;
+	}
+
+	/**
+	 * Change counter for the cached data. Consumers that derive state from
+	 * the cache can compare against this to know when to rebuild.
+	 */
+	public static int getVersion() {
+		return version;
+	}
+
+	@SubscribeEvent
+	public static void onClientTick(@Nonnull final TickEvent.ClientTickEvent event) {
+		if (event.phase == Phase.END)
+			tick++;
+	}
+
+	@SubscribeEvent
+	public static void onWorldUnload(@Nonnull final WorldEvent.Unload event) {
+		if (event.getWorld() == currentWorld) {
+			currentWorld = null;
+			invalidateAll();
+		}
+	}
+
+	/**
+	 * Returns the index of the column at the specified location, resolving it
+	 * if needed. The index is valid for use with the accessors until the next
+	 * call to this method for a different column.
+	 */
+	public static int index(@Nonnull final World world, final int x, final int z) {
+		if (world != currentWorld) {
+			currentWorld = world;
+			invalidateAll();
+		}
+		final int idx = slot(x, z);
+		if (columnX[idx] != x || columnZ[idx] != z || expires[idx] - tick < 0)
+			resolve(world, idx, x, z);
+		return idx;
+	}
+
+	@Nonnull
+	public static BiomeInfo getBiome(final int idx) {
+		return biome[idx];
+	}
+
+	public static int getPrecipitationHeight(final int idx) {
+		return height[idx];
+	}
+
+	/**
+	 * Whether water freezes at the precipitation height of the column.
+	 */
+	public static boolean canWaterFreeze(final int idx) {
+		return freeze[idx];
+	}
+
+	/**
+	 * Whether water freezes in the column at the specified height.
+	 * Temperature can change with height so this can differ from the value at
+	 * the precipitation height. Like light the value is kept until the height
+	 * being asked about changes.
+	 */
+	public static boolean canWaterFreeze(@Nonnull final World world, final int idx, final int y) {
+		if (y == height[idx])
+			return freeze[idx];
+		if (freezeY[idx] != y) {
+			mutable.setPos(columnX[idx], y, columnZ[idx]);
+			freezeAtY[idx] = season.canWaterFreeze(world, mutable);
+			freezeY[idx] = y;
+		}
+		return freezeAtY[idx];
+	}
+
+	public static boolean hasDust(final int idx) {
+		return dust[idx];
+	}
+
+	public static boolean hasPrecipitation(final int idx) {
+		return precipitation[idx];
+	}
+
+	/**
+	 * Combined light of the column at the specified height. The value is
+	 * kept until the height being asked about changes.
+	 */
+	public static int getCombinedLight(@Nonnull final World world, final int idx, final int y) {
+		if (lightY[idx] != y) {
+			mutable.setPos(columnX[idx], y, columnZ[idx]);
+			light[idx] = world.getCombinedLight(mutable, 0);
+			lightY[idx] = y;
+		}
+		return light[idx];
+	}
+
+	@SubscribeEvent
+	public static void onBlockUpdate(@Nonnull final BlockUpdateEvent event) {
+		invalidate(event.pos.getX(), event.pos.getZ());
+		invalidateLight(event.pos.getX(), event.pos.getZ());
+	}
+
+	@SubscribeEvent
+	public static void onChunkLoad(@Nonnull final ChunkEvent.Load event) {
+		if (!event.getWorld().isRemote)
+			return;
+		final int baseX = event.getChunk().xPosition << 4;
+		final int baseZ = event.getChunk().zPosition << 4;
+		for (int x = 0; x < 16; x++)
+			for (int z = 0; z < 16; z++)
+				invalidate(baseX + x, baseZ + z);
+	}
+
+	@SubscribeEvent
+	public static void onRegistryReload(@Nonnull final RegistryEvent.Reload event) {
+		if (event.getSide() == Side.CLIENT)
+			invalidateAll();
+	}
+
+}
@@ -0,0 +1,90 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.blockartistry.DynSurround.client.weather;
+
+import java.util.Random;
+
+import org.blockartistry.lib.random.MurmurHash3;
+import org.blockartistry.lib.random.XorShiftRandom;
+
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Per column pseudo-random values used when rendering precipitation. The
+ * values are generated once into a table and a column picks its entry by
+ * hashing its world coordinates, so rendering does not have to reseed and
+ * draw from a random number generator for every column every frame.
+ */
+@SideOnly(Side.CLIENT)
+public final class PrecipitationJitter {
+
+	private static final int TABLE_BITS = 12;
+	private static final int TABLE_SIZE = 1 << TABLE_BITS;
+	private static final int TABLE_MASK = TABLE_SIZE - 1;
+
+	// Each entry: uniform, gaussian, uniform, gaussian
+	private static final int ENTRY_SIZE = 4;
+	private static final float[] TABLE = new float[TABLE_SIZE * ENTRY_SIZE];
+
+	static {
+		final Random random = new XorShiftRandom(0x5DEECE66DL);
+		for (int i = 0; i < TABLE.length; i += ENTRY_SIZE) {
+			TABLE[i] = (float) random.nextDouble();
+			TABLE[i + 1] = (float) random.nextGaussian();
+			TABLE[i + 2] = (float) random.nextDouble();
+			TABLE[i + 3] = (float) random.nextGaussian();
+		}
+	}
+
+	private PrecipitationJitter() {
+
+	}
+
+	/**
+	 * Index of the table entry for the column at the specified world
+	 * coordinates.
+	 */
+	public static int index(final int x, final int z) {
+		final long key = ((long) x << 32) | (z & 0xFFFFFFFFL);
+		return ((int) MurmurHash3.hash(key) & TABLE_MASK) * ENTRY_SIZE;
+	}
+
+	public static float uniform(final int idx) {
+		return TABLE[idx];
+	}
+
+	public static float gaussian(final int idx) {
+		return TABLE[idx + 1];
+	}
+
+	public static float uniform2(final int idx) {
+		return TABLE[idx + 2];
+	}
+
+	public static float gaussian2(final int idx) {
+		return TABLE[idx + 3];
+	}
+}
@@ -24,18 +24,14 @@
 
 package org.blockartistry.DynSurround.client.weather;
 
-import java.util.Random;
 import javax.annotation.Nonnull;
 
+import org.blockartistry.DynSurround.ModOptions;
 import org.blockartistry.DynSurround.client.handlers.EnvironStateHandler.EnvironState;
-import org.blockartistry.DynSurround.registry.BiomeInfo;
-import org.blockartistry.DynSurround.registry.BiomeRegistry;
 import org.blockartistry.DynSurround.registry.DimensionRegistry;
 import org.blockartistry.DynSurround.registry.RegistryManager;
-import org.blockartistry.DynSurround.registry.SeasonRegistry;
 import org.blockartistry.DynSurround.registry.RegistryManager.RegistryType;
 import org.blockartistry.lib.Color;
-import org.blockartistry.lib.random.XorShiftRandom;
 import org.lwjgl.opengl.GL11;
 
 import net.minecraft.client.Minecraft;
@@ -56,8 +52,8 @@ import net.minecraftforge.fml.relauncher.Side;
 @SideOnly(Side.CLIENT)
 public class StormRenderer {
 
-	private static final double[] RAIN_X_COORDS = new double[1024];
-	private static final double[] RAIN_Y_COORDS = new double[1024];
+	static final double[] RAIN_X_COORDS = new double[1024];
+	static final double[] RAIN_Y_COORDS = new double[1024];
 
 	static {
 		for (int i = 0; i < 32; ++i) {
@@ -71,16 +67,8 @@ public class StormRenderer {
 		}
 	}
 
-	private final Random random = new XorShiftRandom();
-	private final BiomeRegistry biomes = RegistryManager.get(RegistryType.BIOME);
 	private final DimensionRegistry dimensions = RegistryManager.get(RegistryType.DIMENSION);
-	private final SeasonRegistry season = RegistryManager.get(RegistryType.SEASON);
-	private final BlockPos.MutableBlockPos mutable = new BlockPos.MutableBlockPos();
-
-	@Nonnull
-	private BlockPos getPrecipitationHeight(@Nonnull final World world, @Nonnull final BlockPos pos) {
-		return this.season.getPrecipitationHeight(world, pos);
-	}
+	private StormRendererVbo vbo;
 
 	private static void bindTexture(@Nonnull final ResourceLocation resource) {
 		Minecraft.getMinecraft().getTextureManager().bindTexture(resource);
@@ -118,6 +106,19 @@ public class StormRenderer {
 		GlStateManager.alphaFunc(516, 0.1F);
 
 		final int range = renderer.mc.gameSettings.fancyGraphics ? 10 : 5;
+
+		if (ModOptions.enableWeatherVBO && StormRendererVbo.isSupported()) {
+			if (this.vbo == null)
+				this.vbo = new StormRendererVbo();
+			GlStateManager.color(1.0F, 1.0F, 1.0F, 1.0F);
+			this.vbo.render(renderer, world, range, alphaRatio, partialTicks);
+			finish(renderer);
+			return;
+		} else if (this.vbo != null) {
+			this.vbo.release();
+			this.vbo = null;
+		}
+
 		float f1 = (float) renderer.rendererUpdateCount + partialTicks;
 
 		final RenderManager manager = renderer.mc.getRenderManager();
@@ -142,11 +143,11 @@ public class StormRenderer {
 				final int idx = (gridZ - playerZ + 16) * 32 + gridX - playerX + 16;
 				final double rainX = RAIN_X_COORDS[idx];
 				final double rainY = RAIN_Y_COORDS[idx];
-				this.mutable.setPos(gridX, 0, gridZ);
-				final BiomeInfo biome = this.biomes.get(world.getBiome(this.mutable));
+				final int column = PrecipitationColumnCache.index(world, gridX, gridZ);
+				final boolean hasDust = PrecipitationColumnCache.hasDust(column);
 
-				if (biome.getHasDust() || biome.getHasPrecipitation()) {
-					final int precipHeight = getPrecipitationHeight(world, this.mutable).getY();
+				if (hasDust || PrecipitationColumnCache.hasPrecipitation(column)) {
+					final int precipHeight = PrecipitationColumnCache.getPrecipitationHeight(column);
 					int k2 = playerY - range;
 					int l2 = playerY + range;
 
@@ -166,12 +167,10 @@ public class StormRenderer {
 
 					if (k2 != l2) {
 
-						this.random.setSeed((long) (gridX * gridX * 3121 + gridX * 45238971
-								^ gridZ * gridZ * 418711 + gridZ * 13761));
-						this.mutable.setPos(gridX, k2, gridZ);
-						final boolean canSnow = this.season.canWaterFreeze(world, this.mutable);
+						final int jitter = PrecipitationJitter.index(gridX, gridZ);
+						final boolean canSnow = PrecipitationColumnCache.canWaterFreeze(world, column, k2);
 
-						if (!biome.getHasDust() && !canSnow) {
+						if (!hasDust && !canSnow) {
 
 							if (!isDrawing || currentTexture != props.getRainTexture()) {
 								if (isDrawing) {
@@ -186,13 +185,12 @@ public class StormRenderer {
 
 							double d5 = ((double) (renderer.rendererUpdateCount + gridX * gridX * 3121
 									+ gridX * 45238971 + gridZ * gridZ * 418711 + gridZ * 13761 & 31)
-									+ (double) partialTicks) / 32.0D * (3.0D + this.random.nextDouble());
+									+ (double) partialTicks) / 32.0D * (3.0D + PrecipitationJitter.uniform(jitter));
 							double d6 = (double) ((float) gridX + 0.5F) - entity.posX;
 							double d7 = (double) ((float) gridZ + 0.5F) - entity.posZ;
 							float f3 = MathHelper.sqrt(d6 * d6 + d7 * d7) / (float) range;
 							float f4 = ((1.0F - f3 * f3) * 0.5F + 0.5F) * alphaRatio;
-							this.mutable.setPos(gridX, i3, gridZ);
-							int j3 = world.getCombinedLight(this.mutable, 0);
+							int j3 = PrecipitationColumnCache.getCombinedLight(world, column, i3);
 							int k3 = j3 >> 16 & 65535;
 							int l3 = j3 & 65535;
 							worldrenderer.pos((double) gridX - rainX + 0.5D, (double) k2, (double) gridZ - rainY + 0.5D)
@@ -210,7 +208,7 @@ public class StormRenderer {
 						} else {
 
 							ResourceLocation texture = props.getSnowTexture();
-							if (biome.getHasDust() && !canSnow)
+							if (hasDust && !canSnow)
 								texture = props.getDustTexture();
 
 							if (!isDrawing || currentTexture != texture) {
@@ -225,8 +223,8 @@ public class StormRenderer {
 							}
 
 							Color color = new Color(1.0F, 1.0F, 1.0F);
-							if (biome.getHasDust()) {
-								final Color c = biome.getDustColor();
+							if (hasDust) {
+								final Color c = PrecipitationColumnCache.getBiome(column).getDustColor();
 								if (c != null)
 									color.mix(c);
 							}
@@ -236,16 +234,16 @@ public class StormRenderer {
 							// The 0.2F factor was originally 0.01F. It
 							// affects the horizontal movement of particles,
 							// which works well for dust.
-							final float factor = biome.getHasDust() ? 0.2F : 0.01F;
-							double d9 = this.random.nextDouble()
-									+ (double) f1 * factor * (double) ((float) this.random.nextGaussian());
-							double d10 = this.random.nextDouble() + (double) (f1 * (float) this.random.nextGaussian()) * 0.001D;
+							final float factor = hasDust ? 0.2F : 0.01F;
+							double d9 = PrecipitationJitter.uniform(jitter)
+									+ (double) f1 * factor * (double) PrecipitationJitter.gaussian(jitter);
+							double d10 = PrecipitationJitter.uniform2(jitter)
+									+ (double) (f1 * PrecipitationJitter.gaussian2(jitter)) * 0.001D;
 							double d11 = (double) ((float) gridX + 0.5F) - entity.posX;
 							double d12 = (double) ((float) gridZ + 0.5F) - entity.posZ;
 							float f6 = MathHelper.sqrt(d11 * d11 + d12 * d12) / (float) range;
 							float f5 = ((1.0F - f6 * f6) * 0.3F + 0.5F) * alphaRatio;
-							this.mutable.setPos(gridX, i3, gridZ);
-							int i4 = (world.getCombinedLight(this.mutable, 0) * 3 + 15728880) / 4;
+							int i4 = (PrecipitationColumnCache.getCombinedLight(world, column, i3) * 3 + 15728880) / 4;
 							int j4 = i4 >> 16 & 65535;
 							int k4 = i4 & 65535;
 							worldrenderer.pos((double) gridX - rainX + 0.5D, (double) k2, (double) gridZ - rainY + 0.5D)
@@ -271,6 +269,10 @@ public class StormRenderer {
 		}
 
 		worldrenderer.setTranslation(0.0D, 0.0D, 0.0D);
+		finish(renderer);
+	}
+
+	private static void finish(@Nonnull final EntityRenderer renderer) {
 		GlStateManager.enableCull();
 		GlStateManager.disableBlend();
 		GlStateManager.alphaFunc(516, 0.1F);
@@ -0,0 +1,386 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.blockartistry.DynSurround.client.weather;
+
+import javax.annotation.Nonnull;
+
+import org.blockartistry.DynSurround.client.handlers.EnvironStateHandler.EnvironState;
+import org.blockartistry.DynSurround.registry.BiomeInfo;
+import org.blockartistry.lib.Color;
+import org.lwjgl.opengl.GL11;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.EntityRenderer;
+import net.minecraft.client.renderer.GlStateManager;
+import net.minecraft.client.renderer.OpenGlHelper;
+import net.minecraft.client.renderer.VertexBuffer;
+import net.minecraft.client.renderer.entity.RenderManager;
+import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Renders the rain/snow/dust sheets from vertex buffer objects. Geometry is
+ * only rebuilt when the player changes block position, the column cache
+ * changes, or the overall alpha moves a noticeable amount. Sheet animation
+ * is done by translating the texture matrix, so the per frame cost does not
+ * depend on range. Columns do not all move at the same rate: rain falls at a
+ * per column speed and snow/dust drift at a per column rate. Columns are
+ * grouped into sheets by quantized rate, and each sheet gets its own
+ * translation.
+ */
+@SideOnly(Side.CLIENT)
+final class StormRendererVbo {
+
+	// Rain is bucketed by fall speed, snow and dust by horizontal and
+	// vertical drift
+	private static final int RAIN_BUCKETS = 8;
+	private static final int DRIFT_U_BUCKETS = 8;
+	private static final int DRIFT_V_BUCKETS = 4;
+	private static final int DRIFT_SHEETS = DRIFT_U_BUCKETS * DRIFT_V_BUCKETS;
+	private static final int RAIN = 0;
+	private static final int SNOW = RAIN + RAIN_BUCKETS;
+	private static final int DUST = SNOW + DRIFT_SHEETS;
+	private static final int SHEET_COUNT = DUST + DRIFT_SHEETS;
+
+	// Gaussian range covered by the drift buckets; values outside are clamped
+	private static final float DRIFT_RANGE = 2.0F;
+
+	// BLOCK format: position 3F, color 4UB, texture 2F, lightmap 2S
+	private static final int STRIDE = 28;
+
+	// Scroll time wraps every SCROLL_PERIOD ticks. Rates are quantized to
+	// multiples of 1 / SCROLL_PERIOD so the wrap is always a whole number of
+	// texture units and does not show.
+	private static final int SCROLL_PERIOD = 1024;
+	private static final int SCROLL_MASK = SCROLL_PERIOD - 1;
+	private static final float SNOW_FALL = 1.0F / 512.0F;
+	private static final float SNOW_DRIFT_U = 0.01F;
+	private static final float DUST_DRIFT_U = 0.2F;
+	private static final float DRIFT_V = 0.001F;
+
+	// Texture scroll per tick for each sheet
+	private static final float[] SCROLL_U = new float[SHEET_COUNT];
+	private static final float[] SCROLL_V = new float[SHEET_COUNT];
+
+	static {
+		for (int i = 0; i < RAIN_BUCKETS; i++)
+			SCROLL_V[RAIN + i] = rainSpeed(i) / 32.0F;
+		for (int i = 0; i < DRIFT_U_BUCKETS; i++) {
+			final float gU = driftCenter(i, DRIFT_U_BUCKETS);
+			for (int j = 0; j < DRIFT_V_BUCKETS; j++) {
+				final int sheet = i * DRIFT_V_BUCKETS + j;
+				final float vRate = SNOW_FALL + quantize(DRIFT_V * driftCenter(j, DRIFT_V_BUCKETS));
+				SCROLL_U[SNOW + sheet] = quantize(SNOW_DRIFT_U * gU);
+				SCROLL_V[SNOW + sheet] = vRate;
+				SCROLL_U[DUST + sheet] = quantize(DUST_DRIFT_U * gU);
+				SCROLL_V[DUST + sheet] = vRate;
+			}
+		}
+	}
+
+	private static float quantize(final float rate) {
+		return (float) Math.round(rate * SCROLL_PERIOD) / SCROLL_PERIOD;
+	}
+
+	// Rain falls at (3 + uniform) / 32 texture units per tick
+	private static float rainSpeed(final int bucket) {
+		return 3.0F + (bucket + 0.5F) / RAIN_BUCKETS;
+	}
+
+	private static int rainBucket(final float uniform) {
+		return Math.min(RAIN_BUCKETS - 1, (int) (uniform * RAIN_BUCKETS));
+	}
+
+	private static float driftCenter(final int bucket, final int buckets) {
+		return -DRIFT_RANGE + (bucket + 0.5F) * (2.0F * DRIFT_RANGE / buckets);
+	}
+
+	private static int driftBucket(final float gaussian, final int buckets) {
+		final int bucket = (int) Math.floor((gaussian + DRIFT_RANGE) / (2.0F * DRIFT_RANGE) * buckets);
+		return MathHelper.clamp(bucket, 0, buckets - 1);
+	}
+
+	// Alpha is baked into the vertex colors; rebuild when it moves this much
+	private static final float ALPHA_STEP = 1.0F / 32.0F;
+
+	// Builders are created on first use; most sheets are empty most of the
+	// time
+	private final VertexBuffer[] builders = new VertexBuffer[SHEET_COUNT];
+	private final boolean[] building = new boolean[SHEET_COUNT];
+	private final net.minecraft.client.renderer.vertex.VertexBuffer[] buffers = new net.minecraft.client.renderer.vertex.VertexBuffer[SHEET_COUNT];
+	private final int[] vertexCount = new int[SHEET_COUNT];
+	private final Color color = new Color(1.0F, 1.0F, 1.0F);
+
+	private World world;
+	private int originX;
+	private int originY;
+	private int originZ;
+	private int builtRange = -1;
+	private int builtVersion;
+	private float builtAlpha = -1.0F;
+
+	StormRendererVbo() {
+
+	}
+
+	static boolean isSupported() {
+		return OpenGlHelper.useVbo();
+	}
+
+	private boolean needsRebuild(@Nonnull final World world, @Nonnull final BlockPos player, final int range,
+			final float alpha) {
+		return this.world != world || this.builtRange != range || this.originX != player.getX()
+				|| this.originY != player.getY() || this.originZ != player.getZ()
+				|| this.builtVersion != PrecipitationColumnCache.getVersion()
+				|| Math.abs(this.builtAlpha - alpha) >= ALPHA_STEP;
+	}
+
+	private void rebuild(@Nonnull final World world, @Nonnull final BlockPos player, final int range,
+			final float alphaRatio) {
+		this.world = world;
+		this.originX = player.getX();
+		this.originY = player.getY();
+		this.originZ = player.getZ();
+		this.builtRange = range;
+		this.builtAlpha = alphaRatio;
+
+		final double centerX = this.originX + 0.5D;
+		final double centerZ = this.originZ + 0.5D;
+
+		for (int gridZ = this.originZ - range; gridZ <= this.originZ + range; ++gridZ) {
+			for (int gridX = this.originX - range; gridX <= this.originX + range; ++gridX) {
+				final int column = PrecipitationColumnCache.index(world, gridX, gridZ);
+				final boolean hasDust = PrecipitationColumnCache.hasDust(column);
+				if (!hasDust && !PrecipitationColumnCache.hasPrecipitation(column))
+					continue;
+
+				final int precipHeight = PrecipitationColumnCache.getPrecipitationHeight(column);
+				final int minY = Math.max(this.originY - range, precipHeight);
+				final int maxY = Math.max(this.originY + range, precipHeight);
+				if (minY == maxY)
+					continue;
+
+				final int lightY = Math.max(precipHeight, this.originY);
+				final int idx = (gridZ - this.originZ + 16) * 32 + gridX - this.originX + 16;
+				final float rainX = (float) StormRenderer.RAIN_X_COORDS[idx];
+				final float rainY = (float) StormRenderer.RAIN_Y_COORDS[idx];
+				final int hash = gridX * gridX * 3121 + gridX * 45238971 ^ gridZ * gridZ * 418711 + gridZ * 13761;
+				final int jitter = PrecipitationJitter.index(gridX, gridZ);
+
+				final double dX = (double) gridX + 0.5D - centerX;
+				final double dZ = (double) gridZ + 0.5D - centerZ;
+				final float dist = MathHelper.sqrt(dX * dX + dZ * dZ) / (float) range;
+				final boolean canSnow = PrecipitationColumnCache.canWaterFreeze(world, column, minY);
+
+				final int sheet;
+				final float u;
+				final float v;
+				final float alpha;
+				final int light;
+
+				if (!hasDust && !canSnow) {
+					final int bucket = rainBucket(PrecipitationJitter.uniform(jitter));
+					sheet = RAIN + bucket;
+					u = 0.0F;
+					v = ((hash & 31) / 32.0F) * rainSpeed(bucket);
+					alpha = ((1.0F - dist * dist) * 0.5F + 0.5F) * alphaRatio;
+					light = PrecipitationColumnCache.getCombinedLight(world, column, lightY);
+					this.color.red = this.color.green = this.color.blue = 1.0F;
+				} else {
+					sheet = (hasDust && !canSnow ? DUST : SNOW)
+							+ driftBucket(PrecipitationJitter.gaussian(jitter), DRIFT_U_BUCKETS) * DRIFT_V_BUCKETS
+							+ driftBucket(PrecipitationJitter.gaussian2(jitter), DRIFT_V_BUCKETS);
+					u = PrecipitationJitter.uniform(jitter);
+					v = PrecipitationJitter.uniform2(jitter);
+					alpha = ((1.0F - dist * dist) * 0.3F + 0.5F) * alphaRatio;
+					light = (PrecipitationColumnCache.getCombinedLight(world, column, lightY) * 3 + 15728880) / 4;
+					this.color.red = this.color.green = this.color.blue = 1.0F;
+					if (hasDust) {
+						final BiomeInfo biome = PrecipitationColumnCache.getBiome(column);
+						final Color c = biome.getDustColor();
+						if (c != null)
+							this.color.mix(c);
+					}
+				}
+
+				final int skyLight = light >> 16 & 65535;
+				final int blockLight = light & 65535;
+				final float x = gridX - this.originX + 0.5F;
+				final float z = gridZ - this.originZ + 0.5F;
+				final float y0 = minY - this.originY;
+				final float y1 = maxY - this.originY;
+				final float v0 = minY * 0.25F + v;
+				final float v1 = maxY * 0.25F + v;
+
+				final VertexBuffer b = builder(sheet);
+				b.pos(x - rainX, y0, z - rainY).color(this.color.red, this.color.green, this.color.blue, alpha)
+						.tex(u, v0).lightmap(skyLight, blockLight).endVertex();
+				b.pos(x + rainX, y0, z + rainY).color(this.color.red, this.color.green, this.color.blue, alpha)
+						.tex(u + 1.0F, v0).lightmap(skyLight, blockLight).endVertex();
+				b.pos(x + rainX, y1, z + rainY).color(this.color.red, this.color.green, this.color.blue, alpha)
+						.tex(u + 1.0F, v1).lightmap(skyLight, blockLight).endVertex();
+				b.pos(x - rainX, y1, z - rainY).color(this.color.red, this.color.green, this.color.blue, alpha)
+						.tex(u, v1).lightmap(skyLight, blockLight).endVertex();
+			}
+		}
+
+		// Looking up columns may have resolved them so grab the version
+		// after the fact.
+		this.builtVersion = PrecipitationColumnCache.getVersion();
+
+		for (int i = 0; i < SHEET_COUNT; i++) {
+			if (!this.building[i]) {
+				this.vertexCount[i] = 0;
+				continue;
+			}
+			this.building[i] = false;
+			final VertexBuffer b = this.builders[i];
+			b.finishDrawing();
+			this.vertexCount[i] = b.getVertexCount();
+			if (this.vertexCount[i] > 0) {
+				if (this.buffers[i] == null)
+					this.buffers[i] = new net.minecraft.client.renderer.vertex.VertexBuffer(DefaultVertexFormats.BLOCK);
+				this.buffers[i].bufferData(b.getByteBuffer());
+			}
+			b.reset();
+		}
+	}
+
+	@Nonnull
+	private VertexBuffer builder(final int sheet) {
+		VertexBuffer b = this.builders[sheet];
+		if (b == null)
+			b = this.builders[sheet] = new VertexBuffer(256);
+		if (!this.building[sheet]) {
+			b.begin(GL11.GL_QUADS, DefaultVertexFormats.BLOCK);
+			this.building[sheet] = true;
+		}
+		return b;
+	}
+
+	private static void setupArrayPointers() {
+		GlStateManager.glVertexPointer(3, GL11.GL_FLOAT, STRIDE, 0);
+		GlStateManager.glColorPointer(4, GL11.GL_UNSIGNED_BYTE, STRIDE, 12);
+		GlStateManager.glTexCoordPointer(2, GL11.GL_FLOAT, STRIDE, 16);
+		OpenGlHelper.setClientActiveTexture(OpenGlHelper.lightmapTexUnit);
+		GlStateManager.glTexCoordPointer(2, GL11.GL_SHORT, STRIDE, 24);
+		OpenGlHelper.setClientActiveTexture(OpenGlHelper.defaultTexUnit);
+	}
+
+	private static void enableClientState() {
+		GlStateManager.glEnableClientState(GL11.GL_VERTEX_ARRAY);
+		GlStateManager.glEnableClientState(GL11.GL_COLOR_ARRAY);
+		GlStateManager.glEnableClientState(GL11.GL_TEXTURE_COORD_ARRAY);
+		OpenGlHelper.setClientActiveTexture(OpenGlHelper.lightmapTexUnit);
+		GlStateManager.glEnableClientState(GL11.GL_TEXTURE_COORD_ARRAY);
+		OpenGlHelper.setClientActiveTexture(OpenGlHelper.defaultTexUnit);
+	}
+
+	private static void disableClientState() {
+		GlStateManager.glDisableClientState(GL11.GL_VERTEX_ARRAY);
+		GlStateManager.glDisableClientState(GL11.GL_COLOR_ARRAY);
+		GlStateManager.glDisableClientState(GL11.GL_TEXTURE_COORD_ARRAY);
+		OpenGlHelper.setClientActiveTexture(OpenGlHelper.lightmapTexUnit);
+		GlStateManager.glDisableClientState(GL11.GL_TEXTURE_COORD_ARRAY);
+		OpenGlHelper.setClientActiveTexture(OpenGlHelper.defaultTexUnit);
+		GlStateManager.resetColor();
+	}
+
+	private void drawSheets(final int first, final int count, @Nonnull final ResourceLocation texture,
+			final float time) {
+		boolean bound = false;
+		for (int i = first; i < first + count; i++) {
+			if (this.vertexCount[i] == 0 || this.buffers[i] == null)
+				continue;
+
+			if (!bound) {
+				Minecraft.getMinecraft().getTextureManager().bindTexture(texture);
+				bound = true;
+			}
+
+			GlStateManager.matrixMode(GL11.GL_TEXTURE);
+			GlStateManager.loadIdentity();
+			GlStateManager.translate(time * SCROLL_U[i], time * SCROLL_V[i], 0.0F);
+			GlStateManager.matrixMode(GL11.GL_MODELVIEW);
+
+			this.buffers[i].bindBuffer();
+			setupArrayPointers();
+			this.buffers[i].drawArrays(GL11.GL_QUADS);
+			this.buffers[i].unbindBuffer();
+		}
+	}
+
+	/**
+	 * Draws the sheets. Caller is responsible for blend/cull/lightmap state.
+	 */
+	void render(@Nonnull final EntityRenderer renderer, @Nonnull final World world, final int range,
+			final float alphaRatio, final float partialTicks) {
+
+		final BlockPos player = EnvironState.getPlayerPosition();
+		if (needsRebuild(world, player, range, alphaRatio))
+			rebuild(world, player, range, alphaRatio);
+
+		final RenderManager manager = renderer.mc.getRenderManager();
+		final WeatherProperties props = WeatherProperties.getIntensity();
+		final int ticks = renderer.rendererUpdateCount;
+
+		final float time = (ticks & SCROLL_MASK) + partialTicks;
+
+		GlStateManager.pushMatrix();
+		GlStateManager.translate(this.originX - manager.viewerPosX, this.originY - manager.viewerPosY,
+				this.originZ - manager.viewerPosZ);
+
+		enableClientState();
+		drawSheets(RAIN, RAIN_BUCKETS, props.getRainTexture(), time);
+		drawSheets(SNOW, DRIFT_SHEETS, props.getSnowTexture(), time);
+		drawSheets(DUST, DRIFT_SHEETS, props.getDustTexture(), time);
+		disableClientState();
+
+		GlStateManager.matrixMode(GL11.GL_TEXTURE);
+		GlStateManager.loadIdentity();
+		GlStateManager.matrixMode(GL11.GL_MODELVIEW);
+		GlStateManager.popMatrix();
+	}
+
+	/**
+	 * Releases the GL buffers.
+	 */
+	void release() {
+		for (int i = 0; i < SHEET_COUNT; i++) {
+			if (this.buffers[i] != null) {
+				this.buffers[i].deleteGlBuffers();
+				this.buffers[i] = null;
+			}
+			this.vertexCount[i] = 0;
+		}
+		this.world = null;
+		this.builtRange = -1;
+	}
+}
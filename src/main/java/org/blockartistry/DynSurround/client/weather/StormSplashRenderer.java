@@ -27,14 +27,12 @@ package org.blockartistry.DynSurround.client.weather;
 import java.util.Random;
 
 import org.blockartistry.DynSurround.ModOptions;
+import org.blockartistry.DynSurround.client.fx.ParticleBudget;
 import org.blockartistry.DynSurround.client.fx.ParticleCollections;
 import org.blockartistry.DynSurround.client.fx.particle.ParticleHelper;
 import org.blockartistry.DynSurround.client.sound.SoundEngine;
-import org.blockartistry.DynSurround.registry.BiomeInfo;
-import org.blockartistry.DynSurround.registry.BiomeRegistry;
 import org.blockartistry.DynSurround.registry.DimensionRegistry;
 import org.blockartistry.DynSurround.registry.RegistryManager;
-import org.blockartistry.DynSurround.registry.SeasonRegistry;
 import org.blockartistry.DynSurround.registry.RegistryManager.RegistryType;
 import org.blockartistry.lib.WorldUtils;
 import org.blockartistry.lib.random.XorShiftRandom;
@@ -53,7 +51,6 @@ import net.minecraft.util.SoundEvent;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.World;
-import net.minecraft.world.biome.Biome;
 import net.minecraft.world.gen.NoiseGeneratorSimplex;
 import net.minecraftforge.fml.relauncher.SideOnly;
 import net.minecraftforge.fml.relauncher.Side;
@@ -82,9 +79,7 @@ public class StormSplashRenderer {
 	protected final NoiseGeneratorSimplex GENERATOR = new NoiseGeneratorSimplex(RANDOM);
 	protected final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
 
-	private final BiomeRegistry biomes = RegistryManager.get(RegistryType.BIOME);
 	private final DimensionRegistry dimensions = RegistryManager.get(RegistryType.DIMENSION);
-	private final SeasonRegistry season = RegistryManager.get(RegistryType.SEASON);
 	
 	protected StormSplashRenderer() {
 
@@ -127,27 +122,28 @@ public class StormSplashRenderer {
 		return WeatherProperties.getIntensity().getStormSound();
 	}
 
-	protected BlockPos getPrecipitationHeight(final World world, final int range, final BlockPos pos) {
-		return this.season.getPrecipitationHeight(world, pos);
+	protected int getPrecipitationHeight(final World world, final int range, final int x, final int z) {
+		return PrecipitationColumnCache.getPrecipitationHeight(PrecipitationColumnCache.index(world, x, z));
 	}
 
-	protected boolean biomeHasDust(final Biome biome) {
-		return ModOptions.allowDesertFog && !WeatherProperties.doVanilla() && this.biomes.get(biome).getHasDust();
+	protected boolean biomeHasDust(final World world, final int x, final int z) {
+		return ModOptions.allowDesertFog && !WeatherProperties.doVanilla()
+				&& PrecipitationColumnCache.hasDust(PrecipitationColumnCache.index(world, x, z));
 	}
 
 	protected void playSplashSound(final EntityRenderer renderer, final World world, final Entity player, double x,
 			double y, double z) {
 
 		this.pos.setPos(x, y - 1, z);
-		final boolean hasDust = biomeHasDust(world.getBiome(this.pos));
+		final boolean hasDust = biomeHasDust(world, this.pos.getX(), this.pos.getZ());
 		final Block block = WorldUtils.getBlockState(world, this.pos).getBlock();
 		final SoundEvent sound = getBlockSoundFX(block, hasDust, world);
 		if (sound != null) {
 			final float volume = calculateRainSoundVolume(world);
 			float pitch = 1.0F;
 			final int playerY = MathHelper.floor(player.posY);
-			this.pos.setPos(player.posX, 0, player.posZ);
-			if (y > player.posY + 1.0D && getPrecipitationHeight(world, 0, this.pos).getY() > playerY)
+			if (y > player.posY + 1.0D && getPrecipitationHeight(world, 0, MathHelper.floor(player.posX),
+					MathHelper.floor(player.posZ)) > playerY)
 				pitch = 0.5F;
 			pitch -= (this.RANDOM.nextFloat() - this.RANDOM.nextFloat()) * 0.1F;
 			this.pos.setPos(x, y, z);
@@ -170,7 +166,6 @@ public class StormSplashRenderer {
 		if (rainStrengthFactor <= 0.0F)
 			return;
 
-		RANDOM.setSeed((long) theThis.rendererUpdateCount * 312987231L);
 		final Entity entity = theThis.mc.getRenderViewEntity();
 		final int playerX = MathHelper.floor(entity.posX);
 		final int playerY = MathHelper.floor(entity.posY);
@@ -188,22 +183,24 @@ public class StormSplashRenderer {
 		if (theThis.mc.gameSettings.particleSetting == 1)
 			particleCount >>= 1;
 
+		// Follow the particle budget so slow clients are not flooded
+		particleCount = (int) (particleCount * ParticleBudget.getSpawnScale());
+
 		for (int j1 = 0; j1 < particleCount; ++j1) {
 			final int locX = playerX + RANDOM.nextInt(RANGE) - RANDOM.nextInt(RANGE);
 			final int locZ = playerZ + RANDOM.nextInt(RANGE) - RANDOM.nextInt(RANGE);
-			this.pos.setPos(locX, 0, locZ);
-			final BlockPos precipHeight = getPrecipitationHeight(world, RANGE / 2, this.pos);
-			final BiomeInfo biome = this.biomes.get(world.getBiome(this.pos));
-			final boolean hasDust = biome.getHasDust();
-			final boolean canSnow = this.season.canWaterFreeze(world, precipHeight);
+			final int column = PrecipitationColumnCache.index(world, locX, locZ);
+			final int precipHeight = getPrecipitationHeight(world, RANGE / 2, locX, locZ);
+			final boolean hasDust = PrecipitationColumnCache.hasDust(column);
+			final boolean canSnow = PrecipitationColumnCache.canWaterFreeze(column);
 
-			if (precipHeight.getY() <= playerY + RANGE && precipHeight.getY() >= playerY - RANGE
-					&& (hasDust || (biome.getHasPrecipitation() && !canSnow))) {
+			if (precipHeight <= playerY + RANGE && precipHeight >= playerY - RANGE
+					&& (hasDust || (PrecipitationColumnCache.hasPrecipitation(column) && !canSnow))) {
 
-				final BlockPos blockPos = precipHeight.down();
-				final IBlockState state = WorldUtils.getBlockState(world, blockPos);
+				this.pos.setPos(locX, precipHeight - 1, locZ);
+				final IBlockState state = WorldUtils.getBlockState(world, this.pos);
 				final double posX = locX + RANDOM.nextFloat();
-				final double posY = precipHeight.getY() + 0.1F - state.getBoundingBox(world, blockPos).minY;
+				final double posY = precipHeight + 0.1F - state.getBoundingBox(world, this.pos).minY;
 				final double posZ = locZ + RANDOM.nextFloat();
 
 				spawnBlockParticle(state, hasDust, world, posX, posY, posZ);
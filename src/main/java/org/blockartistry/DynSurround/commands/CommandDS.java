@@ -29,6 +29,7 @@ import java.util.List;
 
 import org.blockartistry.DynSurround.ModOptions;
 import org.blockartistry.DynSurround.data.DimensionEffectData;
+import org.blockartistry.DynSurround.network.TrafficLimiter;
 import org.blockartistry.DynSurround.registry.RegistryManager;
 import org.blockartistry.lib.Localization;
 
@@ -56,6 +57,7 @@ public final class CommandDS extends CommandBase {
 	private static final String COMMAND_OPTION_SETSTRENGTH = "setstr";
 	private static final String COMMAND_OPTION_SETTIME = "settime";
 	private static final String COMMAND_OPTION_CONFIG = "config";
+	private static final String COMMAND_OPTION_TRAFFIC = "traffic";
 
 	private static final List<String> ALIAS = ImmutableList.<String>builder().add(ModOptions.commandAliasDS.split(" "))
 			.build();
@@ -66,6 +68,7 @@ public final class CommandDS extends CommandBase {
 			.add(TextFormatting.YELLOW + "/" + COMMAND + " reset")
 			.add(TextFormatting.YELLOW + "/" + COMMAND + " reload")
 			.add(TextFormatting.YELLOW + "/" + COMMAND + " config")
+			.add(TextFormatting.YELLOW + "/" + COMMAND + " traffic [reset]")
 			.add(TextFormatting.YELLOW + "/" + COMMAND + " status <rain|thunder|aurora>")
 			.add(TextFormatting.YELLOW + "/" + COMMAND + " settime <rain|thunder> 0-1000")
 			.add(TextFormatting.YELLOW + "/" + COMMAND + " setstr rain 0-100")
@@ -140,6 +143,19 @@ public final class CommandDS extends CommandBase {
 				feedback = new TextComponentString(Localization.format("msg.BiomeReload"));
 			} else if (COMMAND_OPTION_CONFIG.compareToIgnoreCase(parms[0]) == 0) {
 				feedback = new TextComponentString(config(world, data));
+			} else if (COMMAND_OPTION_TRAFFIC.compareToIgnoreCase(parms[0]) == 0) {
+				if (parms.length > 1 && COMMAND_OPTION_RESET.compareToIgnoreCase(parms[1]) == 0) {
+					TrafficLimiter.reset();
+					feedback = new TextComponentString(Localization.format("msg.TrafficReset"));
+				} else {
+					final List<String> report = TrafficLimiter.report();
+					if (report.isEmpty()) {
+						feedback = new TextComponentString(Localization.format("msg.TrafficNone"));
+					} else {
+						for (final String line : report)
+							sender.sendMessage(new TextComponentString(line));
+					}
+				}
 			} else if (COMMAND_OPTION_STATUS.compareToIgnoreCase(parms[0]) == 0) {
 				if (parms.length < 2) {
 					showHelp = true;
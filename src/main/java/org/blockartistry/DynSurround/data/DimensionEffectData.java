@@ -24,6 +24,9 @@
 
 package org.blockartistry.DynSurround.data;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.text.DecimalFormat;
 import java.util.Random;
 import javax.annotation.Nonnull;
@@ -48,6 +51,11 @@ public final class DimensionEffectData extends WorldSavedData {
 	public final static float MIN_INTENSITY = 0.0F;
 	public final static float MAX_INTENSITY = 1.0F;
 
+	// Minimum change in the fast moving values before the data is
+	// considered in need of saving
+	private final static float CURRENT_INTENSITY_DELTA = 0.05F;
+	private final static int THUNDER_TIMER_DELTA = 200;
+
 	private final class NBT {
 		public final static String DIMENSION = "d";
 		public final static String INTENSITY = "s";
@@ -65,7 +73,15 @@ public final class DimensionEffectData extends WorldSavedData {
 	private float maxIntensity = ModOptions.defaultMaxRainStrength;
 	private int thunderTimer = 0;
 
-	private DimensionEffectData(final int dimension) {
+	// Values as of the last save
+	private float savedCurrentIntensity = 0.0F;
+	private int savedThunderTimer = 0;
+
+	// When set the data is persisted by DimensionEffectStore rather than
+	// the world MapStorage
+	boolean consolidated = false;
+
+	DimensionEffectData(final int dimension) {
 		this(DSurround.MOD_ID);
 		this.dimensionId = dimension;
 	}
@@ -98,7 +114,11 @@ public final class DimensionEffectData extends WorldSavedData {
 		final float i = MathStuff.clamp(intensity, 0, this.intensity);
 		if (this.currentIntensity != i) {
 			this.currentIntensity = i;
-			this.markDirty();
+			// Rain ramps a little every tick so only flag the data when
+			// the change is meaningful or rain has fully started/stopped
+			if (i != this.savedCurrentIntensity && (i == 0 || i == this.intensity
+					|| Math.abs(i - this.savedCurrentIntensity) >= CURRENT_INTENSITY_DELTA))
+				this.markDirty();
 		}
 	}
 
@@ -134,7 +154,11 @@ public final class DimensionEffectData extends WorldSavedData {
 		final int t = MathStuff.clamp(time, 0, Integer.MAX_VALUE);
 		if (this.thunderTimer != t) {
 			this.thunderTimer = t;
-			this.markDirty();
+			// The timer counts down every tick during a storm so only
+			// flag the data for large changes or when it clears
+			if ((t == 0) != (this.savedThunderTimer == 0)
+					|| Math.abs(t - this.savedThunderTimer) >= THUNDER_TIMER_DELTA)
+				this.markDirty();
 		}
 	}
 
@@ -163,6 +187,7 @@ public final class DimensionEffectData extends WorldSavedData {
 			this.setMaxRainIntensity(nbt.getFloat(NBT.MAX_INTENSITY));
 		if (nbt.hasKey(NBT.THUNDER_TIMER))
 			this.setThunderTimer(nbt.getInteger(NBT.THUNDER_TIMER));
+		this.markSaved();
 	}
 
 	@Override
@@ -174,9 +199,45 @@ public final class DimensionEffectData extends WorldSavedData {
 		nbt.setFloat(NBT.MIN_INTENSITY, this.getMinRainIntensity());
 		nbt.setFloat(NBT.MAX_INTENSITY, this.getMaxRainIntensity());
 		nbt.setInteger(NBT.THUNDER_TIMER, this.getThunderTimer());
+		this.markSaved();
 		return nbt;
 	}
 
+	@Override
+	public boolean isDirty() {
+		// When consolidated the MapStorage should not write the data
+		return !this.consolidated && super.isDirty();
+	}
+
+	boolean hasChanged() {
+		return super.isDirty();
+	}
+
+	void markSaved() {
+		this.savedCurrentIntensity = this.currentIntensity;
+		this.savedThunderTimer = this.thunderTimer;
+		this.setDirty(false);
+	}
+
+	void read(@Nonnull final DataInput in) throws IOException {
+		this.dimensionId = in.readInt();
+		this.setRainIntensity(in.readFloat());
+		this.setCurrentRainIntensity(in.readFloat());
+		this.setMinRainIntensity(in.readFloat());
+		this.setMaxRainIntensity(in.readFloat());
+		this.setThunderTimer(in.readInt());
+		this.markSaved();
+	}
+
+	void write(@Nonnull final DataOutput out) throws IOException {
+		out.writeInt(this.dimensionId);
+		out.writeFloat(this.intensity);
+		out.writeFloat(this.currentIntensity);
+		out.writeFloat(this.minIntensity);
+		out.writeFloat(this.maxIntensity);
+		out.writeInt(this.thunderTimer);
+	}
+
 	@Nonnull
 	public String configString() {
 		final StringBuilder builder = new StringBuilder();
@@ -203,6 +264,13 @@ public final class DimensionEffectData extends WorldSavedData {
 
 	@Nonnull
 	public static DimensionEffectData get(@Nonnull final World world) {
+		if (ModOptions.consolidateEffectData)
+			return DimensionEffectStore.get(world);
+		return getFromStorage(world);
+	}
+
+	@Nonnull
+	static DimensionEffectData getFromStorage(@Nonnull final World world) {
 		final MapStorage storage = world.getPerWorldStorage();
 		DimensionEffectData data = (DimensionEffectData) storage.getOrLoadData(DimensionEffectData.class,
 				DSurround.MOD_ID);
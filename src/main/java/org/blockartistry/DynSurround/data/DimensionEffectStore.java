@@ -0,0 +1,225 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.blockartistry.DynSurround.data;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.blockartistry.DynSurround.DSurround;
+
+import gnu.trove.map.hash.TIntObjectHashMap;
+import gnu.trove.procedure.TObjectProcedure;
+import net.minecraft.world.World;
+import net.minecraftforge.common.DimensionManager;
+
+/**
+ * Keeps the effect data for all dimensions in a single compact file in the
+ * save's data directory. Snapshots are taken on the server thread when the
+ * world saves and the file is written by a background thread.
+ */
+public final class DimensionEffectStore {
+
+	private DimensionEffectStore() {
+
+	}
+
+	private static final String FILE_NAME = DSurround.MOD_ID + "_effects.dat";
+	private static final int VERSION = 1;
+
+	private static final TIntObjectHashMap<DimensionEffectData> dimensions = new TIntObjectHashMap<DimensionEffectData>();
+	private static File file;
+	private static ExecutorService writer;
+
+	private static final TObjectProcedure<DimensionEffectData> CHANGED = new TObjectProcedure<DimensionEffectData>() {
+		@Override
+		public boolean execute(@Nonnull final DimensionEffectData data) {
+			return !data.hasChanged();
+		}
+	};
+
+	@Nonnull
+	static synchronized DimensionEffectData get(@Nonnull final World world) {
+		if (file == null)
+			load();
+
+		final int dimId = world.provider.getDimension();
+		DimensionEffectData data = dimensions.get(dimId);
+		if (data == null) {
+			// Pick up anything previously saved with the world so
+			// switching modes does not reset the weather
+			data = DimensionEffectData.getFromStorage(world);
+			data.consolidated = true;
+			data.markDirty();
+			dimensions.put(dimId, data);
+		}
+		return data;
+	}
+
+	private static void load() {
+		file = new File(new File(DimensionManager.getCurrentSaveRootDirectory(), "data"), FILE_NAME);
+		if (!file.exists())
+			return;
+
+		InputStream stream = null;
+		try {
+			stream = new FileInputStream(file);
+			final DataInputStream in = new DataInputStream(stream);
+			final int version = in.readInt();
+			if (version != VERSION) {
+				DSurround.log().warn("Unknown effect data version %d; ignoring", version);
+				return;
+			}
+			int count = in.readInt();
+			while (count-- > 0) {
+				final DimensionEffectData data = new DimensionEffectData(0);
+				data.read(in);
+				data.consolidated = true;
+				dimensions.put(data.getDimensionId(), data);
+			}
+		} catch (final IOException ex) {
+			DSurround.log().error("Unable to read effect data", ex);
+		} finally {
+			close(stream);
+		}
+	}
+
+	@Nullable
+	private static byte[] snapshot() {
+		// Nothing to do if none of the dimensions have changed
+		if (dimensions.isEmpty() || dimensions.forEachValue(CHANGED))
+			return null;
+
+		try {
+			final ByteArrayOutputStream bytes = new ByteArrayOutputStream(8 + dimensions.size() * 24);
+			final DataOutputStream out = new DataOutputStream(bytes);
+			out.writeInt(VERSION);
+			out.writeInt(dimensions.size());
+			for (final DimensionEffectData data : dimensions.valueCollection()) {
+				data.write(out);
+				data.markSaved();
+			}
+			out.flush();
+			return bytes.toByteArray();
+		} catch (final IOException ex) {
+			DSurround.log().error("Unable to snapshot effect data", ex);
+			return null;
+		}
+	}
+
+	private static void write(@Nonnull final File target, @Nonnull final byte[] payload) {
+		final File temp = new File(target.getPath() + ".tmp");
+		OutputStream out = null;
+		try {
+			target.getParentFile().mkdirs();
+			out = new FileOutputStream(temp);
+			out.write(payload);
+			out.close();
+			out = null;
+			Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} catch (final IOException ex) {
+			DSurround.log().error("Unable to write effect data", ex);
+		} finally {
+			close(out);
+		}
+	}
+
+	private static void close(@Nullable final Closeable c) {
+		if (c != null)
+			try {
+				c.close();
+			} catch (final IOException ex) {
+				;
+			}
+	}
+
+	/**
+	 * Snapshots the current data and queues it to be written. Should be called
+	 * on the server thread.
+	 */
+	public static synchronized void save() {
+		if (file == null)
+			return;
+
+		final byte[] payload = snapshot();
+		if (payload == null)
+			return;
+
+		if (writer == null)
+			writer = Executors.newSingleThreadExecutor(new ThreadFactory() {
+				@Override
+				public Thread newThread(@Nonnull final Runnable r) {
+					final Thread t = new Thread(r, "DSurround Effect Data Writer");
+					t.setDaemon(true);
+					return t;
+				}
+			});
+
+		final File target = file;
+		writer.submit(new Runnable() {
+			@Override
+			public void run() {
+				write(target, payload);
+			}
+		});
+	}
+
+	/**
+	 * Flushes any pending data and releases state. Called when the server
+	 * stops.
+	 */
+	public static synchronized void shutdown() {
+		save();
+		if (writer != null) {
+			writer.shutdown();
+			try {
+				writer.awaitTermination(10, TimeUnit.SECONDS);
+			} catch (final InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			writer = null;
+		}
+		dimensions.clear();
+		file = null;
+	}
+
+}
@@ -32,18 +32,53 @@ import org.blockartistry.lib.EntityUtils;
 
 import net.minecraft.entity.EntityLiving;
 import net.minecraft.entity.ai.EntityAIBase;
-
+import net.minecraft.world.WorldServer;
+
+/**
+ * Maintains the emoji state of an entity on the server. Evaluating the state
+ * walks the running AI tasks so it is throttled: entities that no player is
+ * tracking are skipped entirely, and tracked entities are evaluated when a
+ * cheap signature of their AI, target, potion and health state changes or
+ * on a staggered interval otherwise.
+ */
 public class EntityAIEmoji extends EntityAIBase {
 
 	public static final int PRIORITY = 400;
 
+	// Ticks between evaluations when nothing observable has changed
+	protected static final int EVALUATION_INTERVAL = 20;
+
+	// Server side metrics; reset each server tick by the metrics service
+	private static int tickCount;
+	private static int evaluationCount;
+
 	protected final EntityLiving subject;
 	protected IEmojiDataSettable data;
+	protected boolean wasTracked;
+	protected int signature;
 
 	public EntityAIEmoji(final EntityLiving subject) {
 		this.subject = subject;
 	}
 
+	/**
+	 * Number of emoji tasks that ticked since the last call.
+	 */
+	public static int takeTickCount() {
+		final int result = tickCount;
+		tickCount = 0;
+		return result;
+	}
+
+	/**
+	 * Number of emoji evaluations performed since the last call.
+	 */
+	public static int takeEvaluationCount() {
+		final int result = evaluationCount;
+		evaluationCount = 0;
+		return result;
+	}
+
 	@Override
 	public boolean shouldExecute() {
 		return true;
@@ -56,6 +91,26 @@ public class EntityAIEmoji extends EntityAIBase {
 	@Override
 	public void updateTask() {
 
+		tickCount++;
+
+		// Nobody to show it to. When a player starts tracking again they are
+		// sent the last known state and a fresh evaluation follows next tick.
+		if (!isTracked()) {
+			this.wasTracked = false;
+			return;
+		}
+
+		final int sig = getSignature();
+		final boolean due = !this.wasTracked || sig != this.signature
+				|| (this.subject.ticksExisted + this.subject.getEntityId()) % EVALUATION_INTERVAL == 0;
+		this.wasTracked = true;
+		this.signature = sig;
+
+		if (!due)
+			return;
+
+		evaluationCount++;
+
 		if (this.data == null)
 			this.data = (IEmojiDataSettable) subject.getCapability(CapabilityEmojiData.EMOJI,
 					CapabilityEmojiData.DEFAULT_FACING);
@@ -68,6 +123,24 @@ public class EntityAIEmoji extends EntityAIBase {
 			this.data.sync();
 	}
 
+	protected boolean isTracked() {
+		return this.subject.world instanceof WorldServer && !((WorldServer) this.subject.world).getEntityTracker()
+				.getTrackingPlayers(this.subject).isEmpty();
+	}
+
+	/**
+	 * Cheap summary of the state that feeds the evaluation. A change forces an
+	 * evaluation; anything it misses is picked up by the interval.
+	 */
+	protected int getSignature() {
+		int sig = this.subject.tasks.executingTaskEntries.size();
+		sig = sig * 31 + this.subject.targetTasks.executingTaskEntries.size();
+		sig = sig * 31 + System.identityHashCode(this.subject.getAttackTarget());
+		sig = sig * 31 + this.subject.getActivePotionMap().size();
+		sig = sig * 31 + (this.subject.getHealth() <= (this.subject.getMaxHealth() / 2.0F) ? 1 : 0);
+		return sig;
+	}
+
 	protected void updateActionState() {
 		this.data.setActionState(EmojiDataTables.assess(this.subject));
 	}
@@ -37,6 +37,11 @@ public class EntityAIVillagerEmoji extends EntityAIEmoji {
 		super(subject);
 	}
 
+	@Override
+	protected int getSignature() {
+		return super.getSignature() * 31 + (((EntityVillager) this.subject).isTrading() ? 1 : 0);
+	}
+
 	@Override
 	protected void updateActionState() {
 		final EntityVillager villager = (EntityVillager) this.subject;
@@ -53,8 +53,9 @@ public class Locus extends TargetPoint {
 	}
 
 	public Locus(@Nonnull final ByteBuf buf) {
-		super(buf.readInt(), buf.readFloat(), buf.readFloat(), buf.readFloat(), buf.readFloat());
-		this.entityId = buf.readInt();
+		super(PacketCodec.readSignedVarInt(buf), PacketCodec.readCoord(buf), PacketCodec.readCoord(buf),
+				PacketCodec.readCoord(buf), PacketCodec.readVarInt(buf));
+		this.entityId = PacketCodec.readSignedVarInt(buf);
 	}
 
 	public Locus(@Nonnull final Locus locus, final int range) {
@@ -72,12 +73,12 @@ public class Locus extends TargetPoint {
 	}
 
 	public void toBytes(@Nonnull final ByteBuf buf) {
-		buf.writeInt(this.dimension);
-		buf.writeFloat((float) this.x);
-		buf.writeFloat((float) this.y);
-		buf.writeFloat((float) this.z);
-		buf.writeFloat((float) this.range);
-		buf.writeInt(this.entityId);
+		PacketCodec.writeSignedVarInt(buf, this.dimension);
+		PacketCodec.writeCoord(buf, this.x);
+		PacketCodec.writeCoord(buf, this.y);
+		PacketCodec.writeCoord(buf, this.z);
+		PacketCodec.writeVarInt(buf, (int) Math.ceil(this.range));
+		PacketCodec.writeSignedVarInt(buf, this.entityId);
 	}
 
 }
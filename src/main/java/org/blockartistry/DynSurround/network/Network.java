@@ -24,6 +24,7 @@
 
 package org.blockartistry.DynSurround.network;
 
+import java.util.List;
 import java.util.Set;
 
 import javax.annotation.Nonnull;
@@ -33,6 +34,7 @@ import net.minecraft.client.Minecraft;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.util.IThreadListener;
 import net.minecraft.world.WorldServer;
 import net.minecraftforge.common.MinecraftForge;
@@ -69,16 +71,18 @@ public final class Network {
 				Side.CLIENT);
 		NETWORK.registerMessage(PacketServerData.PacketHandler.class, PacketServerData.class, ++discriminator,
 				Side.CLIENT);
-		NETWORK.registerMessage(PacketDisplayFootprint.PacketHandler.class, PacketDisplayFootprint.class,
-				++discriminator, Side.CLIENT);
+		// Retired PacketDisplayFootprint; the slot is kept so the discriminators
+		// that follow do not shift
+		++discriminator;
 		NETWORK.registerMessage(PacketPlaySound.PacketHandler.class, PacketPlaySound.class, ++discriminator,
 				Side.CLIENT);
 
 		// Client -> Server messages
-		NETWORK.registerMessage(PacketDisplayFootprint.PacketHandlerServer.class, PacketDisplayFootprint.class,
-				++discriminator, Side.SERVER);
+		++discriminator; // Retired PacketDisplayFootprint
 		NETWORK.registerMessage(PacketPlaySound.PacketHandlerServer.class, PacketPlaySound.class, ++discriminator,
 				Side.SERVER);
+		NETWORK.registerMessage(PacketServerDataSubscribe.PacketHandlerServer.class, PacketServerDataSubscribe.class,
+				++discriminator, Side.SERVER);
 	}
 
 	// Package level helper method to fire client side events based on incoming
@@ -98,6 +102,17 @@ public final class Network {
 		});
 	}
 
+	// Posts a group of events from a single scheduled task
+	@SideOnly(Side.CLIENT)
+	static void postEvents(@Nonnull final Event[] events) {
+		Minecraft.getMinecraft().addScheduledTask(new Runnable() {
+			public void run() {
+				for (final Event event : events)
+					MinecraftForge.EVENT_BUS.post(event);
+			}
+		});
+	}
+
 	// Package level helper method to fire server side events based on incoming
 	// packets
 	static void postEventServer(@Nonnull final Event event) {
@@ -138,6 +153,25 @@ public final class Network {
 		}
 	}
 
+	// Routes a client originated effect to players around the point. The
+	// originating player is skipped since it has already rendered the effect,
+	// and each recipient is subject to its routed effect budget.
+	public static void routeToAllAround(@Nonnull final Locus point, @Nonnull final IMessage msg) {
+		final MinecraftServer server = FMLCommonHandler.instance().getMinecraftServerInstance();
+		final List<EntityPlayerMP> players = server.getPlayerList().getPlayers();
+		final double rangeSq = point.range * point.range;
+		synchronized (NETWORK) {
+			for (final EntityPlayerMP player : players) {
+				if (player.dimension != point.dimension || point.isAssociatedEntity(player))
+					continue;
+				if (player.getDistanceSq(point.x, point.y, point.z) > rangeSq)
+					continue;
+				if (TrafficLimiter.allowReceive(player))
+					NETWORK.sendTo(msg, player);
+			}
+		}
+	}
+
 	// Basic client -> server packet routines
 	@SideOnly(Side.CLIENT)
 	public static void sendToServer(@Nonnull final IMessage msg) {
@@ -0,0 +1,123 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.blockartistry.DynSurround.network;
+
+import javax.annotation.Nonnull;
+
+import io.netty.buffer.ByteBuf;
+import net.minecraft.util.math.MathHelper;
+
+/**
+ * Shared compact encoding routines used by the packets in this package.
+ * Integers are written as variable length quantities (zig-zag encoded when
+ * they can be negative), positions as a block coordinate plus an 8-bit
+ * fraction, rotations as a single byte, and booleans are packed into a
+ * single flag byte by the caller.
+ */
+public final class PacketCodec {
+
+	private PacketCodec() {
+
+	}
+
+	// Resolution of the fractional part of a coordinate - 1/256th of a block
+	private static final int FRACTION_BITS = 8;
+	private static final double FRACTION_SCALE = 1 << FRACTION_BITS;
+	private static final int FRACTION_MASK = (1 << FRACTION_BITS) - 1;
+
+	// Rotation is quantized into 256 steps around the circle
+	private static final float ROTATION_TO_BYTE = 256F / 360F;
+	private static final float BYTE_TO_ROTATION = 360F / 256F;
+
+	public static void writeVarInt(@Nonnull final ByteBuf buf, int value) {
+		while ((value & ~0x7F) != 0) {
+			buf.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		buf.writeByte(value);
+	}
+
+	public static int readVarInt(@Nonnull final ByteBuf buf) {
+		int result = 0;
+		int shift = 0;
+		byte b;
+		do {
+			if (shift > 28)
+				throw new IllegalStateException("VarInt too long");
+			b = buf.readByte();
+			result |= (b & 0x7F) << shift;
+			shift += 7;
+		} while ((b & 0x80) != 0);
+		return result;
+	}
+
+	public static void writeSignedVarInt(@Nonnull final ByteBuf buf, final int value) {
+		writeVarInt(buf, (value << 1) ^ (value >> 31));
+	}
+
+	public static int readSignedVarInt(@Nonnull final ByteBuf buf) {
+		final int v = readVarInt(buf);
+		return (v >>> 1) ^ -(v & 1);
+	}
+
+	/**
+	 * Writes a coordinate as the containing block coordinate followed by the
+	 * position within that block.
+	 */
+	public static void writeCoord(@Nonnull final ByteBuf buf, final double coord) {
+		int block = MathHelper.floor(coord);
+		int fraction = (int) Math.round((coord - block) * FRACTION_SCALE);
+		// Rounded up to the next block
+		if (fraction > FRACTION_MASK) {
+			fraction = 0;
+			block++;
+		}
+		writeSignedVarInt(buf, block);
+		buf.writeByte(fraction);
+	}
+
+	public static double readCoord(@Nonnull final ByteBuf buf) {
+		final int block = readSignedVarInt(buf);
+		final int fraction = buf.readUnsignedByte();
+		return block + fraction / FRACTION_SCALE;
+	}
+
+	public static void writeRotation(@Nonnull final ByteBuf buf, final float degrees) {
+		buf.writeByte(MathHelper.floor(MathHelper.wrapDegrees(degrees) * ROTATION_TO_BYTE + 0.5F));
+	}
+
+	public static float readRotation(@Nonnull final ByteBuf buf) {
+		return MathHelper.wrapDegrees(buf.readByte() * BYTE_TO_ROTATION);
+	}
+
+	public static int flag(final int flags, final int bit, final boolean value) {
+		return value ? flags | (1 << bit) : flags;
+	}
+
+	public static boolean isSet(final int flags, final int bit) {
+		return (flags & (1 << bit)) != 0;
+	}
+
+}
@@ -24,6 +24,8 @@
 
 package org.blockartistry.DynSurround.network;
 
+import java.util.Arrays;
+
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
@@ -38,48 +40,118 @@ import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
 
+/**
+ * Carries the emoji state for one or more entities. The server batches all
+ * of the changes a player can see during a tick into a single packet. Each
+ * entry is the entity ID followed by the three state ordinals packed into a
+ * single varint.
+ */
 public class PacketEntityEmote implements IMessage {
 
+	private static final ActionState[] ACTIONS = ActionState.values();
+	private static final EmotionalState[] EMOTIONS = EmotionalState.values();
+	private static final EmojiType[] EMOJIS = EmojiType.values();
+
+	// Bit layout of the packed state: action (5 bits) | emotion (4) |
+	// emoji (5). 14 bits still fits in a two byte varint.
+	private static final int ACTION_BITS = 5;
+	private static final int EMOTION_BITS = 4;
+	private static final int EMOJI_BITS = 5;
+	private static final int EMOTION_SHIFT = ACTION_BITS;
+	private static final int EMOJI_SHIFT = EMOTION_SHIFT + EMOTION_BITS;
+	private static final int ACTION_MASK = (1 << ACTION_BITS) - 1;
+	private static final int EMOTION_MASK = (1 << EMOTION_BITS) - 1;
+	private static final int EMOJI_MASK = (1 << EMOJI_BITS) - 1;
+
+	static {
+		if (ACTIONS.length > ACTION_MASK + 1 || EMOTIONS.length > EMOTION_MASK + 1
+				|| EMOJIS.length > EMOJI_MASK + 1)
+			throw new IllegalStateException("Emoji state no longer fits the PacketEntityEmote encoding");
+	}
+
 	public static class PacketHandler implements IMessageHandler<PacketEntityEmote, IMessage> {
 		@Override
 		@Nullable
 		public IMessage onMessage(@Nonnull final PacketEntityEmote message, @Nullable final MessageContext ctx) {
-			Network.postEvent(new EntityEmojiEvent(message.entityId, message.actionState, message.emotionalState,
-					message.emojiType));
+			final EntityEmojiEvent[] events = new EntityEmojiEvent[message.count];
+			for (int i = 0; i < message.count; i++) {
+				final int state = message.states[i];
+				events[i] = new EntityEmojiEvent(message.entityIds[i], action(state), emotion(state), emoji(state));
+			}
+			Network.postEvents(events);
 			return null;
 		}
 	}
 
-	private int entityId;
-	private ActionState actionState = ActionState.NONE;
-	private EmotionalState emotionalState = EmotionalState.NEUTRAL;
-	private EmojiType emojiType = EmojiType.NONE;
+	private int count;
+	private int[] entityIds;
+	private int[] states;
 
 	public PacketEntityEmote() {
 
 	}
 
 	public PacketEntityEmote(@Nonnull final IEmojiData data) {
-		this.entityId = data.getEntityId();
-		this.actionState = data.getActionState();
-		this.emotionalState = data.getEmotionalState();
-		this.emojiType = data.getEmojiType();
+		this(1);
+		add(data);
+	}
+
+	public PacketEntityEmote(final int capacity) {
+		this.entityIds = new int[Math.max(capacity, 1)];
+		this.states = new int[this.entityIds.length];
+	}
+
+	public void add(@Nonnull final IEmojiData data) {
+		if (this.count == this.entityIds.length) {
+			this.entityIds = Arrays.copyOf(this.entityIds, this.count * 2);
+			this.states = Arrays.copyOf(this.states, this.count * 2);
+		}
+		this.entityIds[this.count] = data.getEntityId();
+		this.states[this.count] = pack(data.getActionState(), data.getEmotionalState(), data.getEmojiType());
+		this.count++;
+	}
+
+	private static int pack(@Nonnull final ActionState action, @Nonnull final EmotionalState emotion,
+			@Nonnull final EmojiType emoji) {
+		return action.ordinal() | (emotion.ordinal() << EMOTION_SHIFT) | (emoji.ordinal() << EMOJI_SHIFT);
+	}
+
+	@Nonnull
+	private static ActionState action(final int state) {
+		final int ord = state & ACTION_MASK;
+		return ord < ACTIONS.length ? ACTIONS[ord] : ActionState.NONE;
+	}
+
+	@Nonnull
+	private static EmotionalState emotion(final int state) {
+		final int ord = (state >>> EMOTION_SHIFT) & EMOTION_MASK;
+		return ord < EMOTIONS.length ? EMOTIONS[ord] : EmotionalState.NEUTRAL;
+	}
+
+	@Nonnull
+	private static EmojiType emoji(final int state) {
+		final int ord = (state >>> EMOJI_SHIFT) & EMOJI_MASK;
+		return ord < EMOJIS.length ? EMOJIS[ord] : EmojiType.NONE;
 	}
 
 	@Override
 	public void fromBytes(@Nonnull final ByteBuf buf) {
-		this.entityId = buf.readInt();
-		this.actionState = ActionState.get(buf.readByte());
-		this.emotionalState = EmotionalState.get(buf.readByte());
-		this.emojiType = EmojiType.get(buf.readByte());
+		this.count = PacketCodec.readVarInt(buf);
+		this.entityIds = new int[this.count];
+		this.states = new int[this.count];
+		for (int i = 0; i < this.count; i++) {
+			this.entityIds[i] = PacketCodec.readVarInt(buf);
+			this.states[i] = PacketCodec.readVarInt(buf);
+		}
 	}
 
 	@Override
 	public void toBytes(@Nonnull final ByteBuf buf) {
-		buf.writeInt(this.entityId);
-		buf.writeByte(ActionState.getId(this.actionState));
-		buf.writeByte(EmotionalState.getId(this.emotionalState));
-		buf.writeByte(EmojiType.getId(this.emojiType));
+		PacketCodec.writeVarInt(buf, this.count);
+		for (int i = 0; i < this.count; i++) {
+			PacketCodec.writeVarInt(buf, this.entityIds[i]);
+			PacketCodec.writeVarInt(buf, this.states[i]);
+		}
 	}
 
 }
@@ -45,6 +45,8 @@ public class PacketEnvironment implements IMessage {
 		}
 	}
 
+	private static final int FLAG_IN_VILLAGE = 0;
+
 	private boolean inVillage;
 
 	public PacketEnvironment() {
@@ -57,12 +59,12 @@ public class PacketEnvironment implements IMessage {
 
 	@Override
 	public void fromBytes(@Nonnull final ByteBuf buf) {
-		this.inVillage = buf.readBoolean();
+		this.inVillage = PacketCodec.isSet(buf.readUnsignedByte(), FLAG_IN_VILLAGE);
 	}
 
 	@Override
 	public void toBytes(@Nonnull final ByteBuf buf) {
-		buf.writeBoolean(this.inVillage);
+		buf.writeByte(PacketCodec.flag(0, FLAG_IN_VILLAGE, this.inVillage));
 	}
 
 }
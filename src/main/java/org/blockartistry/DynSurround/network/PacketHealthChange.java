@@ -46,6 +46,8 @@ public class PacketHealthChange implements IMessage {
 		}
 	}
 
+	private static final int FLAG_CRITICAL = 0;
+
 	private int entityId;
 	private float posX;
 	private float posY;
@@ -69,22 +71,22 @@ public class PacketHealthChange implements IMessage {
 
 	@Override
 	public void fromBytes(@Nonnull final ByteBuf buf) {
-		this.entityId = buf.readInt();
-		this.posX = buf.readFloat();
-		this.posY = buf.readFloat();
-		this.posZ = buf.readFloat();
-		this.isCritical = buf.readBoolean();
-		this.amount = buf.readInt();
+		this.entityId = PacketCodec.readVarInt(buf);
+		this.posX = (float) PacketCodec.readCoord(buf);
+		this.posY = (float) PacketCodec.readCoord(buf);
+		this.posZ = (float) PacketCodec.readCoord(buf);
+		this.isCritical = PacketCodec.isSet(buf.readUnsignedByte(), FLAG_CRITICAL);
+		this.amount = PacketCodec.readSignedVarInt(buf);
 	}
 
 	@Override
 	public void toBytes(@Nonnull final ByteBuf buf) {
-		buf.writeInt(this.entityId);
-		buf.writeFloat(this.posX);
-		buf.writeFloat(this.posY);
-		buf.writeFloat(this.posZ);
-		buf.writeBoolean(this.isCritical);
-		buf.writeInt(this.amount);
+		PacketCodec.writeVarInt(buf, this.entityId);
+		PacketCodec.writeCoord(buf, this.posX);
+		PacketCodec.writeCoord(buf, this.posY);
+		PacketCodec.writeCoord(buf, this.posZ);
+		buf.writeByte(PacketCodec.flag(0, FLAG_CRITICAL, this.isCritical));
+		PacketCodec.writeSignedVarInt(buf, this.amount);
 	}
 
 }
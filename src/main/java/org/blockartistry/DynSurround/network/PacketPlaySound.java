@@ -60,7 +60,8 @@ public class PacketPlaySound implements IMessage {
 		public IMessage onMessage(@Nonnull final PacketPlaySound message, @Nullable final MessageContext ctx) {
 			// No event - turn around quick and broadcast to necessary
 			// clients. This should take place on a Netty thread.
-			Network.sendToAllAround(message.locus, message);
+			if (TrafficLimiter.allowSend(ctx.getServerHandler().playerEntity))
+				Network.routeToAllAround(message.locus, message);
 			return null;
 		}
 	}
@@ -29,8 +29,6 @@ import javax.annotation.Nullable;
 
 import org.blockartistry.DynSurround.client.event.ServerDataEvent;
 
-import gnu.trove.iterator.TIntDoubleIterator;
-import gnu.trove.map.hash.TIntDoubleHashMap;
 import io.netty.buffer.ByteBuf;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
@@ -38,61 +36,75 @@ import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
 
 public class PacketServerData implements IMessage {
 
+	/**
+	 * Number of stats per entry: mean, p50, p95, p99 tick time in msecs.
+	 */
+	public static final int STATS_PER_ENTRY = 4;
+
 	public static class PacketHandler implements IMessageHandler<PacketServerData, IMessage> {
 		@Override
 		@Nullable
 		public IMessage onMessage(@Nonnull final PacketServerData message, @Nullable final MessageContext ctx) {
 			Network.postEvent(
-					new ServerDataEvent(message.tMap, message.meanTickTime, message.free, message.total, message.max));
+					new ServerDataEvent(message.dims, message.stats, message.free, message.total, message.max,
+							message.emojiTicks, message.emojiEvals));
 			return null;
 		}
 	}
 
-	private double meanTickTime;
-	private TIntDoubleHashMap tMap;
+	// Entry 0 of stats is the overall server; entry N + 1 goes with dims[N]
+	private int[] dims;
+	private float[] stats;
 	private int free;
 	private int total;
 	private int max;
+	// Per tick averages for the emoji AI
+	private float emojiTicks;
+	private float emojiEvals;
 
 	public PacketServerData() {
 
 	}
 
-	public PacketServerData(@Nonnull final TIntDoubleHashMap tps, final double meanTickTime, final int memFree,
-			int memTotal, int memMax) {
-		this.meanTickTime = meanTickTime;
-		this.tMap = tps;
+	public PacketServerData(@Nonnull final int[] dims, @Nonnull final float[] stats, final int memFree,
+			int memTotal, int memMax, final float emojiTicks, final float emojiEvals) {
+		this.dims = dims;
+		this.stats = stats;
 		this.free = memFree;
 		this.total = memTotal;
 		this.max = memMax;
+		this.emojiTicks = emojiTicks;
+		this.emojiEvals = emojiEvals;
 	}
 
 	@Override
 	public void fromBytes(@Nonnull final ByteBuf buf) {
-		this.meanTickTime = buf.readDouble();
-		int len = buf.readInt();
-		this.tMap = new TIntDoubleHashMap(len);
-		while (len-- != 0) {
-			this.tMap.put(buf.readInt(), buf.readDouble());
-		}
-		this.free = buf.readInt();
-		this.total = buf.readInt();
-		this.max = buf.readInt();
+		final int len = PacketCodec.readVarInt(buf);
+		this.dims = new int[len];
+		this.stats = new float[(len + 1) * STATS_PER_ENTRY];
+		for (int i = 0; i < len; i++)
+			this.dims[i] = PacketCodec.readSignedVarInt(buf);
+		for (int i = 0; i < this.stats.length; i++)
+			this.stats[i] = buf.readFloat();
+		this.free = PacketCodec.readVarInt(buf);
+		this.total = PacketCodec.readVarInt(buf);
+		this.max = PacketCodec.readVarInt(buf);
+		this.emojiTicks = buf.readFloat();
+		this.emojiEvals = buf.readFloat();
 	}
 
 	@Override
 	public void toBytes(@Nonnull final ByteBuf buf) {
-		buf.writeDouble(this.meanTickTime);
-		buf.writeInt(this.tMap.size());
-		TIntDoubleIterator i = this.tMap.iterator();
-		while (i.hasNext()) {
-			i.advance();
-			buf.writeInt(i.key());
-			buf.writeDouble(i.value());
-		}
-		buf.writeInt(this.free);
-		buf.writeInt(this.total);
-		buf.writeInt(this.max);
+		PacketCodec.writeVarInt(buf, this.dims.length);
+		for (int i = 0; i < this.dims.length; i++)
+			PacketCodec.writeSignedVarInt(buf, this.dims[i]);
+		for (int i = 0; i < (this.dims.length + 1) * STATS_PER_ENTRY; i++)
+			buf.writeFloat(this.stats[i]);
+		PacketCodec.writeVarInt(buf, this.free);
+		PacketCodec.writeVarInt(buf, this.total);
+		PacketCodec.writeVarInt(buf, this.max);
+		buf.writeFloat(this.emojiTicks);
+		buf.writeFloat(this.emojiEvals);
 	}
 
 }
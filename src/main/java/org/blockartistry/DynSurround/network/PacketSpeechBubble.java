@@ -47,6 +47,8 @@ public class PacketSpeechBubble implements IMessage {
 		}
 	}
 
+	private static final int FLAG_TRANSLATE = 0;
+
 	protected int entityId;
 	protected String message;
 	protected boolean translate;
@@ -64,16 +66,16 @@ public class PacketSpeechBubble implements IMessage {
 
 	@Override
 	public void fromBytes(@Nonnull final ByteBuf buf) {
-		this.entityId = buf.readInt();
+		this.entityId = PacketCodec.readVarInt(buf);
 		this.message = ByteBufUtils.readUTF8String(buf);
-		this.translate = buf.readBoolean();
+		this.translate = PacketCodec.isSet(buf.readUnsignedByte(), FLAG_TRANSLATE);
 	}
 
 	@Override
 	public void toBytes(@Nonnull final ByteBuf buf) {
-		buf.writeInt(this.entityId);
+		PacketCodec.writeVarInt(buf, this.entityId);
 		ByteBufUtils.writeUTF8String(buf, this.message);
-		buf.writeBoolean(this.translate);
+		buf.writeByte(PacketCodec.flag(0, FLAG_TRANSLATE, this.translate));
 	}
 
 }
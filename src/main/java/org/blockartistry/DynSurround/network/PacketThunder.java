@@ -50,6 +50,8 @@ public class PacketThunder implements IMessage  {
 		}
 	}
 
+	private static final int FLAG_FLASH = 0;
+
 	private int dimension;
 	private boolean doFlash;
 	private BlockPos pos;
@@ -65,21 +67,16 @@ public class PacketThunder implements IMessage  {
 
 	@Override
 	public void fromBytes(@Nonnull final ByteBuf buf) {
-		this.dimension = buf.readShort();
-		this.doFlash = buf.readBoolean();
-		final int x = buf.readInt();
-		final int y = buf.readInt();
-		final int z = buf.readInt();
-		this.pos = new BlockPos(x, y, z);
+		this.dimension = PacketCodec.readSignedVarInt(buf);
+		this.doFlash = PacketCodec.isSet(buf.readUnsignedByte(), FLAG_FLASH);
+		this.pos = BlockPos.fromLong(buf.readLong());
 	}
 
 	@Override
 	public void toBytes(@Nonnull final ByteBuf buf) {
-		buf.writeShort(this.dimension);
-		buf.writeBoolean(this.doFlash);
-		buf.writeInt(this.pos.getX());
-		buf.writeInt(this.pos.getY());
-		buf.writeInt(this.pos.getZ());
+		PacketCodec.writeSignedVarInt(buf, this.dimension);
+		buf.writeByte(PacketCodec.flag(0, FLAG_FLASH, this.doFlash));
+		buf.writeLong(this.pos.toLong());
 	}
 
 }
\ No newline at end of file
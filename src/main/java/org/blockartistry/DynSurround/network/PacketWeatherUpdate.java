@@ -81,24 +81,24 @@ public final class PacketWeatherUpdate implements IMessage {
 
 	@Override
 	public void fromBytes(@Nonnull final ByteBuf buf) {
-		this.dimension = buf.readShort();
+		this.dimension = PacketCodec.readSignedVarInt(buf);
 		this.intensity = buf.readFloat();
 		this.maxIntensity = buf.readFloat();
-		this.nextRainChange = buf.readInt();
+		this.nextRainChange = PacketCodec.readSignedVarInt(buf);
 		this.thunderStrength = buf.readFloat();
-		this.thunderChange = buf.readInt();
-		this.thunderEvent = buf.readInt();
+		this.thunderChange = PacketCodec.readSignedVarInt(buf);
+		this.thunderEvent = PacketCodec.readSignedVarInt(buf);
 	}
 
 	@Override
 	public void toBytes(@Nonnull final ByteBuf buf) {
-		buf.writeShort(this.dimension);
+		PacketCodec.writeSignedVarInt(buf, this.dimension);
 		buf.writeFloat(this.intensity);
 		buf.writeFloat(this.maxIntensity);
-		buf.writeInt(this.nextRainChange);
+		PacketCodec.writeSignedVarInt(buf, this.nextRainChange);
 		buf.writeFloat(this.thunderStrength);
-		buf.writeInt(this.thunderChange);
-		buf.writeInt(this.thunderEvent);
+		PacketCodec.writeSignedVarInt(buf, this.thunderChange);
+		PacketCodec.writeSignedVarInt(buf, this.thunderEvent);
 	}
 
 }
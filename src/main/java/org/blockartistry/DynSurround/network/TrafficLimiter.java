@@ -0,0 +1,184 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.blockartistry.DynSurround.network;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.annotation.Nonnull;
+
+import org.blockartistry.DynSurround.ModOptions;
+
+import net.minecraft.entity.player.EntityPlayerMP;
+
+/**
+ * Server side throttle for effects that clients ask the server to route to
+ * other players (footprints, sounds). Each sender has a token bucket that
+ * limits how fast it can inject effects, and each recipient has a budget
+ * that limits how many routed effects it will be sent per second. Handlers
+ * run on Netty threads so access is synchronized.
+ */
+public final class TrafficLimiter {
+
+	private TrafficLimiter() {
+
+	}
+
+	private static final long NANOS_PER_SECOND = 1000000000L;
+
+	private static final class Bucket {
+
+		private double tokens;
+		private long lastRefill;
+
+		public Bucket(final long now, final int rate) {
+			this.tokens = rate;
+			this.lastRefill = now;
+		}
+
+		public boolean take(final long now, final int rate) {
+			final long elapsed = now - this.lastRefill;
+			if (elapsed > 0) {
+				this.tokens = Math.min(rate, this.tokens + (double) elapsed * rate / NANOS_PER_SECOND);
+				this.lastRefill = now;
+			}
+			if (this.tokens >= 1.0D) {
+				this.tokens -= 1.0D;
+				return true;
+			}
+			return false;
+		}
+	}
+
+	public static final class Stats {
+
+		public final String name;
+		public long sent;
+		public long sentDropped;
+		public long received;
+		public long receivedDropped;
+
+		protected final Bucket sender;
+		protected final Bucket recipient;
+
+		protected Stats(@Nonnull final String name, final long now) {
+			this.name = name;
+			this.sender = new Bucket(now, ModOptions.routedEffectSenderRate);
+			this.recipient = new Bucket(now, ModOptions.routedEffectRecipientBudget);
+		}
+
+		@Override
+		@Nonnull
+		public String toString() {
+			final StringBuilder builder = new StringBuilder();
+			builder.append(this.name);
+			builder.append(": sent ").append(this.sent);
+			builder.append(" (dropped ").append(this.sentDropped).append(')');
+			builder.append("; received ").append(this.received);
+			builder.append(" (dropped ").append(this.receivedDropped).append(')');
+			return builder.toString();
+		}
+	}
+
+	private static final Comparator<Stats> BY_SENT = new Comparator<Stats>() {
+		@Override
+		public int compare(@Nonnull final Stats o1, @Nonnull final Stats o2) {
+			final long v1 = o1.sent + o1.sentDropped;
+			final long v2 = o2.sent + o2.sentDropped;
+			return v1 < v2 ? 1 : (v1 == v2 ? 0 : -1);
+		}
+	};
+
+	private static final Map<UUID, Stats> stats = new HashMap<UUID, Stats>();
+
+	@Nonnull
+	private static Stats getStats(@Nonnull final EntityPlayerMP player, final long now) {
+		final UUID id = player.getUniqueID();
+		Stats s = stats.get(id);
+		if (s == null) {
+			s = new Stats(player.getName(), now);
+			stats.put(id, s);
+		}
+		return s;
+	}
+
+	/**
+	 * Determines if an effect sent by the specified player should be routed.
+	 */
+	public static synchronized boolean allowSend(@Nonnull final EntityPlayerMP sender) {
+		final long now = System.nanoTime();
+		final Stats s = getStats(sender, now);
+		if (ModOptions.routedEffectSenderRate <= 0 || s.sender.take(now, ModOptions.routedEffectSenderRate)) {
+			s.sent++;
+			return true;
+		}
+		s.sentDropped++;
+		return false;
+	}
+
+	/**
+	 * Determines if a routed effect can be delivered to the specified player
+	 * without exceeding the players fan-out budget.
+	 */
+	public static synchronized boolean allowReceive(@Nonnull final EntityPlayerMP recipient) {
+		final long now = System.nanoTime();
+		final Stats s = getStats(recipient, now);
+		if (ModOptions.routedEffectRecipientBudget <= 0
+				|| s.recipient.take(now, ModOptions.routedEffectRecipientBudget)) {
+			s.received++;
+			return true;
+		}
+		s.receivedDropped++;
+		return false;
+	}
+
+	public static synchronized void remove(@Nonnull final EntityPlayerMP player) {
+		stats.remove(player.getUniqueID());
+	}
+
+	public static synchronized void reset() {
+		stats.clear();
+	}
+
+	/**
+	 * Snapshot of the current counters ordered by the amount of traffic each
+	 * player is generating.
+	 */
+	@Nonnull
+	public static synchronized List<String> report() {
+		final List<Stats> sorted = new ArrayList<Stats>(stats.values());
+		Collections.sort(sorted, BY_SENT);
+		final List<String> result = new ArrayList<String>(sorted.size());
+		for (final Stats s : sorted)
+			result.add(s.toString());
+		return result;
+	}
+
+}
@@ -27,7 +27,7 @@ import javax.annotation.Nonnull;
 
 import org.blockartistry.DynSurround.registry.RegistryManager.RegistryType;
 
-import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.inventory.EntityEquipmentSlot;
 
 public enum ArmorClass {
@@ -68,7 +68,7 @@ public enum ArmorClass {
 	 * Determines the effective armor class of the player. Used to determine the
 	 * sound overlay to add. The chest and leg slots are used.
 	 */
-	public static ArmorClass effectiveArmorClass(@Nonnull final EntityPlayer player) {
+	public static ArmorClass effectiveArmorClass(@Nonnull final EntityLivingBase player) {
 		final ItemRegistry registry = RegistryManager.get(RegistryType.ITEMS);
 		final ArmorClass chest = registry.getArmorClass(player.getItemStackFromSlot(EntityEquipmentSlot.CHEST));
 		final ArmorClass legs = registry.getArmorClass(player.getItemStackFromSlot(EntityEquipmentSlot.LEGS));
@@ -79,7 +79,7 @@ public enum ArmorClass {
 	 * Gets the armor class of the player's feet in order to apply additional
 	 * sound accents when moving.
 	 */
-	public static ArmorClass footArmorClass(@Nonnull final EntityPlayer player) {
+	public static ArmorClass footArmorClass(@Nonnull final EntityLivingBase player) {
 		final ItemRegistry registry = RegistryManager.get(RegistryType.ITEMS);
 		return registry.getArmorClass(player.getItemStackFromSlot(EntityEquipmentSlot.FEET));
 	}
@@ -26,9 +26,10 @@ package org.blockartistry.DynSurround.registry;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Scanner;
 
 import javax.annotation.Nonnull;
 
@@ -36,17 +37,22 @@ import org.blockartistry.DynSurround.DSurround;
 import org.blockartistry.DynSurround.ModOptions;
 import org.blockartistry.DynSurround.client.footsteps.implem.AcousticsManager;
 import org.blockartistry.DynSurround.client.footsteps.implem.BlockMap;
+import org.blockartistry.DynSurround.client.footsteps.implem.GaitModel;
 import org.blockartistry.DynSurround.client.footsteps.implem.Manifest;
 import org.blockartistry.DynSurround.client.footsteps.implem.PrimitiveMap;
 import org.blockartistry.DynSurround.client.footsteps.parsers.AcousticsJsonReader;
+import org.blockartistry.DynSurround.client.footsteps.system.FootstepEngine;
 import org.blockartistry.DynSurround.client.footsteps.system.Generator;
-import org.blockartistry.DynSurround.client.footsteps.system.GeneratorQP;
 import org.blockartistry.DynSurround.client.footsteps.system.Isolator;
 import org.blockartistry.DynSurround.client.footsteps.system.ResourcePacks;
 import org.blockartistry.DynSurround.client.footsteps.system.Solver;
 import org.blockartistry.DynSurround.client.footsteps.util.ConfigProperty;
 import org.blockartistry.lib.JsonUtils;
 import org.blockartistry.lib.MCHelper;
+import org.blockartistry.lib.TimeUtils;
+
+import com.google.common.base.Charsets;
+
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockCrops;
 import net.minecraft.block.BlockDoor;
@@ -93,8 +99,8 @@ public class FootstepsRegistry extends Registry {
 		seedMap();
 
 		this.isolator.setSolver(new Solver(this.isolator));
-		this.isolator.setGenerator(
-				ModOptions.foostepsQuadruped ? new GeneratorQP(this.isolator) : new Generator(this.isolator));
+		this.isolator.setGenerator(new Generator(this.isolator,
+				ModOptions.foostepsQuadruped ? GaitModel.QUADRUPED : GaitModel.BIPED));
 	}
 
 	@Override
@@ -158,33 +164,36 @@ public class FootstepsRegistry extends Registry {
 	}
 
 	private void reloadAcoustics(@Nonnull final List<IResourcePack> repo) {
+		final long start = TimeUtils.currentTimeMillis();
 		AcousticsManager acoustics = new AcousticsManager(this.isolator);
-		Scanner scanner = null;
+		Reader reader = null;
 		InputStream stream = null;
 
 		for (final IResourcePack pack : repo) {
 			try {
 				stream = this.dealer.openAcoustics(pack);
 				if (stream != null) {
-					scanner = new Scanner(stream);
-					final String jasonString = scanner.useDelimiter("\\Z").next();
-
-					new AcousticsJsonReader("").parseJSON(jasonString, acoustics);
+					reader = new InputStreamReader(stream, Charsets.UTF_8);
+					new AcousticsJsonReader("").parseJSON(reader, acoustics);
 				}
 			} catch (final IOException e) {
 				DSurround.log().debug("Unable to load acoustic data from pack %s", pack.getPackName());
 			} finally {
 				try {
-					if (scanner != null)
-						scanner.close();
+					if (reader != null)
+						reader.close();
 					if (stream != null)
 						stream.close();
 				} catch (final IOException e) {
 					;
 				}
+				reader = null;
+				stream = null;
 			}
 		}
 
+		DSurround.log().debug("Acoustics loaded in %d msecs", TimeUtils.currentTimeMillis() - start);
+
 		this.isolator.setAcoustics(acoustics);
 		this.isolator.setSoundPlayer(acoustics);
 		this.isolator.setDefaultStepPlayer(acoustics);
@@ -237,6 +246,11 @@ public class FootstepsRegistry extends Registry {
 			player.nextStepDistance = 0;
 	}
 
+	@Nonnull
+	public FootstepEngine getFootstepEngine() {
+		return this.isolator.getFootstepEngine();
+	}
+
 	@Nonnull
 	public BlockMap getBlockMap() {
 		return this.isolator.getBlockMap();
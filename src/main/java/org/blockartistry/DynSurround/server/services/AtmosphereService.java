@@ -36,6 +36,7 @@ import javax.annotation.Nonnull;
 
 import org.blockartistry.DynSurround.ModEnvironment;
 import org.blockartistry.DynSurround.ModOptions;
+import org.blockartistry.DynSurround.data.DimensionEffectStore;
 import org.blockartistry.DynSurround.registry.DimensionRegistry;
 import org.blockartistry.DynSurround.registry.RegistryManager;
 import org.blockartistry.DynSurround.registry.RegistryManager.RegistryType;
@@ -49,6 +50,11 @@ public final class AtmosphereService extends Service {
 		super("AtmosphereService");
 	}
 
+	@Override
+	public void fini() {
+		DimensionEffectStore.shutdown();
+	}
+
 	@SubscribeEvent(priority = EventPriority.HIGH)
 	public void tickEvent(@Nonnull final TickEvent.WorldTickEvent event) {
 		if (event.side == Side.SERVER && event.phase == Phase.END)
@@ -74,6 +80,14 @@ public final class AtmosphereService extends Service {
 		this.generators.remove(dimId);
 	}
 
+	@SubscribeEvent
+	public void onWorldSave(final WorldEvent.Save e) {
+		// The store holds all dimensions so key off the overworld
+		final World world = e.getWorld();
+		if (!world.isRemote && ModOptions.consolidateEffectData && world.provider.getDimension() == 0)
+			DimensionEffectStore.save();
+	}
+
 	private final TIntObjectHashMap<WeatherGenerator> generators = new TIntObjectHashMap<WeatherGenerator>();
 
 	private WeatherGenerator getGenerator(@Nonnull final World world) {
@@ -24,26 +24,60 @@
 
 package org.blockartistry.DynSurround.server.services;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
 import javax.annotation.Nonnull;
 
 import org.blockartistry.DynSurround.ModOptions;
+import org.blockartistry.DynSurround.entity.EmojiData;
 import org.blockartistry.DynSurround.entity.ai.EntityAIChat;
 import org.blockartistry.DynSurround.entity.ai.EntityAIEmoji;
 import org.blockartistry.DynSurround.entity.ai.EntityAIVillagerEmoji;
 import org.blockartistry.DynSurround.entity.ai.EntityAIVillagerFleeChat;
+import org.blockartistry.DynSurround.network.Network;
+import org.blockartistry.DynSurround.network.PacketEntityEmote;
 
+import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLiving;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.entity.passive.EntityVillager;
+import net.minecraft.world.WorldServer;
 import net.minecraftforge.event.entity.EntityJoinWorldEvent;
 import net.minecraftforge.fml.common.eventhandler.EventPriority;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent.Phase;
 
 public final class EntityEmojiService extends Service {
 
+	// Emoji data that changed this tick. Sent in one packet per viewing
+	// player at the end of the server tick.
+	private static final Set<EmojiData> dirty = Collections
+			.newSetFromMap(new IdentityHashMap<EmojiData, Boolean>());
+	private static final Map<EntityPlayerMP, PacketEntityEmote> batches = new IdentityHashMap<EntityPlayerMP, PacketEntityEmote>();
+
 	EntityEmojiService() {
 		super("EntityEmojiService");
 	}
 
+	/**
+	 * Queues the emoji data to be sent to the players that can see the entity.
+	 * Must be called on the server thread.
+	 */
+	public static void queueSync(@Nonnull final EmojiData data) {
+		dirty.add(data);
+	}
+
+	@Override
+	public void fini() {
+		dirty.clear();
+		batches.clear();
+	}
+
 	protected void addChatAI(@Nonnull final EntityLiving entity) {
 		if (EntityAIChat.hasMessages(entity))
 			entity.tasks.addTask(EntityAIChat.PRIORITY, new EntityAIChat(entity));
@@ -68,4 +102,31 @@ public final class EntityEmojiService extends Service {
 		}
 	}
 
+	@SubscribeEvent
+	public void tickEvent(@Nonnull final TickEvent.ServerTickEvent event) {
+		if (event.phase != Phase.END || dirty.isEmpty())
+			return;
+
+		for (final EmojiData data : dirty) {
+			final Entity entity = data.getEntity();
+			if (entity.isDead || !(entity.world instanceof WorldServer))
+				continue;
+			final Set<? extends EntityPlayer> viewers = ((WorldServer) entity.world).getEntityTracker()
+					.getTrackingPlayers(entity);
+			for (final EntityPlayer player : viewers) {
+				PacketEntityEmote packet = batches.get(player);
+				if (packet == null) {
+					packet = new PacketEntityEmote(dirty.size());
+					batches.put((EntityPlayerMP) player, packet);
+				}
+				packet.add(data);
+			}
+		}
+		dirty.clear();
+
+		for (final Map.Entry<EntityPlayerMP, PacketEntityEmote> e : batches.entrySet())
+			Network.sendToPlayer(e.getKey(), e.getValue());
+		batches.clear();
+	}
+
 }
@@ -0,0 +1,230 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.blockartistry.DynSurround.server.services;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nonnull;
+
+import org.blockartistry.DynSurround.ModOptions;
+import org.blockartistry.DynSurround.entity.ai.EntityAIEmoji;
+import org.blockartistry.DynSurround.network.Network;
+import org.blockartistry.DynSurround.network.PacketServerData;
+import org.blockartistry.lib.RollingHistogram;
+
+import gnu.trove.map.hash.TIntObjectHashMap;
+import gnu.trove.procedure.TObjectProcedure;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.FMLCommonHandler;
+import net.minecraftforge.fml.common.eventhandler.EventPriority;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.PlayerEvent.PlayerLoggedOutEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent.Phase;
+
+/**
+ * Samples server and per dimension tick times into rolling histograms and
+ * periodically reports them to players that have asked for the data, which
+ * is typically while they have the debug screen open.
+ */
+public final class ServerMetricsService extends Service {
+
+	// Number of ticks retained in the histograms (5 seconds)
+	private static final int WINDOW = 100;
+	// Quarter millisecond resolution up to 100msecs
+	private static final int BINS = 400;
+	private static final long BIN_WIDTH = 250000L;
+	// How often reports are sent
+	private static final int REPORT_INTERVAL = 20;
+
+	private static final double NANOS_TO_MSECS = 1D / 1000000D;
+
+	private static final Set<UUID> subscribers = Collections
+			.newSetFromMap(new ConcurrentHashMap<UUID, Boolean>());
+
+	private static final class DimensionSampler {
+
+		public final int dimensionId;
+		public final long[] tickTimes;
+		public final RollingHistogram histogram = new RollingHistogram(WINDOW, BINS, BIN_WIDTH);
+
+		public DimensionSampler(final int dimensionId, @Nonnull final long[] tickTimes) {
+			this.dimensionId = dimensionId;
+			this.tickTimes = tickTimes;
+		}
+	}
+
+	private final TIntObjectHashMap<DimensionSampler> samplers = new TIntObjectHashMap<DimensionSampler>();
+	private final RollingHistogram overall = new RollingHistogram(WINDOW, BINS, BIN_WIDTH);
+	// Emoji AI task ticks and evaluations per server tick
+	private final RollingHistogram emojiTicks = new RollingHistogram(WINDOW, BINS, 16);
+	private final RollingHistogram emojiEvals = new RollingHistogram(WINDOW, BINS, 16);
+
+	// Reusable report buffers; grown as dimensions are loaded
+	private int reportCount;
+	private int[] reportDims = new int[8];
+	private float[] reportStats = new float[8 * PacketServerData.STATS_PER_ENTRY];
+
+	private int sampleIdx;
+	private int tickCount;
+
+	private final TObjectProcedure<DimensionSampler> sample = new TObjectProcedure<DimensionSampler>() {
+		@Override
+		public boolean execute(@Nonnull final DimensionSampler sampler) {
+			sampler.histogram.add(sampler.tickTimes[ServerMetricsService.this.sampleIdx]);
+			return true;
+		}
+	};
+
+	private final TObjectProcedure<DimensionSampler> report = new TObjectProcedure<DimensionSampler>() {
+		@Override
+		public boolean execute(@Nonnull final DimensionSampler sampler) {
+			final ServerMetricsService svc = ServerMetricsService.this;
+			svc.reportDims[svc.reportCount] = sampler.dimensionId;
+			fill(svc.reportStats, svc.reportCount + 1, sampler.histogram);
+			svc.reportCount++;
+			return true;
+		}
+	};
+
+	ServerMetricsService() {
+		super("ServerMetricsService");
+	}
+
+	/**
+	 * Adds or removes the player from the list of players receiving server
+	 * data reports. Can be called from a Netty thread.
+	 */
+	public static void setSubscription(@Nonnull final EntityPlayer player, final boolean subscribe) {
+		if (subscribe)
+			subscribers.add(player.getUniqueID());
+		else
+			subscribers.remove(player.getUniqueID());
+	}
+
+	@Override
+	public void fini() {
+		this.samplers.clear();
+		this.overall.clear();
+		this.emojiTicks.clear();
+		this.emojiEvals.clear();
+		subscribers.clear();
+	}
+
+	@SubscribeEvent(priority = EventPriority.LOWEST)
+	public void onWorldLoad(final WorldEvent.Load e) {
+		final World world = e.getWorld();
+		if (world.isRemote)
+			return;
+
+		final MinecraftServer server = FMLCommonHandler.instance().getMinecraftServerInstance();
+		final int dimId = world.provider.getDimension();
+		final long[] times = (long[]) server.worldTickTimes.get(dimId);
+		if (times != null)
+			this.samplers.put(dimId, new DimensionSampler(dimId, times));
+	}
+
+	@SubscribeEvent(priority = EventPriority.LOWEST)
+	public void onWorldUnload(final WorldEvent.Unload e) {
+		final World world = e.getWorld();
+		if (world.isRemote)
+			return;
+
+		this.samplers.remove(world.provider.getDimension());
+	}
+
+	@SubscribeEvent
+	public void onPlayerLogout(@Nonnull final PlayerLoggedOutEvent event) {
+		setSubscription(event.player, false);
+	}
+
+	private static void fill(@Nonnull final float[] stats, final int entry, @Nonnull final RollingHistogram h) {
+		int idx = entry * PacketServerData.STATS_PER_ENTRY;
+		stats[idx++] = (float) (h.getMean() * NANOS_TO_MSECS);
+		stats[idx++] = (float) (h.getPercentile(0.50D) * NANOS_TO_MSECS);
+		stats[idx++] = (float) (h.getPercentile(0.95D) * NANOS_TO_MSECS);
+		stats[idx] = (float) (h.getPercentile(0.99D) * NANOS_TO_MSECS);
+	}
+
+	/**
+	 * Sample tick performance data for the loaded dimensions and, once a
+	 * second, report to subscribed players.
+	 */
+	@SubscribeEvent
+	public void tickEvent(@Nonnull final TickEvent.ServerTickEvent event) {
+		if (event.phase != Phase.END)
+			return;
+
+		// Always drain the counters so they describe a single tick
+		final int ticks = EntityAIEmoji.takeTickCount();
+		final int evals = EntityAIEmoji.takeEvaluationCount();
+
+		if (!ModOptions.reportServerStats)
+			return;
+
+		final MinecraftServer server = FMLCommonHandler.instance().getMinecraftServerInstance();
+		this.sampleIdx = server.getTickCounter() % server.tickTimeArray.length;
+		this.overall.add(server.tickTimeArray[this.sampleIdx]);
+		this.emojiTicks.add(ticks);
+		this.emojiEvals.add(evals);
+		this.samplers.forEachValue(this.sample);
+
+		if ((++this.tickCount % REPORT_INTERVAL) != 0 || subscribers.isEmpty())
+			return;
+
+		final int entries = this.samplers.size() + 1;
+		if (this.reportDims.length < entries) {
+			this.reportDims = new int[entries * 2];
+			this.reportStats = new float[entries * 2 * PacketServerData.STATS_PER_ENTRY];
+		}
+
+		// Entry 0 holds the overall server tick stats
+		fill(this.reportStats, 0, this.overall);
+		this.reportCount = 0;
+		this.samplers.forEachValue(this.report);
+
+		final Runtime rt = Runtime.getRuntime();
+		final int total = (int) (rt.totalMemory() / 1024L / 1024L);
+		final int max = (int) (rt.maxMemory() / 1024L / 1024L);
+		final int free = (int) (rt.freeMemory() / 1024L / 1024L);
+
+		// The packet is encoded asynchronously so it gets its own copy
+		final PacketServerData packet = new PacketServerData(Arrays.copyOf(this.reportDims, this.reportCount),
+				Arrays.copyOf(this.reportStats, entries * PacketServerData.STATS_PER_ENTRY), free, total, max,
+				(float) this.emojiTicks.getMean(), (float) this.emojiEvals.getMean());
+
+		for (final EntityPlayerMP player : server.getPlayerList().getPlayers())
+			if (subscribers.contains(player.getUniqueID()))
+				Network.sendToPlayer(player, packet);
+	}
+}
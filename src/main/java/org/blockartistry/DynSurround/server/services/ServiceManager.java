@@ -29,23 +29,17 @@ import java.util.List;
 
 import javax.annotation.Nonnull;
 
-import org.blockartistry.DynSurround.ModOptions;
-import org.blockartistry.DynSurround.network.Network;
-import org.blockartistry.DynSurround.network.PacketServerData;
+import org.blockartistry.DynSurround.network.TrafficLimiter;
 import org.blockartistry.DynSurround.registry.DimensionRegistry;
 import org.blockartistry.DynSurround.registry.RegistryManager;
 import org.blockartistry.DynSurround.registry.RegistryManager.RegistryType;
 
-import gnu.trove.map.hash.TIntDoubleHashMap;
-import net.minecraft.server.MinecraftServer;
-import net.minecraftforge.common.DimensionManager;
+import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.event.world.WorldEvent;
-import net.minecraftforge.fml.common.FMLCommonHandler;
 import net.minecraftforge.fml.common.eventhandler.EventPriority;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
-import net.minecraftforge.fml.common.gameevent.TickEvent;
-import net.minecraftforge.fml.common.gameevent.TickEvent.Phase;
+import net.minecraftforge.fml.common.gameevent.PlayerEvent.PlayerLoggedOutEvent;
 
 public final class ServiceManager extends Service {
 
@@ -87,12 +81,14 @@ public final class ServiceManager extends Service {
 		INSTANCE.addService(new HealthEffectService());
 		INSTANCE.addService(new SpeechBubbleService());
 		INSTANCE.addService(new EnvironmentService());
+		INSTANCE.addService(new ServerMetricsService());
 		INSTANCE.init0();
 	}
 
 	public static void deinitialize() {
 		INSTANCE.fini0();
 		INSTANCE.clearServices();
+		TrafficLimiter.reset();
 	}
 
 	@SubscribeEvent(priority = EventPriority.LOWEST)
@@ -102,43 +98,9 @@ public final class ServiceManager extends Service {
 		this.dimensions.loading(e.getWorld());
 	}
 
-	private static long tpsCount = 0;
-
-	private static long mean(@Nonnull final long[] values) {
-		long sum = 0L;
-		for (long v : values)
-			sum += v;
-		return sum / values.length;
-	}
-
-	/**
-	 * Collect tick performance data for the loaded dimensions and broadcast to
-	 * attached players.
-	 * 
-	 * @param event
-	 */
 	@SubscribeEvent
-	public void tickEvent(@Nonnull final TickEvent.ServerTickEvent event) {
-		if (!ModOptions.reportServerStats || event.phase != Phase.END)
-			return;
-
-		// Spam once a second
-		if ((++tpsCount % 20) != 0)
-			return;
-
-		MinecraftServer server = FMLCommonHandler.instance().getMinecraftServerInstance();
-
-		final TIntDoubleHashMap map = new TIntDoubleHashMap();
-		for (Integer dim : DimensionManager.getIDs()) {
-			map.put(dim.intValue(), mean((long[]) server.worldTickTimes.get(dim)) / 1000000D);
-		}
-
-		final double meanTickTime = mean(server.tickTimeArray) / 1000000D;
-		final int total = (int) (Runtime.getRuntime().totalMemory() / 1024L / 1024L);
-		final int max = (int) (Runtime.getRuntime().maxMemory() / 1024L / 1024L);
-		final int free = (int) (Runtime.getRuntime().freeMemory() / 1024L / 1024L);
-
-		final PacketServerData packet = new PacketServerData(map, meanTickTime, free, total, max);
-		Network.sendToAll(packet);
+	public void onPlayerLogout(@Nonnull final PlayerLoggedOutEvent event) {
+		if (event.player instanceof EntityPlayerMP)
+			TrafficLimiter.remove((EntityPlayerMP) event.player);
 	}
 }
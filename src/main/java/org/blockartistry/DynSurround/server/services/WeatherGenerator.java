@@ -43,6 +43,7 @@ import org.blockartistry.lib.random.XorShiftRandom;
 
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.World;
 import net.minecraft.world.storage.WorldInfo;
 
@@ -54,6 +55,13 @@ public class WeatherGenerator {
 	protected final WorldInfo info;
 	protected final DimensionEffectData data;
 
+	// Scheduling state. Dimensions without players are only updated when a
+	// weather transition is due or the idle interval lapses; elapsedTicks
+	// tells the update how much time it has to account for.
+	protected long lastUpdate = -1;
+	protected long nextUpdate;
+	protected int elapsedTicks = 1;
+
 	public WeatherGenerator(@Nonnull final World world) {
 		this.world = world;
 		this.info = world.getWorldInfo();
@@ -149,7 +157,7 @@ public class WeatherGenerator {
 
 		// If it is thundering and the intensity exceeds our threshold...
 		if (this.info.isThundering() && intensity >= ModOptions.stormThunderThreshold) {
-			int time = this.data.getThunderTimer() - 1;
+			int time = this.data.getThunderTimer() - this.elapsedTicks;
 			if (time <= 0) {
 				// If it is 0 we just counted down to this. If it were
 				// the first time through it would be -1.
@@ -181,8 +189,32 @@ public class WeatherGenerator {
 	}
 
 	public final void update() {
+		final long worldTime = this.world.getTotalWorldTime();
+		final boolean idle = this.world.playerEntities.isEmpty();
+		if (idle && worldTime < this.nextUpdate)
+			return;
+
+		if (this.lastUpdate < 0 || worldTime <= this.lastUpdate)
+			this.elapsedTicks = 1;
+		else
+			this.elapsedTicks = (int) Math.min(worldTime - this.lastUpdate, Integer.MAX_VALUE);
+		this.lastUpdate = worldTime;
+
 		this.process();
 		this.sendUpdate();
+
+		this.nextUpdate = worldTime + (idle ? idleInterval() : 1);
+	}
+
+	/**
+	 * Number of ticks until the generator needs to run again when there are
+	 * no players in the dimension. Vanilla counts the rain/thunder timers down
+	 * every tick and transitions are handled when they reach 2, so the wait
+	 * never goes past that point.
+	 */
+	protected int idleInterval() {
+		final int toEvent = Math.min(this.info.getRainTime(), this.info.getThunderTime()) - 2;
+		return MathHelper.clamp(toEvent, 1, ModOptions.idleWeatherInterval);
 	}
 
 	protected void process() {
@@ -51,6 +51,13 @@ public class WeatherGeneratorNether extends WeatherGenerator {
 
 	}
 	
+	// The rain timers only move when the crank is turned so
+	// the Nether cannot skip ticks while idle
+	@Override
+	protected int idleInterval() {
+		return 1;
+	}
+
 	// No thunder in the nether
 	@Override
 	protected void doThunder() {
@@ -26,6 +26,8 @@ package org.blockartistry.DynSurround.server.services;
 
 import javax.annotation.Nonnull;
 
+import org.blockartistry.DynSurround.ModOptions;
+
 import net.minecraft.world.World;
 
 public class WeatherGeneratorNone extends WeatherGenerator {
@@ -42,4 +44,9 @@ public class WeatherGeneratorNone extends WeatherGenerator {
 		this.data.setThunderTimer(0);
 	}
 
+	@Override
+	protected int idleInterval() {
+		return ModOptions.idleWeatherInterval;
+	}
+
 }
@@ -0,0 +1,115 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.blockartistry.lib;
+
+/**
+ * Fixed window histogram of long samples. Samples are bucketed into fixed
+ * width bins so that percentile queries are a walk over the bin counts, and
+ * the oldest sample is retired as new ones arrive. No allocation happens
+ * after construction.
+ */
+public class RollingHistogram {
+
+	protected final long[] window;
+	protected final int[] bins;
+	protected final long binWidth;
+
+	protected int head;
+	protected int count;
+	protected long sum;
+
+	/**
+	 * @param windowSize
+	 *            Number of samples retained
+	 * @param binCount
+	 *            Number of bins; the last bin collects everything out of range
+	 * @param binWidth
+	 *            Width of each bin in sample units
+	 */
+	public RollingHistogram(final int windowSize, final int binCount, final long binWidth) {
+		this.window = new long[windowSize];
+		this.bins = new int[binCount];
+		this.binWidth = binWidth;
+	}
+
+	protected int binFor(final long value) {
+		if (value <= 0)
+			return 0;
+		final long bin = value / this.binWidth;
+		return bin >= this.bins.length ? this.bins.length - 1 : (int) bin;
+	}
+
+	public void add(final long value) {
+		if (this.count == this.window.length) {
+			final long old = this.window[this.head];
+			this.bins[binFor(old)]--;
+			this.sum -= old;
+		} else {
+			this.count++;
+		}
+		this.window[this.head] = value;
+		this.bins[binFor(value)]++;
+		this.sum += value;
+		if (++this.head == this.window.length)
+			this.head = 0;
+	}
+
+	public int getCount() {
+		return this.count;
+	}
+
+	public double getMean() {
+		return this.count == 0 ? 0D : (double) this.sum / this.count;
+	}
+
+	/**
+	 * Returns the upper bound of the bin that contains the requested
+	 * percentile.
+	 * 
+	 * @param percentile
+	 *            Value between 0 and 1
+	 */
+	public long getPercentile(final double percentile) {
+		if (this.count == 0)
+			return 0;
+		final int target = Math.max(1, (int) Math.ceil(percentile * this.count));
+		int accum = 0;
+		for (int i = 0; i < this.bins.length; i++) {
+			accum += this.bins[i];
+			if (accum >= target)
+				return (i + 1) * this.binWidth;
+		}
+		return this.bins.length * this.binWidth;
+	}
+
+	public void clear() {
+		for (int i = 0; i < this.bins.length; i++)
+			this.bins[i] = 0;
+		this.head = 0;
+		this.count = 0;
+		this.sum = 0;
+	}
+
+}
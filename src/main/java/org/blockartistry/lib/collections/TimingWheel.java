@@ -0,0 +1,207 @@
+/* This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package org.blockartistry.lib.collections;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Hierarchical timing wheel. Items are scheduled against an absolute
+ * deadline and handed back once advance() moves time past it. Scheduling
+ * and firing are O(1); items parked on an upper level are cascaded down a
+ * level each time the level below wraps. Nodes are recycled so steady
+ * state operation does not allocate.
+ *
+ * Time is whatever unit the caller uses (milliseconds, ticks, ...) divided
+ * down by the resolution given at construction.
+ */
+public class TimingWheel<T> {
+
+	public static interface Handler<T> {
+		void accept(@Nonnull final T item, final long deadline);
+	}
+
+	private static final int SLOT_BITS = 6;
+	private static final int SLOTS = 1 << SLOT_BITS;
+	private static final int SLOT_MASK = SLOTS - 1;
+
+	private static final class Node<T> {
+		T item;
+		long deadline;
+		long due;
+		Node<T> next;
+	}
+
+	private final long resolution;
+	private final int levels;
+	private final Node<T>[][] wheel;
+
+	private Node<T> free;
+	private long current;
+	private boolean started;
+	private int size;
+
+	@SuppressWarnings("unchecked")
+	public TimingWheel(final long resolution, final int levels) {
+		this.resolution = resolution;
+		this.levels = levels;
+		this.wheel = new Node[levels][SLOTS];
+	}
+
+	public int size() {
+		return this.size;
+	}
+
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	/**
+	 * Schedules the item to be handed back once time reaches now + delay.
+	 * Deadlines that have already passed fire on the next advance().
+	 */
+	public void schedule(@Nonnull final T item, final long now, final long delay) {
+		if (!this.started) {
+			this.current = Math.floorDiv(now, this.resolution);
+			this.started = true;
+		}
+
+		final long deadline = now + delay;
+		Node<T> node = this.free;
+		if (node != null)
+			this.free = node.next;
+		else
+			node = new Node<T>();
+
+		node.item = item;
+		node.deadline = deadline;
+		// Round up so nothing fires ahead of its deadline
+		node.due = Math.floorDiv(deadline + this.resolution - 1, this.resolution);
+
+		if (node.due <= this.current)
+			node.due = this.current + 1;
+
+		place(node);
+		this.size++;
+	}
+
+	/**
+	 * Moves time forward, handing every item whose deadline has been reached
+	 * to the handler. Items may be scheduled from within the handler.
+	 */
+	public void advance(final long now, @Nonnull final Handler<T> handler) {
+		final long target = Math.floorDiv(now, this.resolution);
+		if (!this.started) {
+			this.current = target;
+			this.started = true;
+			return;
+		}
+
+		while (this.current < target) {
+			final long unit = ++this.current;
+
+			// Bring down anything parked on upper levels that is now in
+			// range, highest level first.
+			int top = 0;
+			while (top < this.levels - 1 && ((unit >> (SLOT_BITS * (top + 1))) << (SLOT_BITS * (top + 1))) == unit)
+				top++;
+			for (int level = top; level > 0; level--)
+				cascade(level, (int) (unit >> (SLOT_BITS * level)) & SLOT_MASK);
+
+			final int slot = (int) unit & SLOT_MASK;
+			Node<T> node = this.wheel[0][slot];
+			this.wheel[0][slot] = null;
+			while (node != null) {
+				final Node<T> next = node.next;
+				final T item = node.item;
+				final long deadline = node.deadline;
+				release(node);
+				this.size--;
+				handler.accept(item, deadline);
+				node = next;
+			}
+		}
+	}
+
+	/**
+	 * Visits every scheduled item without removing it.
+	 */
+	public void forEach(@Nonnull final Handler<T> handler) {
+		for (int level = 0; level < this.levels; level++)
+			for (int slot = 0; slot < SLOTS; slot++)
+				for (Node<T> node = this.wheel[level][slot]; node != null; node = node.next)
+					handler.accept(node.item, node.deadline);
+	}
+
+	public void clear() {
+		for (int level = 0; level < this.levels; level++)
+			for (int slot = 0; slot < SLOTS; slot++) {
+				Node<T> node = this.wheel[level][slot];
+				this.wheel[level][slot] = null;
+				while (node != null) {
+					final Node<T> next = node.next;
+					release(node);
+					node = next;
+				}
+			}
+		this.size = 0;
+		this.started = false;
+	}
+
+	private void place(@Nonnull final Node<T> node) {
+		final long delta = node.due - this.current;
+		int level = 0;
+		while (level < this.levels - 1 && delta >= (1L << (SLOT_BITS * (level + 1))))
+			level++;
+
+		final int shift = SLOT_BITS * level;
+		final int slot;
+		if (delta >= (1L << (shift + SLOT_BITS))) {
+			// Beyond the horizon of the top level. Park it in the slot that
+			// cascades last and let it be placed again from there.
+			slot = (int) ((this.current >> shift) + SLOT_MASK) & SLOT_MASK;
+		} else {
+			slot = (int) (node.due >> shift) & SLOT_MASK;
+		}
+
+		node.next = this.wheel[level][slot];
+		this.wheel[level][slot] = node;
+	}
+
+	private void cascade(final int level, final int slot) {
+		Node<T> node = this.wheel[level][slot];
+		this.wheel[level][slot] = null;
+		while (node != null) {
+			final Node<T> next = node.next;
+			place(node);
+			node = next;
+		}
+	}
+
+	private void release(@Nonnull final Node<T> node) {
+		node.item = null;
+		node.next = this.free;
+		this.free = node;
+	}
+}